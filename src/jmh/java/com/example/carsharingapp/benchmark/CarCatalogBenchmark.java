@@ -0,0 +1,123 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.config.CacheConfig;
+import com.example.carsharingapp.dto.car.CarDto;
+import com.example.carsharingapp.mapper.CarMapper;
+import com.example.carsharingapp.mapper.impl.CarMapperImpl;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.service.car.CarService;
+import com.example.carsharingapp.service.car.CarServiceImpl;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CarCatalogBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000"})
+    private int fleetSize;
+
+    private ConfigurableApplicationContext context;
+    private CarService cachedCarService;
+    private CarService uncachedCarService;
+    private List<Long> carIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Benchmarks.run(new SpringApplicationBuilder(CatalogContext.class), "catalog");
+        CarRepository carRepository = context.getBean(CarRepository.class);
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < fleetSize; i++) {
+            cars.add(new Car()
+                    .setBrand("Brand " + i % 20)
+                    .setModel("Model " + i)
+                    .setType(Car.Type.values()[i % Car.Type.values().length])
+                    .setInventory(5)
+                    .setDailyFee(BigDecimal.valueOf(40 + i % 30)));
+        }
+        carIds = carRepository.saveAll(cars).stream()
+                .map(Car::getId)
+                .toList();
+        cachedCarService = context.getBean(CarService.class);
+        uncachedCarService = new CarServiceImpl(carRepository, context.getBean(CarMapper.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CarDto findByIdWithoutCache() {
+        return uncachedCarService.findById(randomCarId());
+    }
+
+    @Benchmark
+    public CarDto findByIdWithCache() {
+        return cachedCarService.findById(randomCarId());
+    }
+
+    @Benchmark
+    public Page<CarDto> findAllWithoutCache() {
+        return uncachedCarService.findAll(randomPage());
+    }
+
+    @Benchmark
+    public Page<CarDto> findAllWithCache() {
+        return cachedCarService.findAll(randomPage());
+    }
+
+    private Long randomCarId() {
+        return carIds.get(ThreadLocalRandom.current().nextInt(carIds.size()));
+    }
+
+    private PageRequest randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(fleetSize / PAGE_SIZE),
+                PAGE_SIZE);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Car.class)
+    @EnableJpaRepositories(basePackageClasses = CarRepository.class,
+            includeFilters = @ComponentScan.Filter(
+                    type = FilterType.ASSIGNABLE_TYPE, classes = CarRepository.class))
+    @Import({CacheConfig.class, CarServiceImpl.class, CarMapperImpl.class})
+    static class CatalogContext {
+    }
+}
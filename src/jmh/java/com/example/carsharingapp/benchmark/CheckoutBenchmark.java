@@ -0,0 +1,153 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
+import com.example.carsharingapp.dto.payment.PaymentDto;
+import com.example.carsharingapp.mapper.impl.PaymentMapperImpl;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.OutboxEvent;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.repository.PaymentRepository;
+import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.service.gateway.SimulatedPaymentGateway;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.payment.PaymentService;
+import com.example.carsharingapp.service.payment.PaymentServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CheckoutBenchmark {
+    @Param({"1000"})
+    private int rentalCount;
+
+    @Param({"0", "50"})
+    private long gatewayLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private PaymentService paymentService;
+    private Authentication authentication;
+    private List<Long> rentalIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Benchmarks.run(new SpringApplicationBuilder(CheckoutContext.class)
+                        .profiles(SimulatedPaymentGateway.PROFILE), "checkout",
+                "--payment.gateway.simulated.latency=" + gatewayLatencyMillis,
+                "--payment.gateway.simulated.auto-complete=true");
+        User customer = context.getBean(UserRepository.class).save(new User()
+                .setEmail("customer@example.com")
+                .setFirstName("Load")
+                .setLastName("Test")
+                .setPassword("password")
+                .setRole(User.Role.CUSTOMER));
+        Car car = context.getBean(CarRepository.class).save(new Car()
+                .setBrand("Brand")
+                .setModel("Model")
+                .setType(Car.Type.SEDAN)
+                .setInventory(rentalCount)
+                .setDailyFee(new BigDecimal("50.00")));
+        List<Rental> rentals = new ArrayList<>();
+        for (int i = 0; i < rentalCount; i++) {
+            rentals.add(new Rental()
+                    .setRentalDate(LocalDate.now().minusDays(3))
+                    .setReturnDate(LocalDate.now().plusDays(i % 7))
+                    .setCar(car)
+                    .setUser(customer));
+        }
+        rentalIds = context.getBean(RentalRepository.class).saveAll(rentals).stream()
+                .map(Rental::getId)
+                .toList();
+        authentication = new UsernamePasswordAuthenticationToken(
+                AuthenticatedPrincipal.from(customer), null, customer.getAuthorities());
+        paymentService = context.getBean(PaymentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PaymentDto checkout(ThreadParams threadParams) {
+        int slice = ThreadLocalRandom.current().nextInt(
+                rentalIds.size() / threadParams.getThreadCount());
+        CreatePaymentSessionRequestDto requestDto = new CreatePaymentSessionRequestDto()
+                .setRentalId(rentalIds.get(threadParams.getThreadIndex()
+                        + slice * threadParams.getThreadCount()))
+                .setType(Payment.Type.PAYMENT);
+        return paymentService.checkout(requestDto, authentication);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Payment.class)
+    @EnableJpaRepositories(basePackageClasses = PaymentRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {PaymentRepository.class, RentalRepository.class,
+                            UserRepository.class, CarRepository.class}))
+    @Import({PaymentServiceImpl.class, PaymentMapperImpl.class, SimulatedPaymentGateway.class})
+    static class CheckoutContext {
+        @Bean(destroyMethod = "shutdownNow")
+        ExecutorService paymentSessionExecutor() {
+            return Executors.newSingleThreadExecutor();
+        }
+
+        @Bean
+        OutboxService outboxService() {
+            return new OutboxService() {
+                @Override
+                public void record(OutboxEvent.Type type, String idempotencyKey,
+                        String payload) {
+                }
+
+                @Override
+                public void relayPendingEvents() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.carsharingapp.benchmark;
+
+import java.util.stream.Stream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class H2Benchmarks {
+    private H2Benchmarks() {
+    }
+
+    static ConfigurableApplicationContext run(SpringApplicationBuilder builder, String database,
+            String... args) {
+        Stream<String> defaults = Stream.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.liquibase.enabled=false",
+                "--spring.docker.compose.enabled=false",
+                "--logging.level.root=WARN");
+        return builder.run(Stream.concat(defaults, Stream.of(args)).toArray(String[]::new));
+    }
+}
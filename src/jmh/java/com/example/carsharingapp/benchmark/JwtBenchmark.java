@@ -0,0 +1,74 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.security.JwtUtil;
+import com.example.carsharingapp.security.ParsedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET =
+            "cE7oXh9fJk3Lp2sQrV8tZ4bY6mNn5A1wEaGdHjIkLlMoPqRsTuVvWxYyZz0=";
+    private static final long EXPIRATION = 900000;
+
+    private SecretKey secretKey;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION);
+        token = jwtUtil.generateToken("customer@example.com");
+    }
+
+    @Benchmark
+    public String twoPassValidation() {
+        Jws<Claims> claimsJws = Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token);
+        if (claimsJws.getPayload().getExpiration().before(new Date())) {
+            throw new IllegalStateException("Token expired");
+        }
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public ParsedToken singlePassValidation() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public String generation() {
+        return jwtUtil.generateToken("customer@example.com");
+    }
+}
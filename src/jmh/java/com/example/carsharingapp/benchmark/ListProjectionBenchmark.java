@@ -0,0 +1,125 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.dto.payment.PaymentDto;
+import com.example.carsharingapp.dto.rental.RentalDto;
+import com.example.carsharingapp.mapper.PaymentMapper;
+import com.example.carsharingapp.mapper.RentalMapper;
+import com.example.carsharingapp.mapper.impl.PaymentMapperImpl;
+import com.example.carsharingapp.mapper.impl.RentalMapperImpl;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.repository.PaymentRepository;
+import com.example.carsharingapp.repository.RentalRepository;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private RentalRepository rentalRepository;
+    private PaymentRepository paymentRepository;
+    private RentalEntityRepository rentalEntityRepository;
+    private PaymentEntityRepository paymentEntityRepository;
+    private RentalMapper rentalMapper;
+    private PaymentMapper paymentMapper;
+    private Pageable rentalPage;
+    private Pageable paymentPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Benchmarks.run(new SpringApplicationBuilder(ProjectionContext.class),
+                "projection");
+        ListingDataset.generate(context.getBean(JdbcTemplate.class), 1000, 200, 10_000);
+        readOnlyTransaction = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        rentalRepository = context.getBean(RentalRepository.class);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        rentalEntityRepository = context.getBean(RentalEntityRepository.class);
+        paymentEntityRepository = context.getBean(PaymentEntityRepository.class);
+        rentalMapper = context.getBean(RentalMapper.class);
+        paymentMapper = context.getBean(PaymentMapper.class);
+        rentalPage = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "rentalDate", "id"));
+        paymentPage = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<RentalDto> rentalsFromEntities() {
+        return readOnlyTransaction.execute(status -> rentalEntityRepository
+                .findAllByUserIdAndIsActive(null, null, rentalPage)
+                .map(rentalMapper::toDto));
+    }
+
+    @Benchmark
+    public Page<RentalDto> rentalsFromProjections() {
+        return readOnlyTransaction.execute(status -> rentalRepository
+                .findViewsByUserIdAndIsActive(null, null, rentalPage)
+                .map(rentalMapper::toDto));
+    }
+
+    @Benchmark
+    public Page<PaymentDto> paymentsFromEntities() {
+        return readOnlyTransaction.execute(status -> paymentEntityRepository
+                .findAll(paymentPage)
+                .map(paymentMapper::toDto));
+    }
+
+    @Benchmark
+    public Page<PaymentDto> paymentsFromProjections() {
+        return readOnlyTransaction.execute(status -> paymentRepository
+                .findAllDtos(paymentPage));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Rental.class)
+    @EnableJpaRepositories(
+            basePackageClasses = {RentalRepository.class, RentalEntityRepository.class},
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {RentalRepository.class, PaymentRepository.class,
+                            RentalEntityRepository.class, PaymentEntityRepository.class}))
+    @Import({RentalMapperImpl.class, PaymentMapperImpl.class})
+    static class ProjectionContext {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.carsharingapp.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+final class ListingDataset {
+    private static final int BATCH_SIZE = 5000;
+    private static final LocalDate FIRST_RENTAL_DATE = LocalDate.of(2015, 1, 1);
+
+    private ListingDataset() {
+    }
+
+    static void generate(JdbcTemplate jdbcTemplate, int users, int cars, int rentals) {
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{i + 1, "user" + i + "@example.com", "First " + i,
+                    "Last " + i});
+        }
+        insert(jdbcTemplate, "INSERT INTO users (id, email, first_name, last_name, password, "
+                + "role, token_version, is_deleted) "
+                + "VALUES (?, ?, ?, ?, 'password', 'CUSTOMER', 0, FALSE)",
+                userRows);
+        List<Object[]> carRows = new ArrayList<>();
+        for (int i = 0; i < cars; i++) {
+            carRows.add(new Object[]{i + 1, "Model " + i, "Brand " + i % 20,
+                    BigDecimal.valueOf(40 + i % 30)});
+        }
+        insert(jdbcTemplate, "INSERT INTO cars (id, model, brand, type, inventory, daily_fee, "
+                + "is_deleted) VALUES (?, ?, ?, 'SEDAN', 5, ?, FALSE)", carRows);
+        List<Object[]> rentalRows = new ArrayList<>();
+        List<Object[]> paymentRows = new ArrayList<>();
+        for (int i = 0; i < rentals; i++) {
+            LocalDate rentalDate = FIRST_RENTAL_DATE.plusDays(i / 50);
+            rentalRows.add(new Object[]{i + 1, Date.valueOf(rentalDate),
+                    Date.valueOf(rentalDate.plusDays(3)),
+                    i % 10 == 0 ? null : Date.valueOf(rentalDate.plusDays(3)),
+                    i % cars + 1, i % users + 1});
+            paymentRows.add(new Object[]{i + 1, i % 10 == 0 ? "PENDING" : "PAID", i + 1,
+                    "cs_" + i, BigDecimal.valueOf(150)});
+        }
+        insert(jdbcTemplate, "INSERT INTO rentals (id, rental_date, return_date, "
+                + "actual_return_date, car_id, user_id, is_deleted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, FALSE)", rentalRows);
+        insert(jdbcTemplate, "INSERT INTO payments (id, status, type, rental_id, session_id, "
+                + "amount_to_pay, is_deleted) VALUES (?, ?, 'PAYMENT', ?, ?, ?, FALSE)",
+                paymentRows);
+        jdbcTemplate.execute("CREATE INDEX idx_rentals_rental_date_id "
+                + "ON rentals (rental_date, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_rentals_user_id_rental_date_id "
+                + "ON rentals (user_id, rental_date, id)");
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from,
+                    Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Rental;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingPaginationBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int RENTAL_COUNT = 10_000 * PAGE_SIZE + PAGE_SIZE;
+
+    @Param({"1", "100", "10000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private RentalEntityRepository rentalRepository;
+    private PaymentEntityRepository paymentRepository;
+    private LocalDate rentalCursorDate;
+    private Long rentalCursorId;
+    private Long paymentCursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Benchmarks.run(new SpringApplicationBuilder(ListingContext.class), "listing");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ListingDataset.generate(jdbcTemplate, 1000, 200, RENTAL_COUNT);
+        rentalRepository = context.getBean(RentalEntityRepository.class);
+        paymentRepository = context.getBean(PaymentEntityRepository.class);
+        if (page > 1) {
+            int lastRowOfPreviousPage = (page - 1) * PAGE_SIZE - 1;
+            jdbcTemplate.query("SELECT rental_date, id FROM rentals "
+                    + "ORDER BY rental_date DESC, id DESC LIMIT 1 OFFSET ?", rs -> {
+                        rentalCursorDate = rs.getDate("rental_date").toLocalDate();
+                        rentalCursorId = rs.getLong("id");
+                    }, lastRowOfPreviousPage);
+            paymentCursorId = jdbcTemplate.queryForObject("SELECT id FROM payments "
+                    + "ORDER BY id DESC LIMIT 1 OFFSET ?", Long.class, lastRowOfPreviousPage);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Rental> rentalsByOffset() {
+        return rentalRepository.findAllByUserIdAndIsActive(null, null, PageRequest.of(page - 1,
+                PAGE_SIZE, Sort.by(Sort.Direction.DESC, "rentalDate", "id")));
+    }
+
+    @Benchmark
+    public List<Rental> rentalsByCursor() {
+        return page == 1
+                ? rentalRepository.findFirstByUserIdAndIsActive(null, null,
+                        Limit.of(PAGE_SIZE + 1))
+                : rentalRepository.findAllByUserIdAndIsActiveAfter(null, null,
+                        rentalCursorDate, rentalCursorId, Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public Page<Payment> paymentsByOffset() {
+        return paymentRepository.findAll(PageRequest.of(page - 1, PAGE_SIZE,
+                Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Benchmark
+    public List<Payment> paymentsByCursor() {
+        return page == 1
+                ? paymentRepository.findAllByOrderByIdDesc(Limit.of(PAGE_SIZE + 1))
+                : paymentRepository.findAllByIdLessThanOrderByIdDesc(paymentCursorId,
+                        Limit.of(PAGE_SIZE + 1));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Rental.class)
+    @EnableJpaRepositories(basePackageClasses = RentalEntityRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {RentalEntityRepository.class, PaymentEntityRepository.class}))
+    static class ListingContext {
+    }
+}
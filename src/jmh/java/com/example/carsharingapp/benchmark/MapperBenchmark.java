@@ -0,0 +1,109 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.CarDto;
+import com.example.carsharingapp.dto.payment.PaymentDto;
+import com.example.carsharingapp.dto.rental.RentalDto;
+import com.example.carsharingapp.dto.rental.RentalReturnDto;
+import com.example.carsharingapp.mapper.CarMapper;
+import com.example.carsharingapp.mapper.PaymentMapper;
+import com.example.carsharingapp.mapper.RentalMapper;
+import com.example.carsharingapp.mapper.impl.CarMapperImpl;
+import com.example.carsharingapp.mapper.impl.PaymentMapperImpl;
+import com.example.carsharingapp.mapper.impl.RentalMapperImpl;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final CarMapper carMapper = new CarMapperImpl();
+    private final RentalMapper rentalMapper = new RentalMapperImpl();
+    private final PaymentMapper paymentMapper = new PaymentMapperImpl();
+
+    private Car car;
+    private Rental rental;
+    private Payment payment;
+    private AddCarRequestDto addCarRequestDto;
+
+    @Setup
+    public void setUp() {
+        car = new Car()
+                .setId(1L)
+                .setBrand("Toyota")
+                .setModel("Corolla")
+                .setType(Car.Type.SEDAN)
+                .setInventory(5)
+                .setDailyFee(new BigDecimal("50.00"));
+        User user = new User()
+                .setId(10L)
+                .setEmail("customer@example.com")
+                .setFirstName("Jane")
+                .setLastName("Doe")
+                .setRole(User.Role.CUSTOMER);
+        rental = new Rental()
+                .setId(100L)
+                .setRentalDate(LocalDate.now().minusDays(5))
+                .setReturnDate(LocalDate.now().plusDays(2))
+                .setUser(user)
+                .setCar(car);
+        payment = new Payment();
+        payment.setId(1000L);
+        payment.setRental(rental);
+        payment.setStatus(Payment.Status.PENDING);
+        payment.setType(Payment.Type.PAYMENT);
+        payment.setSessionId("cs_test_benchmark");
+        payment.setSessionUrl("https://checkout.stripe.com/c/pay/cs_test_benchmark");
+        payment.setAmountToPay(new BigDecimal("350.00"));
+        addCarRequestDto = new AddCarRequestDto()
+                .setBrand("Toyota")
+                .setModel("Corolla")
+                .setType(Car.Type.SEDAN)
+                .setInventory(5)
+                .setDailyFee(new BigDecimal("50.00"));
+    }
+
+    @Benchmark
+    public CarDto carToDto() {
+        return carMapper.toDto(car);
+    }
+
+    @Benchmark
+    public Car carRequestToModel() {
+        return carMapper.toModel(addCarRequestDto);
+    }
+
+    @Benchmark
+    public RentalDto rentalToDto() {
+        return rentalMapper.toDto(rental);
+    }
+
+    @Benchmark
+    public RentalReturnDto rentalToReturnDto() {
+        return rentalMapper.toReturnDto(rental);
+    }
+
+    @Benchmark
+    public PaymentDto paymentToDto() {
+        return paymentMapper.toDto(payment);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.service.template.MessageTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverdueReportBenchmark {
+    private static final String LEGACY_ENTRY = "🔢 *Rental ID*: %d\n"
+            + "👤 User: %s %s (ID: %d, Email: %s)\n"
+            + "🚗 Car: %s %s (ID: %d)\n"
+            + "📅 Expected Return: %s\n\n";
+    private static final MessageTemplate ENTRY = MessageTemplate.compile(
+            "🔢 *Rental ID*: {rentalId}\n"
+                    + "👤 User: {firstName:md} {lastName:md} (ID: {userId}, Email: {email:md})\n"
+                    + "🚗 Car: {brand:md} {model:md} (ID: {carId})\n"
+                    + "📅 Expected Return: {returnDate}\n\n",
+            "rentalId", "firstName", "lastName", "userId", "email",
+            "brand", "model", "carId", "returnDate");
+    private static final int MAX_MESSAGE_LENGTH = 4096;
+
+    @Param("10000")
+    private int rentalCount;
+
+    private List<Rental> rentals;
+    private StringBuilder chunk;
+    private StringBuilder entry;
+
+    @Setup
+    public void setUp() {
+        rentals = new ArrayList<>(rentalCount);
+        for (long i = 1; i <= rentalCount; i++) {
+            User user = new User()
+                    .setId(i % 500)
+                    .setFirstName("Mary-Jane")
+                    .setLastName("O'Neil_" + i % 500)
+                    .setEmail("mary.jane+" + i % 500 + "@example.com");
+            Car car = new Car()
+                    .setId(i % 100)
+                    .setBrand("Rolls-Royce")
+                    .setModel("Phantom (VIII)")
+                    .setDailyFee(BigDecimal.TEN);
+            rentals.add(new Rental()
+                    .setId(i)
+                    .setReturnDate(LocalDate.now().minusDays(i % 30))
+                    .setUser(user)
+                    .setCar(car));
+        }
+        chunk = new StringBuilder(MAX_MESSAGE_LENGTH);
+        entry = new StringBuilder(512);
+    }
+
+    @Benchmark
+    public void formatAndRegex(Blackhole blackhole) {
+        StringBuilder message = new StringBuilder();
+        for (Rental rental : rentals) {
+            String rentalDetail = String.format(LEGACY_ENTRY,
+                    rental.getId(),
+                    escapeWithRegex(rental.getUser().getFirstName()),
+                    escapeWithRegex(rental.getUser().getLastName()),
+                    rental.getUser().getId(),
+                    escapeWithRegex(rental.getUser().getEmail()),
+                    escapeWithRegex(rental.getCar().getBrand()),
+                    escapeWithRegex(rental.getCar().getModel()),
+                    rental.getCar().getId(),
+                    rental.getReturnDate());
+            if (message.length() + rentalDetail.length() > MAX_MESSAGE_LENGTH) {
+                blackhole.consume(message.toString());
+                message = new StringBuilder();
+            }
+            message.append(rentalDetail);
+        }
+        blackhole.consume(message.toString());
+    }
+
+    @Benchmark
+    public void precompiledTemplate(Blackhole blackhole) {
+        chunk.setLength(0);
+        for (Rental rental : rentals) {
+            entry.setLength(0);
+            ENTRY.renderTo(entry,
+                    rental.getId(),
+                    rental.getUser().getFirstName(),
+                    rental.getUser().getLastName(),
+                    rental.getUser().getId(),
+                    rental.getUser().getEmail(),
+                    rental.getCar().getBrand(),
+                    rental.getCar().getModel(),
+                    rental.getCar().getId(),
+                    rental.getReturnDate());
+            if (chunk.length() + entry.length() > MAX_MESSAGE_LENGTH) {
+                blackhole.consume(chunk.toString());
+                chunk.setLength(0);
+            }
+            chunk.append(entry);
+        }
+        blackhole.consume(chunk.toString());
+    }
+
+    private String escapeWithRegex(String text) {
+        return text.replaceAll("([_*>\\[\\]()~`#+\\-=|{}!])", "\\\\$1");
+    }
+}
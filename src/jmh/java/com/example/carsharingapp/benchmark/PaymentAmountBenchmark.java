@@ -0,0 +1,51 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.service.payment.PaymentAmountCalculator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentAmountBenchmark {
+    @Param({"PAYMENT", "FINE"})
+    private Payment.Type type;
+
+    private Rental rental;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        rental = new Rental()
+                .setId(1L)
+                .setRentalDate(today.minusDays(10))
+                .setReturnDate(today.minusDays(3))
+                .setActualReturnDate(today)
+                .setCar(new Car()
+                        .setId(1L)
+                        .setDailyFee(new BigDecimal("49.99")));
+    }
+
+    @Benchmark
+    public BigDecimal calculate() {
+        return PaymentAmountCalculator.calculate(rental, type);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.model.Payment;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+interface PaymentEntityRepository extends JpaRepository<Payment, Long> {
+    @EntityGraph(attributePaths = {"rental", "rental.user", "rental.car"})
+    Page<Payment> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"rental", "rental.user", "rental.car"})
+    List<Payment> findAllByOrderByIdDesc(Limit limit);
+
+    @EntityGraph(attributePaths = {"rental", "rental.user", "rental.car"})
+    List<Payment> findAllByIdLessThanOrderByIdDesc(Long id, Limit limit);
+}
@@ -0,0 +1,57 @@
+package com.example.carsharingapp.benchmark;
+
+import com.example.carsharingapp.model.Rental;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+interface RentalEntityRepository extends JpaRepository<Rental, Long> {
+    @Query("SELECT r FROM Rental r "
+            + "JOIN FETCH r.user "
+            + "JOIN FETCH r.car "
+            + "WHERE (:userId IS NULL OR r.user.id = :userId) "
+            + "AND (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL))")
+    Page<Rental> findAllByUserIdAndIsActive(
+            Long userId,
+            Boolean isActive,
+            Pageable pageable
+    );
+
+    @Query("SELECT r FROM Rental r "
+            + "JOIN FETCH r.user "
+            + "JOIN FETCH r.car "
+            + "WHERE (:userId IS NULL OR r.user.id = :userId) "
+            + "AND (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL)) "
+            + "ORDER BY r.rentalDate DESC, r.id DESC")
+    List<Rental> findFirstByUserIdAndIsActive(
+            Long userId,
+            Boolean isActive,
+            Limit limit
+    );
+
+    @Query("SELECT r FROM Rental r "
+            + "JOIN FETCH r.user "
+            + "JOIN FETCH r.car "
+            + "WHERE (:userId IS NULL OR r.user.id = :userId) "
+            + "AND (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL)) "
+            + "AND (r.rentalDate < :rentalDate "
+            + "    OR (r.rentalDate = :rentalDate AND r.id < :id)) "
+            + "ORDER BY r.rentalDate DESC, r.id DESC")
+    List<Rental> findAllByUserIdAndIsActiveAfter(
+            Long userId,
+            Boolean isActive,
+            LocalDate rentalDate,
+            Long id,
+            Limit limit
+    );
+}
@@ -0,0 +1,130 @@
+package com.example.carsharingapp.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadingModeBenchmark {
+    private static final int CONCURRENT_CLIENTS = 1000;
+    private static final String PLATFORM = "platform";
+    private static final String VIRTUAL = "virtual";
+
+    @Param({PLATFORM, VIRTUAL})
+    private String threading;
+
+    @Param({"50"})
+    private long blockingCallMillis;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (VIRTUAL.equals(threading) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual thread mode needs Java 21 or newer");
+        }
+        context = H2Benchmarks.run(new SpringApplicationBuilder(LoadTestContext.class),
+                "threading",
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.threads.virtual.enabled=" + VIRTUAL.equals(threading),
+                "--load-test.blocking-call=" + blockingCallMillis);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        clientExecutor = Executors.newFixedThreadPool(16);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/load"))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CLIENTS)
+    public void concurrentClients() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENT_CLIENTS];
+        for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status "
+                                    + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {SecurityAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class,
+            ManagementWebSecurityAutoConfiguration.class})
+    @Import(LoadTestController.class)
+    static class LoadTestContext {
+    }
+
+    @RestController
+    static class LoadTestController {
+        private final JdbcTemplate jdbcTemplate;
+        private final long blockingCallMillis;
+
+        LoadTestController(JdbcTemplate jdbcTemplate,
+                @Value("${load-test.blocking-call}") long blockingCallMillis) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.blockingCallMillis = blockingCallMillis;
+        }
+
+        @GetMapping("/load")
+        Integer load() throws InterruptedException {
+            Thread.sleep(blockingCallMillis);
+            return jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        }
+    }
+}
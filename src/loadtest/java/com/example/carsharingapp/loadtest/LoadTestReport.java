@@ -0,0 +1,74 @@
+package com.example.carsharingapp.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+public class LoadTestReport {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final LongAdder completedSessions = new LongAdder();
+    private volatile boolean recording;
+
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    public void record(String endpoint, long startNanos, int status) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        if (status >= 400) {
+            stats.errors.increment();
+            failures.computeIfAbsent(endpoint + " -> " + status, key -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    public void recordCompletedSession() {
+        if (recording) {
+            completedSessions.increment();
+        }
+    }
+
+    public void print(PrintStream out, long durationSeconds) {
+        out.printf("%n%-32s %10s %8s %10s %9s %9s %9s %9s%n", "Endpoint", "Requests",
+                "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, stats) -> {
+            Histogram latency = stats.latency;
+            out.printf("%-32s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+                    latency.getTotalCount(), stats.errors.sum(),
+                    (double) latency.getTotalCount() / durationSeconds,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        });
+        out.printf("%nCompleted rentals: %d (%.1f/s)%n", completedSessions.sum(),
+                (double) completedSessions.sum() / durationSeconds);
+        failures.forEach((failure, count) -> out.printf("Failed: %s x%d%n", failure,
+                count.sum()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.carsharingapp.loadtest;
+
+import com.example.carsharingapp.CarSharingAppApplication;
+import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
+import com.example.carsharingapp.dto.rental.AddRentalRequestDto;
+import com.example.carsharingapp.dto.user.UserLoginRequestDto;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.stub.TelegramBotApiStub;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public final class LoadTestRunner {
+    private static final String PASSWORD = "LoadTest-Passw0rd";
+    private static final int CAR_PAGE_SIZE = 20;
+
+    private final Settings settings;
+    private final LoadTestReport report = new LoadTestReport();
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final List<Long> carIds;
+    private volatile boolean running = true;
+
+    private LoadTestRunner(Settings settings, ConfigurableApplicationContext context,
+            List<Long> carIds) {
+        this.settings = settings;
+        this.carIds = carIds;
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.baseUrl = "http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        try (StripeCheckoutStub stripe = new StripeCheckoutStub(settings.stripeLatencyMillis());
+                TelegramBotApiStub telegram = new TelegramBotApiStub();
+                ConfigurableApplicationContext context = startApplication(stripe, telegram,
+                        args)) {
+            List<Long> carIds = seed(context, settings);
+            new LoadTestRunner(settings, context, carIds).run();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(StripeCheckoutStub stripe,
+            TelegramBotApiStub telegram, String[] args) {
+        String[] defaults = {"--server.port=0",
+                "--management.server.port=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.url=jdbc:h2:mem:load-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.liquibase.enabled=false",
+                "--spring.docker.compose.enabled=false",
+                "--jwt.secret=bG9hZC10ZXN0LXNlY3JldC1rZXktdGhhdC1pcy1sb25nLWVub3VnaA==",
+                "--stripe.secret.key=sk_test_load",
+                "--stripe.webhook.secret=whsec_load_test",
+                "--stripe.api-base=" + stripe.getBaseUrl(),
+                "--telegram.bot.token=LOAD_TEST",
+                "--telegram.chat.id=LOAD_TEST",
+                "--telegram.api.base-url=" + telegram.getBaseUrl(),
+                "--telegram.dispatcher.min-interval=0",
+                "--app.base.url=http://localhost",
+                "--logging.level.root=WARN"};
+        Set<String> overridden = Arrays.stream(args)
+                .map(LoadTestRunner::propertyName)
+                .collect(Collectors.toSet());
+        return new SpringApplicationBuilder(CarSharingAppApplication.class)
+                .run(Stream.concat(Arrays.stream(defaults)
+                                        .filter(arg -> !overridden.contains(propertyName(arg))),
+                                Arrays.stream(args))
+                        .toArray(String[]::new));
+    }
+
+    private static String propertyName(String argument) {
+        int separator = argument.indexOf('=');
+        return separator < 0 ? argument : argument.substring(0, separator);
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context, Settings settings) {
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        context.getBean(UserRepository.class).saveAll(IntStream.range(0, settings.users())
+                .mapToObj(i -> new User()
+                        .setEmail(email(i))
+                        .setFirstName("Load")
+                        .setLastName("User" + i)
+                        .setPassword(encodedPassword)
+                        .setRole(User.Role.CUSTOMER))
+                .toList());
+        return context.getBean(CarRepository.class).saveAll(IntStream.range(0, settings.cars())
+                        .mapToObj(i -> new Car()
+                                .setBrand("Brand" + i % 10)
+                                .setModel("Model" + i)
+                                .setType(Car.Type.values()[i % Car.Type.values().length])
+                                .setInventory(Integer.MAX_VALUE)
+                                .setDailyFee(new BigDecimal("49.99")))
+                        .toList())
+                .stream()
+                .map(Car::getId)
+                .toList();
+    }
+
+    private static String email(int user) {
+        return "load.user" + user + "@example.com";
+    }
+
+    private void run() throws InterruptedException {
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(settings.users());
+        IntStream.range(0, settings.users())
+                .forEach(user -> virtualUsers.execute(() -> runVirtualUser(user)));
+        System.out.printf("Warming up %d virtual users for %ds%n", settings.users(),
+                settings.warmupSeconds());
+        TimeUnit.SECONDS.sleep(settings.warmupSeconds());
+        report.startRecording();
+        System.out.printf("Measuring for %ds%n", settings.durationSeconds());
+        TimeUnit.SECONDS.sleep(settings.durationSeconds());
+        report.stopRecording();
+        running = false;
+        virtualUsers.shutdown();
+        virtualUsers.awaitTermination(1, TimeUnit.MINUTES);
+        report.print(System.out, settings.durationSeconds());
+    }
+
+    private void runVirtualUser(int user) {
+        while (running) {
+            try {
+                runSession(user);
+            } catch (IOException | IllegalStateException e) {
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runSession(int user) throws IOException, InterruptedException {
+        String token = sendForJson("POST /auth/login", post("/auth/login", null,
+                new UserLoginRequestDto().setEmail(email(user)).setPassword(PASSWORD)))
+                .get("token").asText();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < settings.browsePerSession(); i++) {
+            int page = random.nextInt(Math.max(1, carIds.size() / CAR_PAGE_SIZE));
+            send("GET /cars", authorized("/cars?size=" + CAR_PAGE_SIZE + "&page=" + page, token)
+                    .GET()
+                    .build());
+        }
+        AddRentalRequestDto rentalRequest = new AddRentalRequestDto()
+                .setReturnDate(LocalDate.now())
+                .setCarId(carIds.get(random.nextInt(carIds.size())));
+        long rentalId = sendForJson("POST /rentals", post("/rentals", token, rentalRequest))
+                .get("id").asLong();
+        send("POST /rentals/{id}/return", post("/rentals/" + rentalId + "/return", token, null));
+        CreatePaymentSessionRequestDto checkoutRequest = new CreatePaymentSessionRequestDto()
+                .setRentalId(rentalId)
+                .setType(Payment.Type.PAYMENT);
+        String sessionId = sendForJson("POST /payments/checkout",
+                post("/payments/checkout", token, checkoutRequest))
+                .get("sessionId").asText();
+        send("GET /payments/success", HttpRequest.newBuilder(
+                URI.create(baseUrl + "/payments/success?session_id=" + sessionId)).GET().build());
+        report.recordCompletedSession();
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        return authorized(path, token)
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(
+                                objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode sendForJson(String endpoint, HttpRequest request)
+            throws IOException, InterruptedException {
+        return objectMapper.readTree(send(endpoint, request));
+    }
+
+    private byte[] send(String endpoint, HttpRequest request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofByteArray());
+        report.record(endpoint, start, response.statusCode());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private record Settings(int users, int cars, int browsePerSession, long warmupSeconds,
+            long durationSeconds, long stripeLatencyMillis) {
+        private static Settings fromSystemProperties() {
+            return new Settings(Integer.getInteger("load-test.users", 32),
+                    Integer.getInteger("load-test.cars", 100),
+                    Integer.getInteger("load-test.browse-per-session", 3),
+                    Long.getLong("load-test.warmup", 10),
+                    Long.getLong("load-test.duration", 60),
+                    Long.getLong("load-test.stripe-latency", 50));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.carsharingapp.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StripeCheckoutStub implements AutoCloseable {
+    private static final String SESSIONS_PATH = "/v1/checkout/sessions";
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicLong sessionSequence = new AtomicLong();
+    private final long latencyMillis;
+
+    public StripeCheckoutStub(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(SESSIONS_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String body = "POST".equals(exchange.getRequestMethod())
+                ? session("cs_load_" + sessionSequence.incrementAndGet(), "open", "unpaid")
+                : session(exchange.getRequestURI().getPath()
+                        .substring(SESSIONS_PATH.length() + 1), "complete", "paid");
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private String session(String id, String status, String paymentStatus) {
+        return "{\"id\":\"" + id + "\",\"object\":\"checkout.session\",\"status\":\"" + status
+                + "\",\"payment_status\":\"" + paymentStatus
+                + "\",\"url\":\"https://checkout.stripe.com/c/pay/" + id + "\"}";
+    }
+}
@@ -1,7 +1,15 @@
 package com.example.carsharingapp.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -10,4 +18,27 @@ public class ApplicationConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService paymentReconciliationExecutor(
+            @Value("${payment.reconciliation.concurrency}") int concurrency,
+            Environment environment) {
+        return Executors.newFixedThreadPool(concurrency,
+                threadFactory(environment, "payment-reconciliation-"));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService paymentSessionExecutor(
+            @Value("${payment.session.concurrency}") int concurrency,
+            Environment environment) {
+        return Executors.newFixedThreadPool(concurrency,
+                threadFactory(environment, "payment-session-"));
+    }
+
+    private ThreadFactory threadFactory(Environment environment, String namePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(namePrefix);
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.carsharingapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String CARS_CACHE = "cars";
+    public static final String CAR_PAGES_CACHE = "carPages";
+    public static final String PRINCIPALS_CACHE = "principals";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.cars.maximum-size}") long carsMaximumSize,
+            @Value("${cache.car-pages.maximum-size}") long carPagesMaximumSize,
+            @Value("${cache.cars.time-to-live}") Duration timeToLive,
+            @Value("${cache.principals.maximum-size}") long principalsMaximumSize,
+            @Value("${cache.principals.time-to-live}") Duration principalsTimeToLive) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CARS_CACHE,
+                buildCache(carsMaximumSize, timeToLive));
+        cacheManager.registerCustomCache(CAR_PAGES_CACHE,
+                buildCache(carPagesMaximumSize, timeToLive));
+        cacheManager.registerCustomCache(PRINCIPALS_CACHE,
+                buildCache(principalsMaximumSize, principalsTimeToLive));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(
+            long maximumSize, Duration timeToLive) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+}
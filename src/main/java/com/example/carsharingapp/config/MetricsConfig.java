@@ -0,0 +1,19 @@
+package com.example.carsharingapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_METHOD_TIMER = "service.method";
+    public static final String EXTERNAL_CALL_TIMER = "external.call";
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags(
+            @Value("${spring.application.name:car-sharing-app}") String applicationName) {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+}
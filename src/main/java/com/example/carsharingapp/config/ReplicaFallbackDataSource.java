@@ -0,0 +1,21 @@
+package com.example.carsharingapp.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+public class ReplicaFallbackDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary,
+            ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Boolean.TRUE, replica, Boolean.FALSE, primary));
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReplicaReadAspect.isReplicaRead() && lagMonitor.isReplicaUsable();
+    }
+}
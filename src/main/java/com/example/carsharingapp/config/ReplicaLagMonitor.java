@@ -0,0 +1,60 @@
+package com.example.carsharingapp.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class ReplicaLagMonitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String SELECT_BEAT = "SELECT beat FROM replica_heartbeat WHERE id = 1";
+    private static final String UPDATE_BEAT = "UPDATE replica_heartbeat SET beat = ? WHERE id = 1";
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Clock clock;
+    private Long lastBeat;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, Duration maxLag,
+            Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval}")
+    public synchronized void checkLag() {
+        long now = clock.millis();
+        try {
+            Long seenBeat = replica.queryForObject(SELECT_BEAT, Long.class);
+            long lagMillis = Objects.equals(seenBeat, lastBeat) ? 0 : now - seenBeat;
+            primary.update(UPDATE_BEAT, now);
+            lastBeat = now;
+            setReplicaUsable(lagMillis <= maxLag.toMillis(), lagMillis + " ms behind");
+        } catch (DataAccessException e) {
+            setReplicaUsable(false, e.getMessage());
+        }
+    }
+
+    private void setReplicaUsable(boolean usable, String reason) {
+        if (usable != replicaUsable) {
+            if (usable) {
+                LOGGER.info("Replica caught up, read-only transactions use it again");
+            } else {
+                LOGGER.warn("Replica unusable ({}), read-only transactions use the primary",
+                        reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
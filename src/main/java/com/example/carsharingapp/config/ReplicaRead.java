@@ -0,0 +1,16 @@
+package com.example.carsharingapp.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transaction of the annotated method run on the read replica while it has
+ * caught up. Read-only transactions without it, such as those opened by a bare repository
+ * call, stay on the primary.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
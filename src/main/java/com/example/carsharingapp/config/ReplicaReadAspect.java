@@ -0,0 +1,32 @@
+package com.example.carsharingapp.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReplicaReadAspect {
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    public static boolean isReplicaRead() {
+        return Boolean.TRUE.equals(REPLICA_READ.get());
+    }
+
+    @Around("@annotation(com.example.carsharingapp.config.ReplicaRead)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        Boolean previous = REPLICA_READ.get();
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                REPLICA_READ.remove();
+            } else {
+                REPLICA_READ.set(previous);
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.carsharingapp.config;
 
 import com.example.carsharingapp.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +17,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 
 @Configuration
 @RequiredArgsConstructor
@@ -29,14 +32,20 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
         return http
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(
                         auth -> auth
                                 .requestMatchers("/auth/**", "/error", "/swagger-ui/**",
-                                        "/v3/api-docs/**", "/payments/success", "/payments/cancel")
+                                        "/v3/api-docs/**", "/payments/success", "/payments/cancel",
+                                        "/payments/webhook", "/actuator/health")
+                                .permitAll()
+                                .requestMatchers(new AndRequestMatcher(
+                                        EndpointRequest.toAnyEndpoint(),
+                                        request -> request.getLocalPort() == managementPort))
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated()
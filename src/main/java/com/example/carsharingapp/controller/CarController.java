@@ -1,16 +1,33 @@
 package com.example.carsharingapp.controller;
 
 import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.CarAvailabilityDto;
 import com.example.carsharingapp.dto.car.CarDto;
+import com.example.carsharingapp.dto.car.CarImportResultDto;
 import com.example.carsharingapp.dto.car.UpdateCarRequestDto;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.service.availability.AvailabilityService;
+import com.example.carsharingapp.service.car.CarImportService;
 import com.example.carsharingapp.service.car.CarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,7 +35,9 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,6 +47,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/cars")
 public class CarController {
     private final CarService carService;
+    private final AvailabilityService availabilityService;
+    private final CarImportService carImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -38,6 +60,20 @@ public class CarController {
         return carService.addCar(requestDto);
     }
 
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, CarImportService.TEXT_CSV_VALUE})
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Add cars in bulk",
+            description = "Add cars from a JSON array or a CSV file with a header row. Every row "
+                    + "is validated on its own and valid rows are saved in batches. The response "
+                    + "reports the outcome of each row")
+    public void addCars(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body, HttpServletResponse response) throws IOException {
+        try (SequenceWriter report = startReport(response)) {
+            carImportService.addCars(body, contentType, result -> write(report, result));
+        }
+    }
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get all cars",
@@ -46,6 +82,18 @@ public class CarController {
         return carService.findAll(pageable);
     }
 
+    @GetMapping("/available")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Search available cars",
+            description = "Get cars that have at least one free unit for every day between "
+                    + "'from' and 'to', optionally filtered by type")
+    public List<CarAvailabilityDto> getAvailableCars(
+            @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Car.Type type) {
+        return availabilityService.findAvailableCars(from, to, type);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get car by ID",
@@ -64,6 +112,20 @@ public class CarController {
         return carService.updateCar(id, requestDto);
     }
 
+    @PatchMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, CarImportService.TEXT_CSV_VALUE})
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Update cars in bulk",
+            description = "Update cars from a JSON array or a CSV file with a header row, each "
+                    + "row carrying the car's id. Every row is validated on its own and valid "
+                    + "rows are saved in batches. The response reports the outcome of each row")
+    public void updateCars(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body, HttpServletResponse response) throws IOException {
+        try (SequenceWriter report = startReport(response)) {
+            carImportService.updateCars(body, contentType, result -> write(report, result));
+        }
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("hasRole('MANAGER')")
@@ -72,4 +134,17 @@ public class CarController {
     public void delete(@PathVariable Long id) {
         carService.delete(id);
     }
+
+    private SequenceWriter startReport(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return objectMapper.writer().writeValuesAsArray(response.getOutputStream());
+    }
+
+    private void write(SequenceWriter report, CarImportResultDto result) {
+        try {
+            report.write(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,15 +1,29 @@
 package com.example.carsharingapp.controller;
 
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
 import com.example.carsharingapp.dto.payment.PaymentDto;
+import com.example.carsharingapp.model.Payment.Status;
+import com.example.carsharingapp.service.export.ExportFormat;
+import com.example.carsharingapp.service.export.ExportService;
 import com.example.carsharingapp.service.payment.PaymentService;
+import com.example.carsharingapp.service.payment.PaymentWebhookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,6 +31,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,6 +42,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/payments")
 public class PaymentController {
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
+    private final ExportService exportService;
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
@@ -39,6 +56,38 @@ public class PaymentController {
         return paymentService.findAll(userId, pageable, authentication);
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get users payments by cursor",
+            description = "Newest payments first, without a total count. Pass an empty after "
+                    + "for the first page and the returned nextCursor for the following ones")
+    public CursorPageDto<PaymentDto> getAllPaymentsAfter(
+            @RequestParam(required = false) Long userId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            Authentication authentication) {
+        return paymentService.findAllAfter(userId, after, size, authentication);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Export payments",
+            description = "Stream all payments as CSV or NDJSON, optionally filtered by status "
+                    + "and by the rental date of their rental")
+    public void exportPayments(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("payments." + format.getExtension())
+                .build()
+                .toString());
+        exportService.exportPayments(format, status, from, to, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get payment by ID",
@@ -78,6 +127,16 @@ public class PaymentController {
         return "Payment was canceled. You can try again later.";
     }
 
+    @PostMapping("/webhook")
+    @Operation(summary = "Receive Stripe webhook events",
+            description = "Verifies the Stripe signature and queues checkout session events. "
+                    + "Payment statuses are updated in batches shortly after.")
+    public ResponseEntity<Void> webhook(@RequestBody String payload,
+            @RequestHeader("Stripe-Signature") String signature) {
+        paymentWebhookService.ingest(payload, signature);
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping("/renew/{paymentId}")
     @Operation(summary = "Renew payment session",
             description = "Creates a new Stripe session for an expired/cancelled payment "
@@ -1,15 +1,27 @@
 package com.example.carsharingapp.controller;
 
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.rental.AddRentalRequestDto;
 import com.example.carsharingapp.dto.rental.RentalDto;
 import com.example.carsharingapp.dto.rental.RentalReturnDto;
+import com.example.carsharingapp.service.export.ExportFormat;
+import com.example.carsharingapp.service.export.ExportService;
 import com.example.carsharingapp.service.rental.RentalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -28,12 +40,14 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/rentals")
 public class RentalController {
     private final RentalService rentalService;
+    private final ExportService exportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Add a new rental",
-            description = "Add a new rental (decrease car inventory by 1)")
+            description = "Add a new rental (reserve one unit of the car from rental date "
+                    + "to return date)")
     public RentalDto addRental(@RequestBody @Valid AddRentalRequestDto requestDto,
             Authentication authentication) {
         return rentalService.addRental(requestDto, authentication);
@@ -51,6 +65,39 @@ public class RentalController {
         return rentalService.findAll(userId, isActive, pageable, authentication);
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get users rentals by cursor",
+            description = "Newest rentals first, without a total count. Pass an empty after "
+                    + "for the first page and the returned nextCursor for the following ones")
+    public CursorPageDto<RentalDto> getAllRentalsAfter(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            Authentication authentication) {
+        return rentalService.findAllAfter(userId, isActive, after, size, authentication);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Export rentals",
+            description = "Stream all rentals as CSV or NDJSON, optionally filtered by rental "
+                    + "date and by whether the car has been returned")
+    public void exportRentals(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("rentals." + format.getExtension())
+                .build()
+                .toString());
+        exportService.exportRentals(format, isActive, from, to, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get rental by ID",
@@ -62,7 +109,7 @@ public class RentalController {
     @PostMapping("/{id}/return")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Set return date",
-            description = "Set actual return date (increase car inventory by 1)")
+            description = "Set actual return date (release the remaining reserved days)")
     public RentalReturnDto setReturnDate(@PathVariable Long id, Authentication authentication) {
         return rentalService.setReturnDate(id, authentication);
     }
@@ -3,20 +3,23 @@ package com.example.carsharingapp.controller;
 import com.example.carsharingapp.dto.user.UpdateUserProfileRequestDto;
 import com.example.carsharingapp.dto.user.UpdateUserRoleRequestDto;
 import com.example.carsharingapp.dto.user.UserDto;
-import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
 import com.example.carsharingapp.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "User management", description = "Endpoints for managing users")
@@ -39,8 +42,8 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get my profile info",
             description = "Gets user profile info")
-    public UserDto getMyProfileInfo(@AuthenticationPrincipal User user) {
-        return userService.getMyProfileInfo(user);
+    public UserDto getMyProfileInfo(@AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        return userService.getMyProfileInfo(principal);
     }
 
     @PatchMapping("/me")
@@ -48,8 +51,17 @@ public class UserController {
     @Operation(summary = "Update user profile",
             description = "Updates user profile info")
     public UserDto updateUserProfile(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedPrincipal principal,
             @RequestBody @Valid UpdateUserProfileRequestDto requestDto) {
-        return userService.updateUserProfile(user, requestDto);
+        return userService.updateUserProfile(principal, requestDto);
+    }
+
+    @DeleteMapping("/{userId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(summary = "Delete user by ID",
+            description = "Soft-deletes a user and revokes their issued tokens")
+    public void delete(@PathVariable Long userId) {
+        userService.delete(userId);
     }
 }
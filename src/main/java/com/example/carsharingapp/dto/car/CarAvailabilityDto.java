@@ -0,0 +1,17 @@
+package com.example.carsharingapp.dto.car;
+
+import com.example.carsharingapp.model.Car.Type;
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarAvailabilityDto {
+    private Long id;
+    private String model;
+    private String brand;
+    private Type type;
+    private BigDecimal dailyFee;
+    private int availableUnits;
+}
@@ -0,0 +1,22 @@
+package com.example.carsharingapp.dto.car;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CarImportResultDto {
+    private int row;
+    private Status status;
+    private Long id;
+    private List<String> errors = List.of();
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND,
+        FAILED
+    }
+}
@@ -3,9 +3,13 @@ package com.example.carsharingapp.dto.payment;
 import com.example.carsharingapp.model.Payment.Status;
 import com.example.carsharingapp.model.Payment.Type;
 import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PaymentDto {
     private Long id;
     private Status status;
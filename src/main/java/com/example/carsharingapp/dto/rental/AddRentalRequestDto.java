@@ -10,6 +10,8 @@ import lombok.experimental.Accessors;
 @Data
 @Accessors(chain = true)
 public class AddRentalRequestDto {
+    @FutureOrPresent
+    private LocalDate rentalDate;
     @NotNull
     @FutureOrPresent
     private LocalDate returnDate;
@@ -0,0 +1,23 @@
+package com.example.carsharingapp.dto.rental;
+
+import com.example.carsharingapp.model.Car.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class RentalExportDto {
+    private Long id;
+    private LocalDate rentalDate;
+    private LocalDate returnDate;
+    private LocalDate actualReturnDate;
+    private Long carId;
+    private String carBrand;
+    private String carModel;
+    private Type carType;
+    private BigDecimal carDailyFee;
+    private Long userId;
+    private String userEmail;
+}
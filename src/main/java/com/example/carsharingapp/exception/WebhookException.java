@@ -0,0 +1,7 @@
+package com.example.carsharingapp.exception;
+
+public class WebhookException extends RuntimeException {
+    public WebhookException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,8 @@ package com.example.carsharingapp.mapper;
 
 import com.example.carsharingapp.config.MapperConfig;
 import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.BulkUpdateCarRequestDto;
+import com.example.carsharingapp.dto.car.CarAvailabilityDto;
 import com.example.carsharingapp.dto.car.CarDto;
 import com.example.carsharingapp.dto.car.UpdateCarRequestDto;
 import com.example.carsharingapp.model.Car;
@@ -13,6 +15,9 @@ import org.mapstruct.MappingTarget;
 public interface CarMapper {
     CarDto toDto(Car car);
 
+    @Mapping(target = "availableUnits", ignore = true)
+    CarAvailabilityDto toAvailabilityDto(Car car);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     Car toModel(AddCarRequestDto requestDto);
@@ -20,4 +25,8 @@ public interface CarMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     void updateCarFromDto(UpdateCarRequestDto requestDto, @MappingTarget Car car);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    void updateCarFromBulkDto(BulkUpdateCarRequestDto requestDto, @MappingTarget Car car);
 }
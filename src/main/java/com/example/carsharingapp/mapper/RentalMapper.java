@@ -3,8 +3,10 @@ package com.example.carsharingapp.mapper;
 import com.example.carsharingapp.config.MapperConfig;
 import com.example.carsharingapp.dto.rental.AddRentalRequestDto;
 import com.example.carsharingapp.dto.rental.RentalDto;
+import com.example.carsharingapp.dto.rental.RentalExportDto;
 import com.example.carsharingapp.dto.rental.RentalReturnDto;
 import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.repository.projection.RentalView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -12,8 +14,29 @@ import org.mapstruct.Mapping;
 public interface RentalMapper {
     RentalDto toDto(Rental rental);
 
+    @Mapping(source = "carId", target = "car.id")
+    @Mapping(source = "carModel", target = "car.model")
+    @Mapping(source = "carBrand", target = "car.brand")
+    @Mapping(source = "carType", target = "car.type")
+    @Mapping(source = "carInventory", target = "car.inventory")
+    @Mapping(source = "carDailyFee", target = "car.dailyFee")
+    @Mapping(source = "userId", target = "user.id")
+    @Mapping(source = "userEmail", target = "user.email")
+    @Mapping(source = "userFirstName", target = "user.firstName")
+    @Mapping(source = "userLastName", target = "user.lastName")
+    RentalDto toDto(RentalView rentalView);
+
     RentalReturnDto toReturnDto(Rental rental);
 
+    @Mapping(source = "car.id", target = "carId")
+    @Mapping(source = "car.brand", target = "carBrand")
+    @Mapping(source = "car.model", target = "carModel")
+    @Mapping(source = "car.type", target = "carType")
+    @Mapping(source = "car.dailyFee", target = "carDailyFee")
+    @Mapping(source = "user.id", target = "userId")
+    @Mapping(source = "user.email", target = "userEmail")
+    RentalExportDto toExportDto(Rental rental);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "user", ignore = true)
@@ -15,6 +15,7 @@ import org.mapstruct.MappingTarget;
 public interface UserMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toModel(UserRegistrationRequestDto requestDto);
 
     UserDto toDto(User user);
@@ -23,9 +24,12 @@ public interface UserMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     void updateRoleFromDto(UpdateUserRoleRequestDto requestDto, @MappingTarget User user);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
+    @Mapping(target = "password", ignore = true)
     void updateUserProfileFromDto(UpdateUserProfileRequestDto requestDto, @MappingTarget User user);
 }
@@ -0,0 +1,43 @@
+package com.example.carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Entity
+@Setter
+@Getter
+@ToString
+@IdClass(CarDailyAvailability.Key.class)
+@Table(name = "car_daily_availability")
+public class CarDailyAvailability {
+    @Id
+    @Column(name = "car_id")
+    private Long carId;
+    @Id
+    private LocalDate reservationDate;
+    @Column(nullable = false)
+    private int reserved;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long carId;
+        private LocalDate reservationDate;
+    }
+}
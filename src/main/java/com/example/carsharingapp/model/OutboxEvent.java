@@ -0,0 +1,46 @@
+package com.example.carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Entity
+@Setter
+@Getter
+@ToString
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    @Column(nullable = false, unique = true)
+    private String idempotencyKey;
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+    private LocalDateTime claimedUntil;
+
+    public enum Type {
+        RENTAL_CREATED,
+        RENTAL_RETURNED,
+        FINE_ISSUED,
+        PAYMENT_PAID,
+        OVERDUE_REPORT
+    }
+}
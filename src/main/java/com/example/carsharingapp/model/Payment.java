@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import lombok.Getter;
 import lombok.Setter;
@@ -29,7 +30,9 @@ import org.hibernate.annotations.SQLRestriction;
 @Table(name = "payments")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payments_id")
+    @TableGenerator(name = "payments_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payments", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -40,9 +43,7 @@ public class Payment {
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "rental_id", nullable = false)
     private Rental rental;
-    @Column(nullable = false)
     private String sessionUrl;
-    @Column(nullable = false)
     private String sessionId;
     @Column(nullable = false)
     private BigDecimal amountToPay;
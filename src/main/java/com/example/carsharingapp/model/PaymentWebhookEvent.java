@@ -0,0 +1,33 @@
+package com.example.carsharingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Entity
+@Setter
+@Getter
+@ToString
+@Table(name = "payment_webhook_events")
+public class PaymentWebhookEvent {
+    @Id
+    private String eventId;
+    @Column(nullable = false)
+    private String sessionId;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Payment.Status targetStatus;
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+    @Column(nullable = false)
+    private boolean processed = false;
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.util.Collection;
 import java.util.List;
 import lombok.Getter;
@@ -25,12 +26,15 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Setter
 @Getter
 @ToString
-@SQLDelete(sql = "UPDATE users SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE users SET is_deleted = true, token_version = token_version + 1 "
+        + "WHERE id = ?")
 @SQLRestriction("is_deleted=false")
 @Table(name = "users")
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
     @Column(nullable = false, unique = true)
     private String email;
@@ -44,6 +48,8 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
     @Column(nullable = false)
+    private int tokenVersion;
+    @Column(nullable = false)
     private boolean isDeleted = false;
 
     @Override
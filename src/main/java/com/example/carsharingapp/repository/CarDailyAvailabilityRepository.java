@@ -0,0 +1,31 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.CarDailyAvailability;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CarDailyAvailabilityRepository
+        extends JpaRepository<CarDailyAvailability, CarDailyAvailability.Key>,
+        CarDailyAvailabilityRepositoryCustom {
+    @Modifying
+    @Query("UPDATE CarDailyAvailability a SET a.reserved = a.reserved + 1 "
+            + "WHERE a.carId = :carId "
+            + "AND a.reservationDate BETWEEN :from AND :to "
+            + "AND a.reserved < :capacity")
+    int reserve(Long carId, LocalDate from, LocalDate to, int capacity);
+
+    @Modifying
+    @Query("UPDATE CarDailyAvailability a SET a.reserved = a.reserved - 1 "
+            + "WHERE a.carId = :carId "
+            + "AND a.reservationDate BETWEEN :from AND :to "
+            + "AND a.reserved > 0")
+    int release(Long carId, LocalDate from, LocalDate to);
+
+    List<CarDailyAvailability> findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(
+            LocalDate reservationDate, int reserved);
+}
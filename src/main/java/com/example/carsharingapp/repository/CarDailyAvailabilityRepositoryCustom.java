@@ -0,0 +1,7 @@
+package com.example.carsharingapp.repository;
+
+import java.time.LocalDate;
+
+public interface CarDailyAvailabilityRepositoryCustom {
+    void insertMissingDays(Long carId, LocalDate from, LocalDate to);
+}
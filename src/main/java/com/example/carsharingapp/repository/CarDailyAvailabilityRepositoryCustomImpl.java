@@ -0,0 +1,36 @@
+package com.example.carsharingapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class CarDailyAvailabilityRepositoryCustomImpl
+        implements CarDailyAvailabilityRepositoryCustom {
+    private static final String INSERT_MISSING_DAYS = "INSERT IGNORE INTO car_daily_availability "
+            + "(car_id, reservation_date, reserved) VALUES ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates the missing day rows of the window with one multi-row statement, so a year-long
+     * booking costs a single round trip instead of one per day.
+     */
+    @Override
+    public void insertMissingDays(Long carId, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Query query = entityManager.createNativeQuery(INSERT_MISSING_DAYS
+                + IntStream.range(0, days)
+                        .mapToObj(day -> "(:carId, :day" + day + ", 0)")
+                        .collect(Collectors.joining(", ")));
+        query.setParameter("carId", carId);
+        for (int day = 0; day < days; day++) {
+            query.setParameter("day" + day, from.plusDays(day));
+        }
+        query.executeUpdate();
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.carsharingapp.repository;
 
 import com.example.carsharingapp.model.Car;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
+    List<Car> findAllByType(Car.Type type);
 }
@@ -0,0 +1,41 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO outbox_events "
+            + "(type, idempotency_key, payload, created_at) "
+            + "VALUES (:type, :idempotencyKey, :payload, :createdAt)",
+            nativeQuery = true)
+    int insertIfAbsent(String type, String idempotencyKey, String payload,
+            LocalDateTime createdAt);
+
+    @Query(value = "SELECT * FROM outbox_events "
+            + "WHERE published_at IS NULL "
+            + "AND (claimed_until IS NULL OR claimed_until < :now) "
+            + "ORDER BY id LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> findUnclaimedForUpdate(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int claim(Collection<Long> ids, LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(Collection<Long> ids, LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int release(Collection<Long> ids);
+}
@@ -1,24 +1,48 @@
 package com.example.carsharingapp.repository;
 
+import com.example.carsharingapp.dto.payment.PaymentDto;
 import com.example.carsharingapp.model.Payment;
 import com.example.carsharingapp.model.Payment.Status;
 import com.example.carsharingapp.model.Payment.Type;
+import com.example.carsharingapp.repository.projection.PaymentSessionView;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>,
+        PaymentRepositoryCustom {
+    String SELECT_PAYMENT_DTO = "SELECT new com.example.carsharingapp.dto.payment.PaymentDto("
+            + "p.id, p.status, p.type, p.rental.id, p.sessionUrl, p.sessionId, p.amountToPay) "
+            + "FROM Payment p ";
 
-    @EntityGraph(attributePaths = {"rental", "rental.user", "rental.car"})
-    Page<Payment> findAll(Pageable pageable);
+    @Query(value = SELECT_PAYMENT_DTO, countQuery = "SELECT COUNT(p) FROM Payment p")
+    Page<PaymentDto> findAllDtos(Pageable pageable);
 
-    @EntityGraph(attributePaths = {"rental", "rental.user", "rental.car"})
-    Page<Payment> findAllByRentalUserId(Long userId, Pageable pageable);
+    @Query(value = SELECT_PAYMENT_DTO + "WHERE p.rental.user.id = :userId",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.rental.user.id = :userId")
+    Page<PaymentDto> findAllDtosByRentalUserId(Long userId, Pageable pageable);
+
+    @Query(SELECT_PAYMENT_DTO + "ORDER BY p.id DESC")
+    List<PaymentDto> findFirstDtos(Limit limit);
+
+    @Query(SELECT_PAYMENT_DTO + "WHERE p.id < :id ORDER BY p.id DESC")
+    List<PaymentDto> findDtosAfter(Long id, Limit limit);
+
+    @Query(SELECT_PAYMENT_DTO + "WHERE p.rental.user.id = :userId ORDER BY p.id DESC")
+    List<PaymentDto> findFirstDtosByRentalUserId(Long userId, Limit limit);
+
+    @Query(SELECT_PAYMENT_DTO + "WHERE p.rental.user.id = :userId AND p.id < :id "
+            + "ORDER BY p.id DESC")
+    List<PaymentDto> findDtosByRentalUserIdAfter(Long userId, Long id, Limit limit);
 
     boolean existsByRentalUserIdAndStatus(Long userId, Status status);
 
@@ -36,4 +60,30 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             Status status);
 
     List<Payment> findAllByStatus(Status status);
+
+    @Query("SELECT new com.example.carsharingapp.repository.projection.PaymentSessionView("
+            + "p.id, p.sessionId) FROM Payment p "
+            + "WHERE p.status = :status AND p.id > :id ORDER BY p.id")
+    List<PaymentSessionView> findSessionViewsByStatusAfter(Status status, Long id, Limit limit);
+
+    List<Payment> findAllByStatusAndSessionIdIsNullOrderByIdAsc(Status status, Limit limit);
+
+    @EntityGraph(attributePaths = {"rental", "rental.user", "rental.car"})
+    List<Payment> findAllBySessionIdInAndStatus(Collection<String> sessionIds, Status status);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :newStatus "
+            + "WHERE p.sessionId IN :sessionIds AND p.status = :currentStatus")
+    int updateStatusBySessionIds(Collection<String> sessionIds, Status currentStatus,
+            Status newStatus);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :newStatus "
+            + "WHERE p.id IN :ids AND p.status = :currentStatus")
+    int updateStatusByIds(Collection<Long> ids, Status currentStatus, Status newStatus);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.sessionId = :sessionId, p.sessionUrl = :sessionUrl "
+            + "WHERE p.id = :id AND p.sessionId IS NULL")
+    int updateSessionIfAbsent(Long id, String sessionId, String sessionUrl);
 }
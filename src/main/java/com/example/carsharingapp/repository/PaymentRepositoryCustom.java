@@ -0,0 +1,10 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Payment.Status;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public interface PaymentRepositoryCustom {
+    Stream<Payment> streamAllForExport(Status status, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,28 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Payment.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public class PaymentRepositoryCustomImpl implements PaymentRepositoryCustom {
+    private static final String STREAM_ALL_FOR_EXPORT = "SELECT p FROM Payment p "
+            + "WHERE (:status IS NULL OR p.status = :status) "
+            + "AND (:from IS NULL OR p.rental.rentalDate >= :from) "
+            + "AND (:to IS NULL OR p.rental.rentalDate <= :to) "
+            + "ORDER BY p.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Payment> streamAllForExport(Status status, LocalDate from, LocalDate to) {
+        return StreamingQueries.stream(entityManager,
+                entityManager.createQuery(STREAM_ALL_FOR_EXPORT, Payment.class)
+                        .setParameter("status", status)
+                        .setParameter("from", from)
+                        .setParameter("to", to));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.PaymentWebhookEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, String> {
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO payment_webhook_events "
+            + "(event_id, session_id, target_status, received_at, processed) "
+            + "VALUES (:eventId, :sessionId, :targetStatus, :receivedAt, false)",
+            nativeQuery = true)
+    int insertIfAbsent(String eventId, String sessionId, String targetStatus,
+            LocalDateTime receivedAt);
+
+    List<PaymentWebhookEvent> findAllByProcessedFalseOrderByReceivedAt(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.processed = true WHERE e.eventId IN :eventIds")
+    int markProcessed(List<String> eventIds);
+}
@@ -1,8 +1,12 @@
 package com.example.carsharingapp.repository;
 
 import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.repository.projection.CarRentalCount;
+import com.example.carsharingapp.repository.projection.RentalView;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -11,27 +15,69 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RentalRepository extends JpaRepository<Rental, Long> {
-    @Query("SELECT r FROM Rental r "
-            + "JOIN FETCH r.user "
-            + "JOIN FETCH r.car "
+public interface RentalRepository extends JpaRepository<Rental, Long>,
+        RentalRepositoryCustom {
+    String SELECT_RENTAL_VIEW = "SELECT new com.example.carsharingapp.repository.projection"
+            + ".RentalView(r.id, r.rentalDate, r.returnDate, c.id, c.model, c.brand, c.type, "
+            + "c.inventory, c.dailyFee, u.id, u.email, u.firstName, u.lastName) "
+            + "FROM Rental r JOIN r.car c JOIN r.user u ";
+
+    @Query(value = SELECT_RENTAL_VIEW
+            + "WHERE (:userId IS NULL OR r.user.id = :userId) "
+            + "AND (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL))",
+            countQuery = "SELECT COUNT(r) FROM Rental r JOIN r.car c JOIN r.user u "
             + "WHERE (:userId IS NULL OR r.user.id = :userId) "
             + "AND (:isActive IS NULL "
             + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
             + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL))")
-    Page<Rental> findAllByUserIdAndIsActive(
+    Page<RentalView> findViewsByUserIdAndIsActive(
             Long userId,
             Boolean isActive,
             Pageable pageable
     );
 
+    @Query(SELECT_RENTAL_VIEW
+            + "WHERE (:userId IS NULL OR r.user.id = :userId) "
+            + "AND (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL)) "
+            + "ORDER BY r.rentalDate DESC, r.id DESC")
+    List<RentalView> findFirstViewsByUserIdAndIsActive(
+            Long userId,
+            Boolean isActive,
+            Limit limit
+    );
+
+    @Query(SELECT_RENTAL_VIEW
+            + "WHERE (:userId IS NULL OR r.user.id = :userId) "
+            + "AND (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL)) "
+            + "AND (r.rentalDate < :rentalDate "
+            + "    OR (r.rentalDate = :rentalDate AND r.id < :id)) "
+            + "ORDER BY r.rentalDate DESC, r.id DESC")
+    List<RentalView> findViewsByUserIdAndIsActiveAfter(
+            Long userId,
+            Boolean isActive,
+            LocalDate rentalDate,
+            Long id,
+            Limit limit
+    );
+
     @EntityGraph(attributePaths = {"user", "car"})
     Optional<Rental> findRentalById(Long id);
 
-    @Query("SELECT r FROM Rental r "
-            + "JOIN FETCH r.user "
-            + "JOIN FETCH r.car "
+    @Query("SELECT COUNT(r) FROM Rental r "
             + "WHERE r.returnDate <= CURRENT_DATE "
             + "AND r.actualReturnDate IS NULL")
-    List<Rental> findOverdueRentals();
+    long countOverdueRentals();
+
+    @Query("SELECT new com.example.carsharingapp.repository.projection.CarRentalCount("
+            + "r.car.id, COUNT(r)) FROM Rental r "
+            + "WHERE r.rentalDate <= :date "
+            + "AND (r.actualReturnDate IS NULL OR r.actualReturnDate >= :date) "
+            + "GROUP BY r.car.id")
+    List<CarRentalCount> countRentedOutPerCar(LocalDate date);
 }
@@ -0,0 +1,11 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.Rental;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public interface RentalRepositoryCustom {
+    Stream<Rental> findOverdueRentals();
+
+    Stream<Rental> streamAllForExport(Boolean isActive, LocalDate from, LocalDate to);
+}
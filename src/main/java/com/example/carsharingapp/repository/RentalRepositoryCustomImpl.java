@@ -0,0 +1,42 @@
+package com.example.carsharingapp.repository;
+
+import com.example.carsharingapp.model.Rental;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public class RentalRepositoryCustomImpl implements RentalRepositoryCustom {
+    private static final String FIND_OVERDUE_RENTALS = "SELECT r FROM Rental r "
+            + "JOIN FETCH r.user "
+            + "JOIN FETCH r.car "
+            + "WHERE r.returnDate <= CURRENT_DATE "
+            + "AND r.actualReturnDate IS NULL";
+    private static final String STREAM_ALL_FOR_EXPORT = "SELECT r FROM Rental r "
+            + "JOIN FETCH r.user "
+            + "JOIN FETCH r.car "
+            + "WHERE (:isActive IS NULL "
+            + "    OR (:isActive = TRUE AND r.actualReturnDate IS NULL) "
+            + "    OR (:isActive = FALSE AND r.actualReturnDate IS NOT NULL)) "
+            + "AND (:from IS NULL OR r.rentalDate >= :from) "
+            + "AND (:to IS NULL OR r.rentalDate <= :to) "
+            + "ORDER BY r.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Rental> findOverdueRentals() {
+        return StreamingQueries.stream(entityManager,
+                entityManager.createQuery(FIND_OVERDUE_RENTALS, Rental.class));
+    }
+
+    @Override
+    public Stream<Rental> streamAllForExport(Boolean isActive, LocalDate from, LocalDate to) {
+        return StreamingQueries.stream(entityManager,
+                entityManager.createQuery(STREAM_ALL_FOR_EXPORT, Rental.class)
+                        .setParameter("isActive", isActive)
+                        .setParameter("from", from)
+                        .setParameter("to", to));
+    }
+}
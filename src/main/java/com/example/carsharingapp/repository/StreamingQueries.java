@@ -0,0 +1,30 @@
+package com.example.carsharingapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.stream.Stream;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.AvailableHints;
+
+final class StreamingQueries {
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private StreamingQueries() {
+    }
+
+    /**
+     * Connector/J only streams rows one at a time for a fetch size of Integer.MIN_VALUE, which
+     * other drivers such as H2 reject, so that value is used on MySQL only.
+     */
+    static <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query) {
+        boolean mysql = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof MySQLDialect;
+        return query.setHint(AvailableHints.HINT_FETCH_SIZE,
+                        mysql ? MYSQL_STREAMING_FETCH_SIZE : DEFAULT_FETCH_SIZE)
+                .getResultStream();
+    }
+}
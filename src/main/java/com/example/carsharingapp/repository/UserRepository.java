@@ -1,8 +1,10 @@
 package com.example.carsharingapp.repository;
 
 import com.example.carsharingapp.model.User;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +13,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     Optional<UserDetails> findByEmail(String email);
+
+    @Query(value = "SELECT id, token_version AS tokenVersion FROM users "
+            + "WHERE token_version > 0", nativeQuery = true)
+    List<TokenVersionView> findAllRevokedTokenVersions();
+
+    interface TokenVersionView {
+        Long getId();
+
+        int getTokenVersion();
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.carsharingapp.repository.projection;
+
+public record CarRentalCount(
+        Long carId,
+        long rentals
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.carsharingapp.repository.projection;
+
+import com.example.carsharingapp.model.Car;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RentalView(
+        Long id,
+        LocalDate rentalDate,
+        LocalDate returnDate,
+        Long carId,
+        String carModel,
+        String carBrand,
+        Car.Type carType,
+        int carInventory,
+        BigDecimal carDailyFee,
+        Long userId,
+        String userEmail,
+        String userFirstName,
+        String userLastName
+) {
+}
@@ -0,0 +1,33 @@
+package com.example.carsharingapp.security;
+
+import com.example.carsharingapp.model.User;
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class AuthenticatedPrincipal implements Principal {
+    private final Long id;
+    private final String email;
+    private final User.Role role;
+
+    public static AuthenticatedPrincipal from(User user) {
+        return new AuthenticatedPrincipal(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -2,7 +2,9 @@ package com.example.carsharingapp.security;
 
 import com.example.carsharingapp.dto.user.UserLoginRequestDto;
 import com.example.carsharingapp.dto.user.UserLoginResponseDto;
+import com.example.carsharingapp.model.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -13,12 +15,23 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    @Value("${jwt.stateless.enabled}")
+    private boolean statelessTokens;
 
     public UserLoginResponseDto authenticate(UserLoginRequestDto requestDto) {
         final Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(requestDto.getEmail(),
                         requestDto.getPassword()));
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = statelessTokens
+                ? generateStatelessToken((User) authentication.getPrincipal())
+                : jwtUtil.generateToken(authentication.getName());
         return new UserLoginResponseDto(token);
     }
+
+    private String generateStatelessToken(User user) {
+        int tokenVersion = Math.max(user.getTokenVersion(),
+                tokenVersionRegistry.getTokenVersion(user.getId()));
+        return jwtUtil.generateToken(AuthenticatedPrincipal.from(user), tokenVersion);
+    }
 }
@@ -1,7 +1,11 @@
 package com.example.carsharingapp.security;
 
+import static com.example.carsharingapp.config.CacheConfig.PRINCIPALS_CACHE;
+
+import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,4 +22,13 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(
                         () -> new UsernameNotFoundException("Can't find user by email: " + email));
     }
+
+    /**
+     * Cached lookup for token requests. Only the immutable id, email and role are kept, so the
+     * password hash never lands in the cache; login still goes through loadUserByUsername.
+     */
+    @Cacheable(cacheNames = PRINCIPALS_CACHE, key = "#email")
+    public AuthenticatedPrincipal loadPrincipal(String email) throws UsernameNotFoundException {
+        return AuthenticatedPrincipal.from((User) loadUserByUsername(email));
+    }
 }
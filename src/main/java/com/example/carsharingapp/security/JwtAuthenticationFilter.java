@@ -1,5 +1,6 @@
 package com.example.carsharingapp.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,8 +13,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -31,7 +30,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     );
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -47,17 +47,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = getToken(request);
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String username = jwtUtil.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (token != null) {
+            ParsedToken parsedToken = jwtUtil.parseToken(token);
+            AuthenticatedPrincipal principal = parsedToken.userId() == null
+                    ? userDetailsService.loadPrincipal(parsedToken.subject())
+                    : buildPrincipal(parsedToken);
             Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities()
+                    principal, null, principal.getAuthorities()
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedPrincipal buildPrincipal(ParsedToken parsedToken) {
+        int tokenVersion = parsedToken.tokenVersion() == null ? 0 : parsedToken.tokenVersion();
+        if (parsedToken.role() == null
+                || tokenVersionRegistry.isRevoked(parsedToken.userId(), tokenVersion)) {
+            throw new JwtException("Expired or invalid JWT token");
+        }
+        return new AuthenticatedPrincipal(
+                parsedToken.userId(), parsedToken.subject(), parsedToken.role());
+    }
+
     private String getToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(TOKEN_HEADER)) {
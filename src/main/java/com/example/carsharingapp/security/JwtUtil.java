@@ -1,26 +1,34 @@
 package com.example.carsharingapp.security;
 
+import com.example.carsharingapp.model.User;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.function.Function;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
-    private final SecretKey secret;
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "tokenVersion";
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final SecretKey secret;
+    private final JwtParser parser;
+    private final long expiration;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    public JwtUtil(@Value("${jwt.secret}") String secretString,
+            @Value("${jwt.expiration}") long expiration) {
         this.secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(secret)
+                .build();
+        this.expiration = expiration;
     }
 
     public String generateToken(String username) {
@@ -32,28 +40,30 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
+    public String generateToken(AuthenticatedPrincipal principal, int tokenVersion) {
+        return Jwts.builder()
+                .subject(principal.getEmail())
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLE_CLAIM, principal.getRole().name())
+                .claim(TOKEN_VERSION_CLAIM, tokenVersion)
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(secret)
+                .compact();
+    }
+
+    public ParsedToken parseToken(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .verifyWith(secret)
-                    .build()
-                    .parseSignedClaims(token);
-            return !claimsJws.getPayload().getExpiration().before(new Date());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            String role = claims.get(ROLE_CLAIM, String.class);
+            return new ParsedToken(
+                    claims.getSubject(),
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    role == null ? null : User.Role.valueOf(role),
+                    claims.get(TOKEN_VERSION_CLAIM, Integer.class),
+                    claims.getExpiration());
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
     }
-
-    public String getUsername(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .verifyWith(secret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claimsResolver.apply(claims);
-    }
 }
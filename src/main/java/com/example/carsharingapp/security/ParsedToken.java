@@ -0,0 +1,8 @@
+package com.example.carsharingapp.security;
+
+import com.example.carsharingapp.model.User;
+import java.util.Date;
+
+public record ParsedToken(String subject, Long userId, User.Role role, Integer tokenVersion,
+        Date expiration) {
+}
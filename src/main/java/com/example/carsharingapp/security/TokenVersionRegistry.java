@@ -0,0 +1,36 @@
+package com.example.carsharingapp.security;
+
+import com.example.carsharingapp.repository.UserRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+    private final UserRepository userRepository;
+    private final Map<Long, Integer> tokenVersions = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.token-version.refresh-interval}")
+    public void refresh() {
+        userRepository.findAllRevokedTokenVersions().forEach(view ->
+                tokenVersions.merge(view.getId(), view.getTokenVersion(), Math::max));
+    }
+
+    public int getTokenVersion(Long userId) {
+        return tokenVersions.getOrDefault(userId, 0);
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        return tokenVersion < getTokenVersion(userId);
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        tokenVersions.merge(userId, tokenVersion, Math::max);
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.carsharingapp.service;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface NotificationService {
     void sendMessage(String message);
+
+    CompletableFuture<Void> deliver(String message);
 }
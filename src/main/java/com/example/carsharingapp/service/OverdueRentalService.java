@@ -1,62 +1,105 @@
 package com.example.carsharingapp.service;
 
+import com.example.carsharingapp.model.OutboxEvent;
 import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.template.MessageTemplate;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class OverdueRentalService {
-    private static final String OVERDUE_MESSAGE_HEADER = "🚨 DAILY OVERDUE RENTAL REPORT 🚨\n\n";
+    private static final MessageTemplate OVERDUE_MESSAGE_HEADER = MessageTemplate.compile(
+            "🚨 DAILY OVERDUE RENTAL REPORT 🚨\n📊 {count} rental(s) overdue\n\n", "count");
+    private static final MessageTemplate OVERDUE_RENTAL_ENTRY = MessageTemplate.compile(
+            "🔢 *Rental ID*: {rentalId}\n"
+                    + "👤 User: {firstName:md} {lastName:md} (ID: {userId}, Email: {email:md})\n"
+                    + "🚗 Car: {brand:md} {model:md} (ID: {carId})\n"
+                    + "📅 Expected Return: {returnDate}\n\n",
+            "rentalId", "firstName", "lastName", "userId", "email",
+            "brand", "model", "carId", "returnDate");
+    private static final MessageTemplate OVERDUE_MESSAGE_FOOTER = MessageTemplate.compile(
+            "\n⋯⋯⋯⋯⋯⋯⋯⋯⋯⋯⋯\n📊 END OF REPORT ({count} total)", "count");
     private static final String NO_OVERDUE_MESSAGE = "✅ No rentals overdue today!";
 
     private final RentalRepository rentalRepository;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
 
     @Scheduled(cron = "${rental.overdue.check.cron}")
+    @Transactional
     public void checkOverdueRentals() {
-        List<Rental> overdueRentals = rentalRepository.findOverdueRentals();
-
-        if (overdueRentals.isEmpty()) {
-            notificationService.sendMessage(NO_OVERDUE_MESSAGE);
+        String reportKey = "overdue-report:" + LocalDate.now() + ":";
+        long overdueCount = rentalRepository.countOverdueRentals();
+        if (overdueCount == 0) {
+            outboxService.record(OutboxEvent.Type.OVERDUE_REPORT, reportKey + 0,
+                    NO_OVERDUE_MESSAGE);
             return;
         }
-        String consolidatedMessage = buildOverdueMessage(overdueRentals);
-        notificationService.sendMessage(consolidatedMessage);
+        List<String> chunks = renderReport(overdueCount);
+        for (int i = 0; i < chunks.size(); i++) {
+            outboxService.record(OutboxEvent.Type.OVERDUE_REPORT, reportKey + i, chunks.get(i));
+        }
     }
 
-    private String buildOverdueMessage(List<Rental> rentals) {
-        StringBuilder message = new StringBuilder(OVERDUE_MESSAGE_HEADER);
-        for (Rental rental : rentals) {
-            String rentalDetail = String.format(
-                    "🔢 *Rental ID*: %d\n"
-                            + "👤 User: %s %s (ID: %d, Email: %s)\n"
-                            + "🚗 Car: %s %s (ID: %d)\n"
-                            + "📅 Expected Return: %s\n\n",
-                    rental.getId(),
-                    escapeMarkdown(rental.getUser().getFirstName()),
-                    escapeMarkdown(rental.getUser().getLastName()),
-                    rental.getUser().getId(),
-                    escapeMarkdown(rental.getUser().getEmail()),
-                    escapeMarkdown(rental.getCar().getBrand()),
-                    escapeMarkdown(rental.getCar().getModel()),
-                    rental.getCar().getId(),
-                    rental.getReturnDate()
-            );
-            message.append(rentalDetail);
+    private List<String> renderReport(long overdueCount) {
+        ReportWriter writer = new ReportWriter();
+        StringBuilder entry = new StringBuilder();
+        writer.append(OVERDUE_MESSAGE_HEADER.renderTo(entry, overdueCount));
+        long reported = 0;
+        try (Stream<Rental> overdueRentals = rentalRepository.findOverdueRentals()) {
+            for (Rental rental : (Iterable<Rental>) overdueRentals::iterator) {
+                entry.setLength(0);
+                writer.append(renderRental(entry, rental));
+                entityManager.detach(rental);
+                reported++;
+            }
         }
-        message.append("\n⋯⋯⋯⋯⋯⋯⋯⋯⋯⋯⋯\n");
-        message.append("📊 END OF REPORT (%d total)".formatted(rentals.size()));
-        return message.toString();
+        entry.setLength(0);
+        writer.append(OVERDUE_MESSAGE_FOOTER.renderTo(entry, reported));
+        writer.flush();
+        return writer.chunks;
+    }
+
+    private StringBuilder renderRental(StringBuilder buffer, Rental rental) {
+        return OVERDUE_RENTAL_ENTRY.renderTo(buffer,
+                rental.getId(),
+                rental.getUser().getFirstName(),
+                rental.getUser().getLastName(),
+                rental.getUser().getId(),
+                rental.getUser().getEmail(),
+                rental.getCar().getBrand(),
+                rental.getCar().getModel(),
+                rental.getCar().getId(),
+                rental.getReturnDate());
     }
 
-    private String escapeMarkdown(String text) {
-        if (text == null) {
-            return "";
+    private static final class ReportWriter {
+        private final List<String> chunks = new ArrayList<>();
+        private final StringBuilder chunk = new StringBuilder();
+
+        private void append(CharSequence entry) {
+            if (chunk.length() + entry.length() > TelegramNotificationService.MAX_MESSAGE_LENGTH) {
+                flush();
+            }
+            chunk.append(entry);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            chunks.add(chunk.toString());
+            chunk.setLength(0);
         }
-        return text.replaceAll("([_*>\\[\\]()~`#+\\-=|{}!])", "\\\\$1");
     }
 }
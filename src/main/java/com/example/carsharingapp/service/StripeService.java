@@ -1,49 +0,0 @@
-package com.example.carsharingapp.service;
-
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
-import com.stripe.param.checkout.SessionCreateParams;
-import jakarta.annotation.PostConstruct;
-import java.math.BigDecimal;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-
-@Service
-public class StripeService {
-    @Value("${stripe.secret.key}")
-    private String secretKey;
-
-    @PostConstruct
-    public void init() {
-        Stripe.apiKey = secretKey;
-    }
-
-    public Session createCheckoutSession(BigDecimal amount, String successUrl, String cancelUrl)
-            throws StripeException {
-        SessionCreateParams params = SessionCreateParams.builder()
-                .setMode(SessionCreateParams.Mode.PAYMENT)
-                .addLineItem(SessionCreateParams.LineItem.builder()
-                        .setQuantity(1L)
-                        .setPriceData(SessionCreateParams.LineItem.PriceData.builder()
-                                .setCurrency("usd")
-                                .setUnitAmount(amount.multiply(BigDecimal.valueOf(100))
-                                        .longValue()) // in cents
-                                .setProductData(
-                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
-                                                .setName("Car Rental Payment")
-                                                .build())
-                                .build())
-                        .build())
-                .setSuccessUrl(successUrl)
-                .setCancelUrl(cancelUrl)
-                .build();
-
-        return Session.create(params);
-    }
-
-    public Session getSession(String sessionId) throws StripeException {
-        return Session.retrieve(sessionId);
-    }
-}
-
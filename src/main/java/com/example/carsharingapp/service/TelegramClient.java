@@ -0,0 +1,44 @@
+package com.example.carsharingapp.service;
+
+import static com.example.carsharingapp.config.MetricsConfig.EXTERNAL_CALL_TIMER;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@RequiredArgsConstructor
+public class TelegramClient {
+    private static final String SEND_MESSAGE_URL = "%s/bot%s/sendMessage";
+    private final RestTemplate restTemplate;
+    @Value("${telegram.api.base-url}")
+    private String baseUrl;
+    @Value("${telegram.bot.token}")
+    private String botToken;
+    @Value("${telegram.chat.id}")
+    private String chatId;
+
+    @Timed(value = EXTERNAL_CALL_TIMER, extraTags = {"target", "telegram"}, histogram = true)
+    public void sendMessage(String text) {
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("chat_id", chatId);
+        body.add("text", text);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        restTemplate.postForEntity(String.format(SEND_MESSAGE_URL, baseUrl, botToken),
+                new HttpEntity<>(body, headers), String.class);
+    }
+
+    public String getChatId() {
+        return chatId;
+    }
+}
@@ -1,49 +1,241 @@
 package com.example.carsharingapp.service;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 @Service
-@RequiredArgsConstructor
 public class TelegramNotificationService implements NotificationService {
+    public static final int MAX_MESSAGE_LENGTH = 4096;
     private static final Logger LOGGER = LoggerFactory.getLogger(TelegramNotificationService.class);
-    private static final String TELEGRAM_API_BASE_URL =
-            "https://api.telegram.org/bot%s/{method}";
-    private final RestTemplate restTemplate;
-    @Value("${telegram.bot.token}")
-    private String botToken;
-    @Value("${telegram.chat.id}")
-    private String chatId;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String SEPARATOR = "\n\n";
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    private final TelegramClient telegramClient;
+    private final BlockingQueue<PendingMessage> queue;
+    private final long minIntervalMillis;
+    private final long initialBackoffMillis;
+    private final int maxRetries;
+    private final Counter sentCounter;
+    private final Counter queueFullCounter;
+    private final Counter sendFailedCounter;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long lastSentAt;
+
+    public TelegramNotificationService(TelegramClient telegramClient,
+            MeterRegistry meterRegistry,
+            @Value("${telegram.dispatcher.queue-capacity}") int queueCapacity,
+            @Value("${telegram.dispatcher.min-interval}") long minIntervalMillis,
+            @Value("${telegram.dispatcher.initial-backoff}") long initialBackoffMillis,
+            @Value("${telegram.dispatcher.max-retries}") int maxRetries) {
+        this.telegramClient = telegramClient;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.minIntervalMillis = minIntervalMillis;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxRetries = maxRetries;
+        this.sentCounter = meterRegistry.counter("notification.sent");
+        this.queueFullCounter = meterRegistry.counter("notification.dropped",
+                "reason", "queue_full");
+        this.sendFailedCounter = meterRegistry.counter("notification.dropped",
+                "reason", "send_failed");
+        meterRegistry.gauge("notification.queue.depth", queue, BlockingQueue::size);
+        this.worker = new Thread(this::dispatch, "telegram-notification-dispatcher");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        worker.interrupt();
+    }
 
     @Override
     public void sendMessage(String message) {
-        String url = String.format(TELEGRAM_API_BASE_URL, botToken)
-                .replace("{method}", "sendMessage");
-        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-        body.add("chat_id", chatId);
-        body.add("text", message);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            enqueue(message);
+                        }
+                    });
+        } else {
+            enqueue(message);
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+    @Override
+    public CompletableFuture<Void> deliver(String message) {
+        return enqueue(message);
+    }
 
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+    public int getQueueDepth() {
+        return queue.size();
+    }
 
+    private CompletableFuture<Void> enqueue(String message) {
+        PendingMessage pendingMessage = new PendingMessage(message, new CompletableFuture<>());
+        if (!queue.offer(pendingMessage)) {
+            queueFullCounter.increment();
+            LOGGER.warn("Notification queue is full, dropping message for chat ID: {}",
+                    telegramClient.getChatId());
+            pendingMessage.delivered().completeExceptionally(
+                    new IllegalStateException("Notification queue is full"));
+        }
+        return pendingMessage.delivered();
+    }
+
+    private void dispatch() {
         try {
-            restTemplate.postForEntity(url, request, String.class);
-            LOGGER.info("Successfully sent message to Telegram chat ID: {}", chatId);
-        } catch (RestClientException e) {
-            LOGGER.error("Failed to send Telegram message to chat ID: {}. Error: {}", chatId,
-                    e.getMessage());
+            while (running || !queue.isEmpty()) {
+                PendingMessage first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingMessage> messages = new ArrayList<>();
+                messages.add(first);
+                queue.drainTo(messages);
+                for (Chunk chunk : coalesce(messages)) {
+                    send(chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Chunk> coalesce(List<PendingMessage> messages) {
+        List<Chunk> chunks = new ArrayList<>();
+        Chunk current = new Chunk();
+        for (PendingMessage message : messages) {
+            String text = message.text();
+            for (int start = 0, end; start < text.length(); start = end) {
+                end = splitPoint(text, start);
+                if (!current.fits(end - start)) {
+                    chunks.add(current);
+                    current = new Chunk();
+                }
+                current.append(text.substring(start, end), message.delivered(),
+                        end == text.length());
+            }
+        }
+        if (!current.text.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * Ends a part of an oversized message after its last full line, so Markdown entities and
+     * surrogate pairs are not cut in half. A single line over the limit is cut before the
+     * limit, one char earlier if that would split a surrogate pair.
+     */
+    private static int splitPoint(String text, int start) {
+        int end = start + MAX_MESSAGE_LENGTH;
+        if (end >= text.length()) {
+            return text.length();
+        }
+        int lineEnd = text.lastIndexOf('\n', end - 1);
+        if (lineEnd >= start) {
+            return lineEnd + 1;
+        }
+        return Character.isHighSurrogate(text.charAt(end - 1)) ? end - 1 : end;
+    }
+
+    private void send(Chunk chunk) throws InterruptedException {
+        String text = chunk.text.toString();
+        long backoffMillis = initialBackoffMillis;
+        long notBefore = lastSentAt + minIntervalMillis;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            long waitMillis = notBefore - System.currentTimeMillis();
+            if (waitMillis > 0) {
+                Thread.sleep(waitMillis);
+            }
+            try {
+                telegramClient.sendMessage(text);
+                lastSentAt = System.currentTimeMillis();
+                sentCounter.increment();
+                chunk.completed.forEach(delivered -> delivered.complete(null));
+                LOGGER.info("Successfully sent message to Telegram chat ID: {}",
+                        telegramClient.getChatId());
+                return;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                long retryAfterMillis = Math.max(retryAfterMillis(e), backoffMillis);
+                LOGGER.warn("Telegram rate limit hit, retrying in {} ms", retryAfterMillis);
+                notBefore = System.currentTimeMillis() + retryAfterMillis;
+            } catch (RestClientException e) {
+                LOGGER.warn("Failed to send Telegram message (attempt {}): {}",
+                        attempt + 1, e.getMessage());
+                notBefore = System.currentTimeMillis() + backoffMillis;
+            }
+            backoffMillis *= 2;
+        }
+        sendFailedCounter.increment();
+        IllegalStateException failure = new IllegalStateException(
+                "Telegram message was not delivered after " + (maxRetries + 1) + " attempts");
+        chunk.included.forEach(delivered -> delivered.completeExceptionally(failure));
+        LOGGER.error("Giving up on Telegram message to chat ID: {} after {} attempts",
+                telegramClient.getChatId(), maxRetries + 1);
+    }
+
+    private long retryAfterMillis(HttpClientErrorException e) {
+        try {
+            JsonNode retryAfter = OBJECT_MAPPER.readTree(e.getResponseBodyAsString())
+                    .path("parameters").path("retry_after");
+            return TimeUnit.SECONDS.toMillis(retryAfter.asLong());
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private record PendingMessage(String text, CompletableFuture<Void> delivered) {
+    }
+
+    private static final class Chunk {
+        private final StringBuilder text = new StringBuilder();
+        private final List<CompletableFuture<Void>> included = new ArrayList<>();
+        private final List<CompletableFuture<Void>> completed = new ArrayList<>();
+
+        private boolean fits(int partLength) {
+            return text.isEmpty()
+                    || text.length() + SEPARATOR.length() + partLength <= MAX_MESSAGE_LENGTH;
+        }
+
+        private void append(String part, CompletableFuture<Void> delivered, boolean lastPart) {
+            if (!text.isEmpty()) {
+                text.append(SEPARATOR);
+            }
+            text.append(part);
+            included.add(delivered);
+            if (lastPart) {
+                completed.add(delivered);
+            }
         }
     }
 }
@@ -0,0 +1,16 @@
+package com.example.carsharingapp.service.availability;
+
+import com.example.carsharingapp.dto.car.CarAvailabilityDto;
+import com.example.carsharingapp.model.Car;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AvailabilityService {
+    void reserve(Car car, LocalDate from, LocalDate to);
+
+    void release(Long carId, LocalDate from, LocalDate to);
+
+    int getAvailableUnits(Car car, LocalDate from, LocalDate to);
+
+    List<CarAvailabilityDto> findAvailableCars(LocalDate from, LocalDate to, Car.Type type);
+}
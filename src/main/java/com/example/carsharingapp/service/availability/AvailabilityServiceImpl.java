@@ -0,0 +1,172 @@
+package com.example.carsharingapp.service.availability;
+
+import com.example.carsharingapp.dto.car.CarAvailabilityDto;
+import com.example.carsharingapp.exception.RentalException;
+import com.example.carsharingapp.mapper.CarMapper;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.CarDailyAvailability;
+import com.example.carsharingapp.repository.CarDailyAvailabilityRepository;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.repository.projection.CarRentalCount;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityServiceImpl implements AvailabilityService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+    private static final int REBUILD_ATTEMPTS = 5;
+
+    private final CarDailyAvailabilityRepository availabilityRepository;
+    private final CarRepository carRepository;
+    private final RentalRepository rentalRepository;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final CarMapper carMapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${rental.availability.rebuild.cron}")
+    public void rebuildIndex() {
+        LocalDate today = LocalDate.now();
+        for (int attempt = 1; attempt < REBUILD_ATTEMPTS; attempt++) {
+            if (availabilityIndex.rebuild(today, () -> findStoredReservations(today))) {
+                return;
+            }
+        }
+        LOGGER.warn("Reservations kept committing during {} index rebuilds, "
+                + "rebuilding without waiting for them", REBUILD_ATTEMPTS - 1);
+        availabilityIndex.reset(today, findStoredReservations(today));
+    }
+
+    @Transactional
+    @Override
+    public void reserve(Car car, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        availabilityRepository.insertMissingDays(car.getId(), from, to);
+        int reservedDays = availabilityRepository.reserve(
+                car.getId(), from, to, car.getInventory());
+        if (reservedDays != ChronoUnit.DAYS.between(from, to) + 1) {
+            throw new RentalException(
+                    "Cannot proceed. Car with id: %s is fully booked between %s and %s"
+                            .formatted(car.getId(), from, to));
+        }
+        updateIndexOnCommit(() -> availabilityIndex.add(car.getId(), from, to, 1));
+    }
+
+    @Transactional
+    @Override
+    public void release(Long carId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return;
+        }
+        availabilityRepository.release(carId, from, to);
+        updateIndexOnCommit(() -> availabilityIndex.add(carId, from, to, -1));
+    }
+
+    @Override
+    public int getAvailableUnits(Car car, LocalDate from, LocalDate to) {
+        return Math.max(0, car.getInventory()
+                - availabilityIndex.getMaxReserved(car.getId(), from, to));
+    }
+
+    @Override
+    public List<CarAvailabilityDto> findAvailableCars(LocalDate from, LocalDate to,
+            Car.Type type) {
+        validateRange(from, to);
+        List<Car> cars = type == null
+                ? carRepository.findAll()
+                : carRepository.findAllByType(type);
+        return cars.stream()
+                .map(car -> carMapper.toAvailabilityDto(car)
+                        .setAvailableUnits(getAvailableUnits(car, from, to)))
+                .filter(dto -> dto.getAvailableUnits() > 0)
+                .toList();
+    }
+
+    /**
+     * Reads the stored reservations from today on. Overdue rentals are only stored up to their
+     * planned return date, so today also counts every rental still out, the way the backfill
+     * reserves them through GREATEST(return_date, CURRENT_DATE).
+     */
+    private List<CarDailyAvailability> findStoredReservations(LocalDate today) {
+        List<CarDailyAvailability> reservations = new ArrayList<>(availabilityRepository
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(today, 0));
+        Map<Long, Integer> reservedToday = reservations.stream()
+                .filter(reservation -> reservation.getReservationDate().isEqual(today))
+                .collect(Collectors.toMap(CarDailyAvailability::getCarId,
+                        CarDailyAvailability::getReserved, Integer::sum));
+        for (CarRentalCount rentedOut : rentalRepository.countRentedOutPerCar(today)) {
+            int missing = (int) rentedOut.rentals()
+                    - reservedToday.getOrDefault(rentedOut.carId(), 0);
+            if (missing > 0) {
+                reservations.add(new CarDailyAvailability()
+                        .setCarId(rentedOut.carId())
+                        .setReservationDate(today)
+                        .setReserved(missing));
+            }
+        }
+        return reservations;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isBefore(LocalDate.now())) {
+            throw new RentalException("Start date %s can't be in the past".formatted(from));
+        }
+        if (to.isBefore(from)) {
+            throw new RentalException("End date %s can't be before start date %s"
+                    .formatted(to, from));
+        }
+        if (to.isAfter(availabilityIndex.getLastBookableDate())) {
+            throw new RentalException("Cars can only be booked until %s"
+                    .formatted(availabilityIndex.getLastBookableDate()));
+        }
+    }
+
+    private void updateIndexOnCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            availabilityIndex.beginUpdate();
+            try {
+                update.run();
+            } finally {
+                availabilityIndex.endUpdate();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    private boolean updating;
+
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        availabilityIndex.beginUpdate();
+                        updating = true;
+                    }
+
+                    @Override
+                    public void afterCommit() {
+                        update.run();
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (updating) {
+                            availabilityIndex.endUpdate();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.carsharingapp.service.availability;
+
+import com.example.carsharingapp.model.CarDailyAvailability;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory view of the reserved units per car and day, kept by each node for availability
+ * search only. Bookings are always checked against car_daily_availability, so the index is
+ * advisory: reservations made on other nodes show up after the next scheduled rebuild.
+ */
+@Component
+public class CarAvailabilityIndex {
+    private final int horizonDays;
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final AtomicLong startedUpdates = new AtomicLong();
+    private volatile LocalDate startDate = LocalDate.now();
+    private volatile Map<Long, ReservationTree> trees = new ConcurrentHashMap<>();
+
+    public CarAvailabilityIndex(@Value("${rental.availability.horizon-days}") int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    public LocalDate getLastBookableDate() {
+        return startDate.plusDays(horizonDays - 1);
+    }
+
+    public int getMaxReserved(Long carId, LocalDate from, LocalDate to) {
+        ReservationTree tree = trees.get(carId);
+        if (tree == null) {
+            return 0;
+        }
+        int[] range = toRange(from, to);
+        return range == null ? 0 : tree.max(range[0], range[1]);
+    }
+
+    public void add(Long carId, LocalDate from, LocalDate to, int delta) {
+        int[] range = toRange(from, to);
+        if (range != null) {
+            trees.computeIfAbsent(carId, id -> new ReservationTree(horizonDays))
+                    .add(range[0], range[1], delta);
+        }
+    }
+
+    /**
+     * Marks a reservation change that is about to commit. It stays open until the index has been
+     * updated, so a rebuild never swaps in rows read while such a change was in flight.
+     */
+    public void beginUpdate() {
+        rebuildLock.readLock().lock();
+        startedUpdates.incrementAndGet();
+    }
+
+    public void endUpdate() {
+        rebuildLock.readLock().unlock();
+    }
+
+    /**
+     * Replaces the index with the stored reservations unless a reservation started committing
+     * while they were read. The rows are read without holding the lock, so committing
+     * transactions never wait on a rebuild that is itself waiting for a pooled connection.
+     *
+     * @return whether the index was replaced; callers retry when it was not
+     */
+    public boolean rebuild(LocalDate newStartDate,
+            Supplier<? extends Collection<CarDailyAvailability>> reservations) {
+        long updatesBeforeRead = settledUpdates();
+        Collection<CarDailyAvailability> storedReservations = reservations.get();
+        rebuildLock.writeLock().lock();
+        try {
+            if (startedUpdates.get() != updatesBeforeRead) {
+                return false;
+            }
+            reset(newStartDate, storedReservations);
+            return true;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public void reset(LocalDate newStartDate, Collection<CarDailyAvailability> reservations) {
+        Map<Long, ReservationTree> newTrees = new ConcurrentHashMap<>();
+        for (CarDailyAvailability reservation : reservations) {
+            long offset = ChronoUnit.DAYS.between(newStartDate,
+                    reservation.getReservationDate());
+            if (offset >= 0 && offset < horizonDays) {
+                newTrees.computeIfAbsent(reservation.getCarId(),
+                                id -> new ReservationTree(horizonDays))
+                        .add((int) offset, (int) offset, reservation.getReserved());
+            }
+        }
+        startDate = newStartDate;
+        trees = newTrees;
+    }
+
+    private long settledUpdates() {
+        rebuildLock.writeLock().lock();
+        try {
+            return startedUpdates.get();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private int[] toRange(LocalDate from, LocalDate to) {
+        long first = Math.max(0, ChronoUnit.DAYS.between(startDate, from));
+        long last = Math.min(horizonDays - 1, ChronoUnit.DAYS.between(startDate, to));
+        return first > last ? null : new int[]{(int) first, (int) last};
+    }
+
+    private static final class ReservationTree {
+        private final int size;
+        private final int[] max;
+        private final int[] pending;
+
+        private ReservationTree(int size) {
+            this.size = size;
+            this.max = new int[4 * size];
+            this.pending = new int[4 * size];
+        }
+
+        private synchronized void add(int from, int to, int delta) {
+            addToNode(1, 0, size - 1, from, to, delta);
+        }
+
+        private synchronized int max(int from, int to) {
+            return maxOfNode(1, 0, size - 1, from, to);
+        }
+
+        private void addToNode(int node, int left, int right, int from, int to, int delta) {
+            if (to < left || right < from) {
+                return;
+            }
+            if (from <= left && right <= to) {
+                max[node] += delta;
+                pending[node] += delta;
+                return;
+            }
+            int middle = (left + right) >>> 1;
+            addToNode(2 * node, left, middle, from, to, delta);
+            addToNode(2 * node + 1, middle + 1, right, from, to, delta);
+            max[node] = Math.max(max[2 * node], max[2 * node + 1]) + pending[node];
+        }
+
+        private int maxOfNode(int node, int left, int right, int from, int to) {
+            if (to < left || right < from) {
+                return Integer.MIN_VALUE;
+            }
+            if (from <= left && right <= to) {
+                return max[node];
+            }
+            int middle = (left + right) >>> 1;
+            return Math.max(maxOfNode(2 * node, left, middle, from, to),
+                    maxOfNode(2 * node + 1, middle + 1, right, from, to)) + pending[node];
+        }
+    }
+}
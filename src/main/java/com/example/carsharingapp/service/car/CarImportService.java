@@ -0,0 +1,17 @@
+package com.example.carsharingapp.service.car;
+
+import com.example.carsharingapp.dto.car.CarImportResultDto;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import org.springframework.http.MediaType;
+
+public interface CarImportService {
+    String TEXT_CSV_VALUE = "text/csv";
+
+    void addCars(InputStream input, MediaType contentType,
+            Consumer<CarImportResultDto> results) throws IOException;
+
+    void updateCars(InputStream input, MediaType contentType,
+            Consumer<CarImportResultDto> results) throws IOException;
+}
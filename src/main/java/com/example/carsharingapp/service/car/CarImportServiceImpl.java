@@ -0,0 +1,163 @@
+package com.example.carsharingapp.service.car;
+
+import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.BulkUpdateCarRequestDto;
+import com.example.carsharingapp.dto.car.CarDto;
+import com.example.carsharingapp.dto.car.CarImportResultDto;
+import com.example.carsharingapp.dto.car.CarImportResultDto.Status;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+@Service
+@RequiredArgsConstructor
+public class CarImportServiceImpl implements CarImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CarImportServiceImpl.class);
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+    private final CarService carService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    @Value("${car.import.batch-size}")
+    private int batchSize;
+
+    @Override
+    public void addCars(InputStream input, MediaType contentType,
+            Consumer<CarImportResultDto> results) throws IOException {
+        importRows(input, contentType, AddCarRequestDto.class, this::create, results);
+    }
+
+    @Override
+    public void updateCars(InputStream input, MediaType contentType,
+            Consumer<CarImportResultDto> results) throws IOException {
+        importRows(input, contentType, BulkUpdateCarRequestDto.class, this::update, results);
+    }
+
+    private <T> void importRows(InputStream input, MediaType contentType, Class<T> rowType,
+            Function<List<Row<T>>, List<CarImportResultDto>> writer,
+            Consumer<CarImportResultDto> results) throws IOException {
+        List<Row<T>> batch = new ArrayList<>(batchSize);
+        List<CarImportResultDto> rejected = new ArrayList<>();
+        int row = 1;
+        try (MappingIterator<T> rows = reader(rowType, contentType).readValues(input)) {
+            for (; rows.hasNextValue(); row++) {
+                try {
+                    T value = rows.nextValue();
+                    List<String> violations = validate(value);
+                    if (violations.isEmpty()) {
+                        batch.add(new Row<>(row, value));
+                    } else {
+                        rejected.add(result(row, Status.INVALID).setErrors(violations));
+                    }
+                } catch (DatabindException e) {
+                    rejected.add(result(row, Status.INVALID)
+                            .setErrors(List.of(e.getOriginalMessage())));
+                }
+                if (batch.size() + rejected.size() == batchSize) {
+                    write(batch, rejected, writer, results);
+                }
+            }
+        } catch (StreamReadException e) {
+            rejected.add(result(row, Status.INVALID).setErrors(
+                    List.of("Malformed input, import stopped: " + e.getOriginalMessage())));
+        }
+        write(batch, rejected, writer, results);
+    }
+
+    private ObjectReader reader(Class<?> rowType, MediaType contentType) {
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return CSV_MAPPER.readerFor(rowType).with(CSV_SCHEMA);
+        }
+        return objectMapper.readerFor(rowType);
+    }
+
+    private List<String> validate(Object value) {
+        return validator.validate(value).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private <T> void write(List<Row<T>> batch, List<CarImportResultDto> rejected,
+            Function<List<Row<T>>, List<CarImportResultDto>> writer,
+            Consumer<CarImportResultDto> results) {
+        List<CarImportResultDto> written = new ArrayList<>(rejected);
+        if (!batch.isEmpty()) {
+            try {
+                written.addAll(writer.apply(batch));
+            } catch (DataAccessException | TransactionException e) {
+                LOGGER.warn("Car import batch of rows {}-{} failed", batch.get(0).number(),
+                        batch.get(batch.size() - 1).number(), e);
+                batch.forEach(row -> written.add(result(row.number(), Status.FAILED)
+                        .setErrors(List.of("Batch could not be saved: "
+                                + e.getMostSpecificCause().getMessage()))));
+            }
+        }
+        written.sort(Comparator.comparingInt(CarImportResultDto::getRow));
+        written.forEach(results);
+        batch.clear();
+        rejected.clear();
+    }
+
+    private List<CarImportResultDto> create(List<Row<AddCarRequestDto>> batch) {
+        List<CarDto> cars = carService.addCars(batch.stream()
+                .map(Row::value)
+                .toList());
+        return IntStream.range(0, batch.size())
+                .mapToObj(i -> result(batch.get(i).number(), Status.CREATED)
+                        .setId(cars.get(i).getId()))
+                .toList();
+    }
+
+    private List<CarImportResultDto> update(List<Row<BulkUpdateCarRequestDto>> batch) {
+        Set<Long> updatedIds = carService.updateCars(batch.stream()
+                        .map(Row::value)
+                        .toList())
+                .stream()
+                .map(CarDto::getId)
+                .collect(Collectors.toSet());
+        return batch.stream()
+                .map(row -> {
+                    Long id = row.value().getId();
+                    return updatedIds.contains(id)
+                            ? result(row.number(), Status.UPDATED).setId(id)
+                            : result(row.number(), Status.NOT_FOUND).setId(id)
+                                    .setErrors(List.of("Can't find car with id: " + id));
+                })
+                .toList();
+    }
+
+    private static CarImportResultDto result(int row, Status status) {
+        return new CarImportResultDto().setRow(row).setStatus(status);
+    }
+
+    private record Row<T>(int number, T value) {
+    }
+}
@@ -1,21 +1,25 @@
 package com.example.carsharingapp.service.car;
 
 import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.BulkUpdateCarRequestDto;
 import com.example.carsharingapp.dto.car.CarDto;
 import com.example.carsharingapp.dto.car.UpdateCarRequestDto;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface CarService {
     CarDto addCar(AddCarRequestDto requestDto);
 
+    List<CarDto> addCars(List<AddCarRequestDto> requestDtos);
+
     Page<CarDto> findAll(Pageable pageable);
 
     CarDto findById(Long id);
 
     CarDto updateCar(Long id, UpdateCarRequestDto requestDto);
 
-    void delete(Long id);
+    List<CarDto> updateCars(List<BulkUpdateCarRequestDto> requestDtos);
 
-    void updateInventory(Long carId, int delta);
+    void delete(Long id);
 }
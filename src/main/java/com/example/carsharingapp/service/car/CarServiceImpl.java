@@ -1,17 +1,30 @@
 package com.example.carsharingapp.service.car;
 
+import static com.example.carsharingapp.config.CacheConfig.CARS_CACHE;
+import static com.example.carsharingapp.config.CacheConfig.CAR_PAGES_CACHE;
+
+import com.example.carsharingapp.config.ReplicaRead;
 import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.BulkUpdateCarRequestDto;
 import com.example.carsharingapp.dto.car.CarDto;
 import com.example.carsharingapp.dto.car.UpdateCarRequestDto;
 import com.example.carsharingapp.exception.EntityNotFoundException;
-import com.example.carsharingapp.exception.RentalException;
 import com.example.carsharingapp.mapper.CarMapper;
 import com.example.carsharingapp.model.Car;
 import com.example.carsharingapp.repository.CarRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +32,7 @@ public class CarServiceImpl implements CarService {
     private final CarRepository carRepository;
     private final CarMapper carMapper;
 
+    @CacheEvict(cacheNames = CAR_PAGES_CACHE, allEntries = true)
     @Override
     public CarDto addCar(AddCarRequestDto requestDto) {
         Car car = carMapper.toModel(requestDto);
@@ -26,12 +40,30 @@ public class CarServiceImpl implements CarService {
         return carMapper.toDto(car);
     }
 
+    @CacheEvict(cacheNames = CAR_PAGES_CACHE, allEntries = true)
+    @Transactional
+    @Override
+    public List<CarDto> addCars(List<AddCarRequestDto> requestDtos) {
+        List<Car> cars = requestDtos.stream()
+                .map(carMapper::toModel)
+                .toList();
+        return carRepository.saveAll(cars).stream()
+                .map(carMapper::toDto)
+                .toList();
+    }
+
+    @Cacheable(cacheNames = CAR_PAGES_CACHE, key = "#pageable")
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @Override
     public Page<CarDto> findAll(Pageable pageable) {
         return carRepository.findAll(pageable)
                 .map(carMapper::toDto);
     }
 
+    @Cacheable(cacheNames = CARS_CACHE, key = "#id")
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @Override
     public CarDto findById(Long id) {
         return carRepository.findById(id)
@@ -40,6 +72,10 @@ public class CarServiceImpl implements CarService {
                         () -> new EntityNotFoundException("Can't find car with id: " + id));
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CARS_CACHE, key = "#id"),
+            evict = @CacheEvict(cacheNames = CAR_PAGES_CACHE, allEntries = true)
+    )
     @Override
     public CarDto updateCar(Long id, UpdateCarRequestDto requestDto) {
         Car car = carRepository.findById(id).orElseThrow(
@@ -49,21 +85,34 @@ public class CarServiceImpl implements CarService {
         return carMapper.toDto(savedCar);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CARS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CAR_PAGES_CACHE, allEntries = true)
+    })
+    @Transactional
     @Override
-    public void delete(Long id) {
-        carRepository.deleteById(id);
+    public List<CarDto> updateCars(List<BulkUpdateCarRequestDto> requestDtos) {
+        Map<Long, Car> cars = carRepository.findAllById(requestDtos.stream()
+                        .map(BulkUpdateCarRequestDto::getId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+        return requestDtos.stream()
+                .filter(requestDto -> cars.containsKey(requestDto.getId()))
+                .map(requestDto -> {
+                    Car car = cars.get(requestDto.getId());
+                    carMapper.updateCarFromBulkDto(requestDto, car);
+                    return carMapper.toDto(car);
+                })
+                .toList();
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CARS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CAR_PAGES_CACHE, allEntries = true)
+    })
     @Override
-    public void updateInventory(Long carId, int delta) {
-        Car car = carRepository.findById(carId).orElseThrow(
-                () -> new EntityNotFoundException("Can't find car with id: " + carId));
-        int newInventory = car.getInventory() + delta;
-        if (newInventory < 0) {
-            throw new RentalException(
-                    "Cannot proceed. Inventory change would result in negative stock.");
-        }
-        car.setInventory(newInventory);
-        carRepository.save(car);
+    public void delete(Long id) {
+        carRepository.deleteById(id);
     }
 }
@@ -0,0 +1,14 @@
+package com.example.carsharingapp.service.export;
+
+import com.example.carsharingapp.model.Payment;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+    long exportPayments(ExportFormat format, Payment.Status status, LocalDate from, LocalDate to,
+            OutputStream output) throws IOException;
+
+    long exportRentals(ExportFormat format, Boolean isActive, LocalDate from, LocalDate to,
+            OutputStream output) throws IOException;
+}
@@ -0,0 +1,69 @@
+package com.example.carsharingapp.service.export;
+
+import com.example.carsharingapp.config.ReplicaRead;
+import com.example.carsharingapp.dto.payment.PaymentDto;
+import com.example.carsharingapp.dto.rental.RentalExportDto;
+import com.example.carsharingapp.mapper.PaymentMapper;
+import com.example.carsharingapp.mapper.RentalMapper;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.repository.PaymentRepository;
+import com.example.carsharingapp.repository.RentalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+    private static final int CLEAR_INTERVAL = 1000;
+    private final PaymentRepository paymentRepository;
+    private final RentalRepository rentalRepository;
+    private final PaymentMapper paymentMapper;
+    private final RentalMapper rentalMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @Override
+    public long exportPayments(ExportFormat format, Payment.Status status, LocalDate from,
+            LocalDate to, OutputStream output) throws IOException {
+        try (Stream<Payment> payments = paymentRepository.streamAllForExport(status, from, to)) {
+            return export(format, PaymentDto.class, payments, paymentMapper::toDto, output);
+        }
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @Override
+    public long exportRentals(ExportFormat format, Boolean isActive, LocalDate from,
+            LocalDate to, OutputStream output) throws IOException {
+        try (Stream<Rental> rentals = rentalRepository.streamAllForExport(isActive, from, to)) {
+            return export(format, RentalExportDto.class, rentals, rentalMapper::toExportDto,
+                    output);
+        }
+    }
+
+    private <E, T> long export(ExportFormat format, Class<T> rowType, Stream<E> entities,
+            Function<E, T> mapper, OutputStream output) throws IOException {
+        long exported = 0;
+        try (SequenceWriter writer = format.writer(objectMapper, rowType).writeValues(output)) {
+            for (E entity : (Iterable<E>) entities::iterator) {
+                writer.write(mapper.apply(entity));
+                if (++exported % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return exported;
+    }
+}
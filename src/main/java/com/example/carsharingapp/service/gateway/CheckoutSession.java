@@ -0,0 +1,21 @@
+package com.example.carsharingapp.service.gateway;
+
+public record CheckoutSession(String id, String url, String status, String paymentStatus) {
+    public static final String STATUS_OPEN = "open";
+    public static final String STATUS_COMPLETE = "complete";
+    public static final String STATUS_EXPIRED = "expired";
+    public static final String PAYMENT_STATUS_PAID = "paid";
+    public static final String PAYMENT_STATUS_UNPAID = "unpaid";
+
+    public boolean isOpen() {
+        return STATUS_OPEN.equals(status);
+    }
+
+    public boolean isExpired() {
+        return STATUS_EXPIRED.equals(status);
+    }
+
+    public boolean isPaid() {
+        return PAYMENT_STATUS_PAID.equals(paymentStatus);
+    }
+}
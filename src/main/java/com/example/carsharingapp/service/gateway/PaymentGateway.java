@@ -0,0 +1,9 @@
+package com.example.carsharingapp.service.gateway;
+
+import java.math.BigDecimal;
+
+public interface PaymentGateway {
+    CheckoutSession createCheckoutSession(BigDecimal amount, String successUrl, String cancelUrl);
+
+    CheckoutSession getSession(String sessionId);
+}
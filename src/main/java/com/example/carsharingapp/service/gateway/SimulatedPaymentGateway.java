@@ -0,0 +1,93 @@
+package com.example.carsharingapp.service.gateway;
+
+import static com.example.carsharingapp.config.MetricsConfig.EXTERNAL_CALL_TIMER;
+
+import com.example.carsharingapp.exception.PaymentGatewayException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile(SimulatedPaymentGateway.PROFILE)
+public class SimulatedPaymentGateway implements PaymentGateway {
+    public static final String PROFILE = "simulated-payments";
+    private static final String SESSION_ID_PLACEHOLDER = "{CHECKOUT_SESSION_ID}";
+    private final Cache<String, CheckoutSession> sessions;
+    private final long latencyMillis;
+    private final double failureRate;
+    private final boolean autoComplete;
+
+    public SimulatedPaymentGateway(
+            @Value("${payment.gateway.simulated.latency}") long latencyMillis,
+            @Value("${payment.gateway.simulated.failure-rate}") double failureRate,
+            @Value("${payment.gateway.simulated.auto-complete}") boolean autoComplete,
+            @Value("${payment.gateway.simulated.session-ttl}") Duration sessionTtl,
+            @Value("${payment.gateway.simulated.max-sessions}") long maxSessions) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterWrite(sessionTtl)
+                .build();
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+        this.autoComplete = autoComplete;
+    }
+
+    @Timed(value = EXTERNAL_CALL_TIMER, extraTags = {"target", "simulated"}, histogram = true)
+    @Override
+    public CheckoutSession createCheckoutSession(BigDecimal amount, String successUrl,
+            String cancelUrl) {
+        simulateCall();
+        String sessionId = "cs_sim_" + UUID.randomUUID();
+        CheckoutSession session = new CheckoutSession(sessionId,
+                successUrl.replace(SESSION_ID_PLACEHOLDER, sessionId),
+                CheckoutSession.STATUS_OPEN, CheckoutSession.PAYMENT_STATUS_UNPAID);
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    @Timed(value = EXTERNAL_CALL_TIMER, extraTags = {"target", "simulated"}, histogram = true)
+    @Override
+    public CheckoutSession getSession(String sessionId) {
+        simulateCall();
+        if (autoComplete) {
+            complete(sessionId);
+        }
+        CheckoutSession session = sessions.getIfPresent(sessionId);
+        if (session == null) {
+            throw new PaymentGatewayException("No such checkout session: " + sessionId);
+        }
+        return session;
+    }
+
+    public void complete(String sessionId) {
+        sessions.asMap().computeIfPresent(sessionId, (id, session) -> new CheckoutSession(id,
+                session.url(), CheckoutSession.STATUS_COMPLETE,
+                CheckoutSession.PAYMENT_STATUS_PAID));
+    }
+
+    public void expire(String sessionId) {
+        sessions.asMap().computeIfPresent(sessionId, (id, session) -> new CheckoutSession(id,
+                session.url(), CheckoutSession.STATUS_EXPIRED, session.paymentStatus()));
+    }
+
+    private void simulateCall() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException("Interrupted during simulated payment call", e);
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new PaymentGatewayException("Simulated payment gateway failure");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.carsharingapp.service.gateway;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.net.HttpClient;
+import com.stripe.net.HttpContent;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class StripeHttpClient extends HttpClient {
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade");
+    private final java.net.http.HttpClient httpClient;
+
+    StripeHttpClient(Duration connectTimeout) {
+        this.httpClient = java.net.http.HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws ApiConnectionException {
+        try {
+            HttpResponse<String> response = httpClient.send(toHttpRequest(request),
+                    HttpResponse.BodyHandlers.ofString());
+            return new StripeResponse(response.statusCode(),
+                    HttpHeaders.of(response.headers().map()), response.body());
+        } catch (IOException | URISyntaxException e) {
+            throw new ApiConnectionException("IOException during API request to Stripe ("
+                    + request.url() + "): " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiConnectionException("Interrupted during API request to Stripe", e);
+        }
+    }
+
+    private HttpRequest toHttpRequest(StripeRequest request) throws URISyntaxException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.url().toURI())
+                .header("User-Agent", buildUserAgentString(request))
+                .header("X-Stripe-Client-User-Agent", buildXStripeClientUserAgentString());
+        Integer readTimeout = request.options().getReadTimeout();
+        if (readTimeout != null && readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+        for (Map.Entry<String, List<String>> header : request.headers().map().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                header.getValue().forEach(value -> builder.header(header.getKey(), value));
+            }
+        }
+        HttpContent content = request.content();
+        if (content == null) {
+            return builder.method(request.method().name(), HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+        return builder.header("Content-Type", content.contentType())
+                .method(request.method().name(),
+                        HttpRequest.BodyPublishers.ofByteArray(content.byteArrayContent()))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.carsharingapp.service.gateway;
+
+import static com.example.carsharingapp.config.MetricsConfig.EXTERNAL_CALL_TIMER;
+
+import com.example.carsharingapp.exception.PaymentGatewayException;
+import com.stripe.StripeClient;
+import com.stripe.exception.StripeException;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Authenticator;
+import com.stripe.net.BearerTokenAuthenticator;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.StripeResponseGetterOptions;
+import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.annotation.Timed;
+import java.math.BigDecimal;
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!" + SimulatedPaymentGateway.PROFILE)
+public class StripePaymentGateway implements PaymentGateway {
+    private final StripeClient stripeClient;
+
+    public StripePaymentGateway(@Value("${stripe.secret.key}") String secretKey,
+            @Value("${stripe.api-base}") String apiBase,
+            @Value("${stripe.connect-timeout}") int connectTimeoutMillis,
+            @Value("${stripe.read-timeout}") int readTimeoutMillis,
+            @Value("${stripe.max-network-retries}") int maxNetworkRetries) {
+        ClientOptions options = new ClientOptions(new BearerTokenAuthenticator(secretKey),
+                apiBase, connectTimeoutMillis, readTimeoutMillis, maxNetworkRetries);
+        this.stripeClient = new StripeClient(new LiveStripeResponseGetter(options,
+                new StripeHttpClient(Duration.ofMillis(connectTimeoutMillis))));
+    }
+
+    @Timed(value = EXTERNAL_CALL_TIMER, extraTags = {"target", "stripe"}, histogram = true)
+    @Override
+    public CheckoutSession createCheckoutSession(BigDecimal amount, String successUrl,
+            String cancelUrl) {
+        SessionCreateParams params = SessionCreateParams.builder()
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .addLineItem(SessionCreateParams.LineItem.builder()
+                        .setQuantity(1L)
+                        .setPriceData(SessionCreateParams.LineItem.PriceData.builder()
+                                .setCurrency("usd")
+                                .setUnitAmount(amount.multiply(BigDecimal.valueOf(100))
+                                        .longValue()) // in cents
+                                .setProductData(
+                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
+                                                .setName("Car Rental Payment")
+                                                .build())
+                                .build())
+                        .build())
+                .setSuccessUrl(successUrl)
+                .setCancelUrl(cancelUrl)
+                .build();
+        try {
+            return toCheckoutSession(stripeClient.v1().checkout().sessions().create(params));
+        } catch (StripeException e) {
+            throw new PaymentGatewayException(
+                    "Failed to create Stripe session: " + e.getMessage(), e);
+        }
+    }
+
+    @Timed(value = EXTERNAL_CALL_TIMER, extraTags = {"target", "stripe"}, histogram = true)
+    @Override
+    public CheckoutSession getSession(String sessionId) {
+        try {
+            return toCheckoutSession(stripeClient.v1().checkout().sessions().retrieve(sessionId));
+        } catch (StripeException e) {
+            throw new PaymentGatewayException(
+                    "Failed to retrieve Stripe session: " + e.getMessage(), e);
+        }
+    }
+
+    private CheckoutSession toCheckoutSession(Session session) {
+        return new CheckoutSession(session.getId(), session.getUrl(), session.getStatus(),
+                session.getPaymentStatus());
+    }
+
+    private static final class ClientOptions extends StripeResponseGetterOptions {
+        private final Authenticator authenticator;
+        private final String apiBase;
+        private final int connectTimeout;
+        private final int readTimeout;
+        private final int maxNetworkRetries;
+
+        private ClientOptions(Authenticator authenticator, String apiBase, int connectTimeout,
+                int readTimeout, int maxNetworkRetries) {
+            this.authenticator = authenticator;
+            this.apiBase = apiBase;
+            this.connectTimeout = connectTimeout;
+            this.readTimeout = readTimeout;
+            this.maxNetworkRetries = maxNetworkRetries;
+        }
+
+        @Override
+        public Authenticator getAuthenticator() {
+            return authenticator;
+        }
+
+        @Override
+        public String getClientId() {
+            return null;
+        }
+
+        @Override
+        public int getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        @Override
+        public Proxy getConnectionProxy() {
+            return null;
+        }
+
+        @Override
+        public int getMaxNetworkRetries() {
+            return maxNetworkRetries;
+        }
+
+        @Override
+        public PasswordAuthentication getProxyCredential() {
+            return null;
+        }
+
+        @Override
+        public String getApiBase() {
+            return apiBase;
+        }
+
+        @Override
+        public String getFilesBase() {
+            return com.stripe.Stripe.UPLOAD_API_BASE;
+        }
+
+        @Override
+        public String getConnectBase() {
+            return com.stripe.Stripe.CONNECT_API_BASE;
+        }
+
+        @Override
+        public String getMeterEventsBase() {
+            return com.stripe.Stripe.METER_EVENTS_API_BASE;
+        }
+
+        @Override
+        public int getReadTimeout() {
+            return readTimeout;
+        }
+
+        @Override
+        public String getStripeAccount() {
+            return null;
+        }
+
+        @Override
+        public String getStripeContext() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.carsharingapp.service.outbox;
+
+import com.example.carsharingapp.model.OutboxEvent;
+
+public interface OutboxService {
+    void record(OutboxEvent.Type type, String idempotencyKey, String payload);
+
+    void relayPendingEvents();
+}
@@ -0,0 +1,111 @@
+package com.example.carsharingapp.service.outbox;
+
+import com.example.carsharingapp.model.OutboxEvent;
+import com.example.carsharingapp.repository.OutboxEventRepository;
+import com.example.carsharingapp.service.NotificationService;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxServiceImpl.class);
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${outbox.relay.batch-size}")
+    private int batchSize;
+    @Value("${outbox.relay.delivery-timeout}")
+    private long deliveryTimeoutMillis;
+    @Value("${outbox.relay.claim-timeout}")
+    private long claimTimeoutMillis;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void record(OutboxEvent.Type type, String idempotencyKey, String payload) {
+        int inserted = outboxEventRepository.insertIfAbsent(type.name(), idempotencyKey,
+                payload, LocalDateTime.now());
+        if (inserted == 0) {
+            LOGGER.info("Skipping duplicate outbox event {}", idempotencyKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval}")
+    @Override
+    public void relayPendingEvents() {
+        List<OutboxEvent> events = claimBatch();
+        while (!events.isEmpty()) {
+            List<Long> publishedIds = publish(events);
+            List<Long> failedIds = events.stream()
+                    .map(OutboxEvent::getId)
+                    .filter(id -> !publishedIds.contains(id))
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!publishedIds.isEmpty()) {
+                    outboxEventRepository.markPublished(publishedIds, LocalDateTime.now());
+                }
+                if (!failedIds.isEmpty()) {
+                    outboxEventRepository.release(failedIds);
+                }
+            });
+            if (!failedIds.isEmpty() || events.size() < batchSize) {
+                return;
+            }
+            events = claimBatch();
+        }
+    }
+
+    /**
+     * Leases the next unpublished events to this node. Rows locked by another node's claim are
+     * skipped instead of waited for, and the lease outlives the delivery timeout, so no two
+     * nodes send the same event unless a node dies mid-delivery.
+     */
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository
+                    .findUnclaimedForUpdate(now, batchSize);
+            if (!events.isEmpty()) {
+                outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(),
+                        now.plus(claimTimeoutMillis, ChronoUnit.MILLIS));
+            }
+            return events;
+        });
+    }
+
+    private List<Long> publish(List<OutboxEvent> events) {
+        Map<Long, CompletableFuture<Void>> deliveries = new LinkedHashMap<>();
+        events.forEach(event -> deliveries.put(event.getId(),
+                notificationService.deliver(event.getPayload())));
+        try {
+            CompletableFuture.allOf(deliveries.values().toArray(CompletableFuture[]::new))
+                    .get(deliveryTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("Not all outbox events were delivered, they will be retried: {}",
+                    e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return deliveries.entrySet().stream()
+                .filter(delivery -> delivery.getValue().isDone()
+                        && !delivery.getValue().isCompletedExceptionally())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.carsharingapp.service.pagination;
+
+import com.example.carsharingapp.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class PageCursor {
+    private static final String SEPARATOR = ":";
+    private final String[] keys;
+
+    private PageCursor(String[] keys) {
+        this.keys = keys;
+    }
+
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public static String encode(Object... keys) {
+        String joined = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor, int keyCount) {
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (keys.length != keyCount) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+            return new PageCursor(keys);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static <E> String next(List<E> rows, int size, Function<E, String> cursorOf) {
+        return rows.size() > size ? cursorOf.apply(rows.get(size - 1)) : null;
+    }
+
+    public Long longKey(int index) {
+        try {
+            return Long.valueOf(keys[index]);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid page cursor key: " + keys[index]);
+        }
+    }
+
+    public LocalDate dateKey(int index) {
+        try {
+            return LocalDate.parse(keys[index]);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor key: " + keys[index]);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.carsharingapp.service.payment;
+
+import com.example.carsharingapp.model.Payment.Type;
+import com.example.carsharingapp.model.Rental;
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+
+public final class PaymentAmountCalculator {
+    private static final double OVERDUE_MULTIPLIER = 1.5;
+
+    private PaymentAmountCalculator() {
+    }
+
+    public static BigDecimal calculate(Rental rental, Type type) {
+        if (type == Type.PAYMENT) {
+            long days = ChronoUnit.DAYS.between(
+                    rental.getRentalDate(),
+                    rental.getReturnDate());
+            if (days < 1) {
+                days = 1;
+            }
+            return rental.getCar().getDailyFee().multiply(BigDecimal.valueOf(days));
+        } else if (type == Type.FINE) {
+            if (rental.getActualReturnDate() == null || rental.getReturnDate() == null) {
+                throw new IllegalStateException("Cannot calculate fine without return dates");
+            }
+            long overdueDays = ChronoUnit.DAYS.between(
+                    rental.getReturnDate(),
+                    rental.getActualReturnDate()
+            );
+            if (overdueDays <= 0) {
+                throw new IllegalStateException("No overdue days for fine calculation");
+            }
+            return rental.getCar().getDailyFee()
+                    .multiply(BigDecimal.valueOf(overdueDays))
+                    .multiply(BigDecimal.valueOf(OVERDUE_MULTIPLIER));
+        }
+        throw new IllegalArgumentException("Unknown payment type: " + type);
+    }
+}
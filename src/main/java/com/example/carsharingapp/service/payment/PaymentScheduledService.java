@@ -1,39 +1,102 @@
 package com.example.carsharingapp.service.payment;
 
-import com.example.carsharingapp.model.Payment;
 import com.example.carsharingapp.model.Payment.Status;
 import com.example.carsharingapp.repository.PaymentRepository;
-import com.example.carsharingapp.service.StripeService;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
+import com.example.carsharingapp.repository.projection.PaymentSessionView;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentScheduledService {
     private static final Logger LOGGER = LoggerFactory.getLogger(PaymentScheduledService.class);
     private final PaymentRepository paymentRepository;
-    private final StripeService stripeService;
+    private final PaymentService paymentService;
+    private final PaymentGateway paymentGateway;
+    private final ExecutorService paymentReconciliationExecutor;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${payment.reconciliation.page-size}")
+    private int pageSize;
 
-    @Scheduled(fixedRate = 60000)
+    @Scheduled(fixedDelayString = "${payment.reconciliation.interval}")
     public void checkPaymentExpiration() {
-        List<Payment> pendingPayments = paymentRepository.findAllByStatus(Status.PENDING);
-        for (Payment payment : pendingPayments) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long lastId = 0;
+        List<PaymentSessionView> page;
+        do {
+            page = paymentRepository.findSessionViewsByStatusAfter(
+                    Status.PENDING, lastId, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> expiredIds = findExpired(page);
+            if (!expiredIds.isEmpty()) {
+                Integer updatedRows = transactionTemplate.execute(status -> paymentRepository
+                        .updateStatusByIds(expiredIds, Status.PENDING, Status.EXPIRED));
+                meterRegistry.counter("payment.reconciliation.payments.expired")
+                        .increment(updatedRows);
+            }
+            meterRegistry.counter("payment.reconciliation.sessions.checked")
+                    .increment(page.size());
+            lastId = page.get(page.size() - 1).id();
+        } while (page.size() == pageSize);
+        sample.stop(meterRegistry.timer("payment.reconciliation.duration"));
+    }
+
+    @Scheduled(fixedDelayString = "${payment.session.retry-interval}")
+    public void attachMissingSessions() {
+        paymentRepository.findAllByStatusAndSessionIdIsNullOrderByIdAsc(
+                        Status.PENDING, Limit.of(pageSize))
+                .forEach(payment -> paymentService.attachCheckoutSession(payment.getId()));
+    }
+
+    /**
+     * Checks the sessions of a page concurrently. Each check is bounded by the Stripe client's
+     * connect and read timeouts, which abort the HTTP call itself, so a slow session never
+     * keeps a reconciliation thread busy after the page has moved on.
+     */
+    private List<Long> findExpired(List<PaymentSessionView> payments) {
+        Map<PaymentSessionView, Future<Boolean>> checks = new LinkedHashMap<>();
+        payments.stream()
+                .filter(payment -> payment.sessionId() != null)
+                .forEach(payment -> checks.put(payment,
+                        paymentReconciliationExecutor.submit(() -> isExpired(payment))));
+        List<Long> expiredIds = new ArrayList<>();
+        for (Map.Entry<PaymentSessionView, Future<Boolean>> check : checks.entrySet()) {
             try {
-                Session session = stripeService.getSession(payment.getSessionId());
-                if ("expired".equals(session.getStatus())) {
-                    payment.setStatus(Status.EXPIRED);
-                    paymentRepository.save(payment);
+                if (check.getValue().get()) {
+                    expiredIds.add(check.getKey().id());
                 }
-            } catch (StripeException e) {
-                LOGGER.info("Error checking Stripe session {}: {}", payment.getSessionId(),
-                        e.getMessage());
+            } catch (ExecutionException e) {
+                LOGGER.info("Error checking checkout session {}: {}",
+                        check.getKey().sessionId(), e.getCause().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                checks.values().forEach(future -> future.cancel(true));
+                break;
             }
         }
+        return expiredIds;
+    }
+
+    private boolean isExpired(PaymentSessionView payment) {
+        return paymentGateway.getSession(payment.sessionId()).isExpired();
     }
 }
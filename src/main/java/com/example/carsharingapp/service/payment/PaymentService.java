@@ -1,7 +1,10 @@
 package com.example.carsharingapp.service.payment;
 
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
 import com.example.carsharingapp.dto.payment.PaymentDto;
+import com.example.carsharingapp.model.Rental;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -12,6 +15,12 @@ public interface PaymentService {
             Pageable pageable,
             Authentication authentication);
 
+    CursorPageDto<PaymentDto> findAllAfter(
+            Long userId,
+            String after,
+            int size,
+            Authentication authentication);
+
     PaymentDto findById(Long id, Authentication authentication);
 
     PaymentDto checkout(CreatePaymentSessionRequestDto requestDto, Authentication authentication);
@@ -21,4 +30,12 @@ public interface PaymentService {
     PaymentDto handleCancel(String sessionId);
 
     PaymentDto renewPaymentSession(Long paymentId, Authentication authentication);
+
+    void markPaid(List<String> sessionIds);
+
+    int markExpired(List<String> sessionIds);
+
+    void createPendingFine(Rental rental);
+
+    void attachCheckoutSession(Long paymentId);
 }
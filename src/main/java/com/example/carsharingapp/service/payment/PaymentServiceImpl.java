@@ -1,56 +1,119 @@
 package com.example.carsharingapp.service.payment;
 
+import static com.example.carsharingapp.config.MetricsConfig.SERVICE_METHOD_TIMER;
+
+import com.example.carsharingapp.config.ReplicaRead;
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
 import com.example.carsharingapp.dto.payment.PaymentDto;
 import com.example.carsharingapp.exception.AuthorityException;
 import com.example.carsharingapp.exception.EntityNotFoundException;
+import com.example.carsharingapp.exception.PaymentGatewayException;
 import com.example.carsharingapp.mapper.PaymentMapper;
+import com.example.carsharingapp.model.OutboxEvent;
 import com.example.carsharingapp.model.Payment;
 import com.example.carsharingapp.model.Payment.Status;
 import com.example.carsharingapp.model.Payment.Type;
 import com.example.carsharingapp.model.Rental;
-import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.repository.PaymentRepository;
 import com.example.carsharingapp.repository.RentalRepository;
-import com.example.carsharingapp.service.NotificationService;
-import com.example.carsharingapp.service.StripeService;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.service.gateway.CheckoutSession;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.pagination.PageCursor;
+import com.example.carsharingapp.service.template.MessageTemplate;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
-    private static final double OVERDUE_MULTIPLIER = 1.5;
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaymentServiceImpl.class);
+    private static final String SUCCESS_PATH =
+            "/api/payments/success?session_id={CHECKOUT_SESSION_ID}";
+    private static final String CANCEL_PATH =
+            "/api/payments/cancel?session_id={CHECKOUT_SESSION_ID}";
+    private static final MessageTemplate SUCCESSFUL_PAYMENT_MESSAGE = MessageTemplate.compile(
+            "✅ **SUCCESSFUL PAYMENT!** {typeDetail}\n\n"
+                    + "🔑 Payment ID: `{paymentId}`\n"
+                    + "💵 Amount Paid: `${amount}`\n"
+                    + "📅 Transaction Date: `{transactionDate}`\n"
+                    + "🔗 Session ID: `{sessionId}`\n\n"
+                    + "👤 User: {firstName} {lastName} (ID: `{userId}`)\n"
+                    + "⚙️ Car: {brand} {model} (ID: `{carId}`)\n"
+                    + "📝 Rental ID: `{rentalId}`",
+            "typeDetail", "paymentId", "amount", "transactionDate", "sessionId",
+            "firstName", "lastName", "userId", "brand", "model", "carId", "rentalId");
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
-    private final StripeService stripeService;
+    private final PaymentGateway paymentGateway;
     private final RentalRepository rentalRepository;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final ExecutorService paymentSessionExecutor;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
     @Value("${app.base.url}")
     private String baseUrl;
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @Override
     public Page<PaymentDto> findAll(Long userId, Pageable pageable, Authentication authentication) {
-        User principal = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
         Long currentUserId = principal.getId();
         Long actualUserIdFilter = isManager(authentication) ? userId : currentUserId;
 
-        return (actualUserIdFilter == null
-                ? paymentRepository.findAll(pageable)
-                : paymentRepository.findAllByRentalUserId(actualUserIdFilter, pageable))
-                .map(paymentMapper::toDto);
+        return actualUserIdFilter == null
+                ? paymentRepository.findAllDtos(pageable)
+                : paymentRepository.findAllDtosByRentalUserId(actualUserIdFilter, pageable);
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<PaymentDto> findAllAfter(Long userId, String after, int size,
+            Authentication authentication) {
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
+        Long actualUserIdFilter = isManager(authentication) ? userId : principal.getId();
+        Limit limit = Limit.of(size + 1);
+        List<PaymentDto> payments;
+        if (PageCursor.isFirstPage(after)) {
+            payments = actualUserIdFilter == null
+                    ? paymentRepository.findFirstDtos(limit)
+                    : paymentRepository.findFirstDtosByRentalUserId(actualUserIdFilter, limit);
+        } else {
+            Long lastId = PageCursor.decode(after, 1).longKey(0);
+            payments = actualUserIdFilter == null
+                    ? paymentRepository.findDtosAfter(lastId, limit)
+                    : paymentRepository.findDtosByRentalUserIdAfter(
+                            actualUserIdFilter, lastId, limit);
+        }
+        return new CursorPageDto<PaymentDto>()
+                .setContent(payments.stream()
+                        .limit(size)
+                        .toList())
+                .setNextCursor(PageCursor.next(payments, size,
+                        payment -> PageCursor.encode(payment.getId())));
     }
 
     @Override
@@ -58,6 +121,9 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = paymentRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find payment with id:" + id));
         validateUserAccessToRental(payment.getRental(), authentication);
+        if (payment.getStatus() == Status.PENDING && payment.getSessionId() == null) {
+            attachSession(payment);
+        }
         return paymentMapper.toDto(payment);
     }
 
@@ -67,7 +133,7 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     private void validateUserAccessToRental(Rental rental, Authentication authentication) {
-        User principal = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
         if (!isManager(authentication) && !rental.getUser().getId().equals(principal.getId())) {
             throw new AuthorityException(
                     "Access denied. You are not authorized to change this rental and its payment.");
@@ -88,16 +154,19 @@ public class PaymentServiceImpl implements PaymentService {
                 rentalId, type, Status.PENDING);
         if (existingPayment.isPresent()) {
             Payment pending = existingPayment.get();
-
+            if (pending.getSessionId() == null) {
+                throw new IllegalStateException(
+                        "A payment session is being created for this rental");
+            }
             try {
-                Session session = stripeService.getSession(pending.getSessionId());
-                if ("open".equals(session.getStatus())) {
+                CheckoutSession session = paymentGateway.getSession(pending.getSessionId());
+                if (session.isOpen()) {
                     throw new IllegalStateException(
                             "An active payment session already exists for this rental");
                 } else {
                     cancelPayment(pending);
                 }
-            } catch (StripeException e) {
+            } catch (PaymentGatewayException e) {
                 cancelPayment(pending);
             }
         }
@@ -113,22 +182,16 @@ public class PaymentServiceImpl implements PaymentService {
 
     private Payment createPaymentFromStripeSession(Rental rental, Type type,
             BigDecimal amountToPay) {
-        String successUrl = baseUrl + "/api/payments/success?session_id={CHECKOUT_SESSION_ID}";
-        String cancelUrl = baseUrl + "/api/payments/cancel?session_id={CHECKOUT_SESSION_ID}";
-        try {
-            Session session = stripeService.createCheckoutSession(
-                    amountToPay, successUrl, cancelUrl);
-            Payment payment = new Payment();
-            payment.setRental(rental);
-            payment.setStatus(Status.PENDING);
-            payment.setType(type);
-            payment.setSessionUrl(session.getUrl());
-            payment.setSessionId(session.getId());
-            payment.setAmountToPay(amountToPay);
-            return paymentRepository.save(payment);
-        } catch (StripeException e) {
-            throw new RuntimeException("Failed to create Stripe session: " + e.getMessage(), e);
-        }
+        CheckoutSession session = paymentGateway.createCheckoutSession(
+                amountToPay, baseUrl + SUCCESS_PATH, baseUrl + CANCEL_PATH);
+        Payment payment = new Payment();
+        payment.setRental(rental);
+        payment.setStatus(Status.PENDING);
+        payment.setType(type);
+        payment.setSessionUrl(session.url());
+        payment.setSessionId(session.id());
+        payment.setAmountToPay(amountToPay);
+        return paymentRepository.save(payment);
     }
 
     private Payment cancelPayment(Payment payment) {
@@ -136,6 +199,7 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.save(payment);
     }
 
+    @Timed(value = SERVICE_METHOD_TIMER, histogram = true)
     @Override
     public PaymentDto checkout(CreatePaymentSessionRequestDto requestDto,
             Authentication authentication) {
@@ -148,12 +212,13 @@ public class PaymentServiceImpl implements PaymentService {
         handleExistingPendingPayment(rental.getId(), requestDto.getType());
         validatePaymentNotAlreadyPaid(rental.getId(), requestDto.getType());
 
-        BigDecimal amountToPay = calculatePaymentAmount(rental, requestDto.getType());
+        BigDecimal amountToPay = PaymentAmountCalculator.calculate(rental, requestDto.getType());
         Payment savedPayment = createPaymentFromStripeSession(rental, requestDto.getType(),
                 amountToPay);
         return paymentMapper.toDto(savedPayment);
     }
 
+    @Timed(value = SERVICE_METHOD_TIMER, histogram = true)
     @Transactional
     @Override
     public PaymentDto handleSuccess(String sessionId) {
@@ -163,24 +228,17 @@ public class PaymentServiceImpl implements PaymentService {
         if (payment.getStatus() == Status.PAID) {
             return paymentMapper.toDto(payment);
         }
-        try {
-            Session session = stripeService.getSession(sessionId);
-            if (!"paid".equals(session.getPaymentStatus())) {
-                throw new IllegalStateException("Payment session exists but payment status is: "
-                        + session.getPaymentStatus());
-            }
-            payment.setStatus(Status.PAID);
-            Payment savedPayment = paymentRepository.save(payment);
-
-            notificationService.sendMessage(buildSuccessfulPaymentNotificationMessage(
-                    savedPayment.getRental(), savedPayment));
+        CheckoutSession session = paymentGateway.getSession(sessionId);
+        if (!session.isPaid()) {
+            throw new IllegalStateException("Payment session exists but payment status is: "
+                    + session.paymentStatus());
+        }
+        payment.setStatus(Status.PAID);
+        Payment savedPayment = paymentRepository.save(payment);
 
-            return paymentMapper.toDto(savedPayment);
+        recordPaymentPaid(savedPayment);
 
-        } catch (StripeException e) {
-            throw new RuntimeException(
-                    "Failed to verify payment with Stripe: " + e.getMessage(), e);
-        }
+        return paymentMapper.toDto(savedPayment);
     }
 
     @Override
@@ -211,82 +269,113 @@ public class PaymentServiceImpl implements PaymentService {
         if (payment.getStatus() == Status.PAID) {
             throw new IllegalStateException("Can't renew session for paid payment");
         }
-        if (payment.getStatus() == Status.PENDING) {
+        if (payment.getStatus() == Status.PENDING && payment.getSessionId() != null) {
             try {
-                Session session = stripeService.getSession(payment.getSessionId());
-                if ("open".equals(session.getStatus())) {
+                CheckoutSession session = paymentGateway.getSession(payment.getSessionId());
+                if (session.isOpen()) {
                     throw new IllegalStateException(
                             "There is nothing to renew. Session is still active");
                 }
                 payment = cancelPayment(payment);
-            } catch (StripeException e) {
+            } catch (PaymentGatewayException e) {
                 payment = cancelPayment(payment);
             }
         }
-        String successUrl = baseUrl + "/api/payments/success?session_id={CHECKOUT_SESSION_ID}";
-        String cancelUrl = baseUrl + "/api/payments/cancel?session_id={CHECKOUT_SESSION_ID}";
-        try {
-            Session session = stripeService.createCheckoutSession(
-                    payment.getAmountToPay(), successUrl, cancelUrl);
-            payment.setStatus(Status.PENDING);
-            payment.setSessionUrl(session.getUrl());
-            payment.setSessionId(session.getId());
-            paymentRepository.save(payment);
-        } catch (StripeException e) {
-            throw new RuntimeException("Failed to create Stripe session: " + e.getMessage(), e);
-        }
+        CheckoutSession session = paymentGateway.createCheckoutSession(
+                payment.getAmountToPay(), baseUrl + SUCCESS_PATH, baseUrl + CANCEL_PATH);
+        payment.setStatus(Status.PENDING);
+        payment.setSessionUrl(session.url());
+        payment.setSessionId(session.id());
+        paymentRepository.save(payment);
         return paymentMapper.toDto(payment);
     }
 
-    private BigDecimal calculatePaymentAmount(Rental rental, Payment.Type type) {
-        if (type == Type.PAYMENT) {
-            long days = ChronoUnit.DAYS.between(
-                    rental.getRentalDate(),
-                    rental.getReturnDate());
-            if (days < 1) {
-                days = 1;
-            }
-            return rental.getCar().getDailyFee().multiply(BigDecimal.valueOf(days));
-        } else if (type == Type.FINE) {
-            if (rental.getActualReturnDate() == null || rental.getReturnDate() == null) {
-                throw new IllegalStateException("Cannot calculate fine without return dates");
-            }
-            long overdueDays = ChronoUnit.DAYS.between(
-                    rental.getReturnDate(),
-                    rental.getActualReturnDate()
-            );
-            if (overdueDays <= 0) {
-                throw new IllegalStateException("No overdue days for fine calculation");
+    @Transactional
+    @Override
+    public void markPaid(List<String> sessionIds) {
+        List<Payment> payments = paymentRepository.findAllBySessionIdInAndStatus(
+                sessionIds, Status.PENDING);
+        payments.forEach(payment -> payment.setStatus(Status.PAID));
+        paymentRepository.saveAll(payments);
+        payments.forEach(this::recordPaymentPaid);
+    }
+
+    @Transactional
+    @Override
+    public int markExpired(List<String> sessionIds) {
+        return paymentRepository.updateStatusBySessionIds(
+                sessionIds, Status.PENDING, Status.EXPIRED);
+    }
+
+    @Transactional
+    @Override
+    public void createPendingFine(Rental rental) {
+        validatePaymentNotAlreadyPaid(rental.getId(), Type.FINE);
+        Payment payment = new Payment();
+        payment.setRental(rental);
+        payment.setStatus(Status.PENDING);
+        payment.setType(Type.FINE);
+        payment.setAmountToPay(PaymentAmountCalculator.calculate(rental, Type.FINE));
+        Long paymentId = paymentRepository.save(payment).getId();
+        Runnable attach = () -> paymentSessionExecutor.execute(
+                () -> attachCheckoutSession(paymentId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            attach.run();
+                        }
+                    });
+        } else {
+            attach.run();
+        }
+    }
+
+    @Override
+    public void attachCheckoutSession(Long paymentId) {
+        paymentRepository.findById(paymentId)
+                .filter(payment -> payment.getStatus() == Status.PENDING
+                        && payment.getSessionId() == null)
+                .ifPresent(this::attachSession);
+    }
+
+    private void attachSession(Payment payment) {
+        try {
+            CheckoutSession session = paymentGateway.createCheckoutSession(
+                    payment.getAmountToPay(), baseUrl + SUCCESS_PATH, baseUrl + CANCEL_PATH);
+            boolean attached = Boolean.TRUE.equals(transactionTemplate.execute(
+                    status -> paymentRepository.updateSessionIfAbsent(
+                            payment.getId(), session.id(), session.url()) == 1));
+            if (attached) {
+                payment.setSessionId(session.id());
+                payment.setSessionUrl(session.url());
             }
-            return rental.getCar().getDailyFee()
-                    .multiply(BigDecimal.valueOf(overdueDays))
-                    .multiply(BigDecimal.valueOf(OVERDUE_MULTIPLIER));
+        } catch (PaymentGatewayException e) {
+            LOGGER.warn("Failed to create checkout session for payment {}, will retry: {}",
+                    payment.getId(), e.getMessage());
         }
-        throw new IllegalArgumentException("Unknown payment type: " + type);
+    }
+
+    private void recordPaymentPaid(Payment payment) {
+        meterRegistry.counter("payment.paid", "type", payment.getType().name()).increment();
+        outboxService.record(OutboxEvent.Type.PAYMENT_PAID, "payment-paid:" + payment.getId(),
+                buildSuccessfulPaymentNotificationMessage(payment.getRental(), payment));
     }
 
     private String buildSuccessfulPaymentNotificationMessage(Rental rental, Payment payment) {
         String typeDetail = payment.getType() == Type.FINE ? "💰 FINE PAYMENT" :
                 "💳 RENTAL PAYMENT";
 
-        return String.format(
-                "✅ **SUCCESSFUL PAYMENT!** %s\n\n"
-                        + "🔑 Payment ID: `%d`\n"
-                        + "💵 Amount Paid: `$%.2f`\n"
-                        + "📅 Transaction Date: `%s`\n"
-                        + "🔗 Session ID: `%s`\n\n"
-                        + "👤 User: %s %s (ID: `%d`)\n"
-                        + "⚙️ Car: %s %s (ID: `%d`)\n"
-                        + "📝 Rental ID: `%d`",
+        return SUCCESSFUL_PAYMENT_MESSAGE.render(
                 typeDetail,
                 payment.getId(),
-                payment.getAmountToPay(),
+                payment.getAmountToPay().setScale(2, RoundingMode.HALF_UP),
                 LocalDate.now(),
                 payment.getSessionId(),
                 rental.getUser().getFirstName(), rental.getUser().getLastName(),
                 rental.getUser().getId(),
                 rental.getCar().getBrand(), rental.getCar().getModel(), rental.getCar().getId(),
-                rental.getId()
-        );
+                rental.getId());
     }
 }
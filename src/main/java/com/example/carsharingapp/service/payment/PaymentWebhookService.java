@@ -0,0 +1,7 @@
+package com.example.carsharingapp.service.payment;
+
+public interface PaymentWebhookService {
+    void ingest(String payload, String signature);
+
+    void processPendingEvents();
+}
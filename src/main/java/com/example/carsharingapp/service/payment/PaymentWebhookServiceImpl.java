@@ -0,0 +1,112 @@
+package com.example.carsharingapp.service.payment;
+
+import com.example.carsharingapp.exception.WebhookException;
+import com.example.carsharingapp.model.Payment.Status;
+import com.example.carsharingapp.model.PaymentWebhookEvent;
+import com.example.carsharingapp.repository.PaymentWebhookEventRepository;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.StripeObject;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaymentWebhookServiceImpl.class);
+    private static final String SESSION_COMPLETED = "checkout.session.completed";
+    private static final String SESSION_ASYNC_PAYMENT_SUCCEEDED =
+            "checkout.session.async_payment_succeeded";
+    private static final String SESSION_EXPIRED = "checkout.session.expired";
+    private static final Set<String> HANDLED_EVENT_TYPES = Set.of(
+            SESSION_COMPLETED, SESSION_ASYNC_PAYMENT_SUCCEEDED, SESSION_EXPIRED);
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentService paymentService;
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+    @Value("${payment.webhook.batch-size}")
+    private int batchSize;
+
+    @Transactional
+    @Override
+    public void ingest(String payload, String signature) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new WebhookException("Invalid Stripe webhook signature", e);
+        }
+        if (!HANDLED_EVENT_TYPES.contains(event.getType())) {
+            return;
+        }
+        Session session = (Session) deserialize(event);
+        Status targetStatus = toTargetStatus(event.getType(), session);
+        if (targetStatus == null) {
+            return;
+        }
+        int inserted = webhookEventRepository.insertIfAbsent(event.getId(), session.getId(),
+                targetStatus.name(), LocalDateTime.now());
+        if (inserted == 0) {
+            LOGGER.info("Skipping duplicate Stripe event {}", event.getId());
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${payment.webhook.process-interval}")
+    @Override
+    public void processPendingEvents() {
+        List<PaymentWebhookEvent> events = webhookEventRepository
+                .findAllByProcessedFalseOrderByReceivedAt(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<Status, List<String>> sessionIdsByStatus = events.stream()
+                .collect(Collectors.groupingBy(PaymentWebhookEvent::getTargetStatus,
+                        Collectors.mapping(PaymentWebhookEvent::getSessionId,
+                                Collectors.toList())));
+        List<String> paidSessionIds = sessionIdsByStatus.get(Status.PAID);
+        if (paidSessionIds != null) {
+            paymentService.markPaid(paidSessionIds);
+        }
+        List<String> expiredSessionIds = sessionIdsByStatus.get(Status.EXPIRED);
+        if (expiredSessionIds != null) {
+            paymentService.markExpired(expiredSessionIds);
+        }
+        webhookEventRepository.markProcessed(events.stream()
+                .map(PaymentWebhookEvent::getEventId)
+                .toList());
+    }
+
+    private Status toTargetStatus(String eventType, Session session) {
+        return switch (eventType) {
+            case SESSION_COMPLETED -> "paid".equals(session.getPaymentStatus())
+                    ? Status.PAID
+                    : null;
+            case SESSION_ASYNC_PAYMENT_SUCCEEDED -> Status.PAID;
+            case SESSION_EXPIRED -> Status.EXPIRED;
+            default -> null;
+        };
+    }
+
+    private StripeObject deserialize(Event event) {
+        try {
+            return event.getDataObjectDeserializer().deserializeUnsafe();
+        } catch (Exception e) {
+            throw new WebhookException(
+                    "Can't deserialize Stripe event with id: " + event.getId(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.carsharingapp.service.rental;
 
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.rental.AddRentalRequestDto;
 import com.example.carsharingapp.dto.rental.RentalDto;
 import com.example.carsharingapp.dto.rental.RentalReturnDto;
@@ -16,6 +17,13 @@ public interface RentalService {
             Pageable pageable,
             Authentication authentication);
 
+    CursorPageDto<RentalDto> findAllAfter(
+            Long userId,
+            Boolean isActive,
+            String after,
+            int size,
+            Authentication authentication);
+
     RentalDto findById(Long id, Authentication authentication);
 
     RentalReturnDto setReturnDate(Long id, Authentication authentication);
@@ -1,6 +1,9 @@
 package com.example.carsharingapp.service.rental;
 
-import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
+import static com.example.carsharingapp.config.MetricsConfig.SERVICE_METHOD_TIMER;
+
+import com.example.carsharingapp.config.ReplicaRead;
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.rental.AddRentalRequestDto;
 import com.example.carsharingapp.dto.rental.RentalDto;
 import com.example.carsharingapp.dto.rental.RentalReturnDto;
@@ -9,18 +12,27 @@ import com.example.carsharingapp.exception.EntityNotFoundException;
 import com.example.carsharingapp.exception.RentalException;
 import com.example.carsharingapp.mapper.RentalMapper;
 import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.OutboxEvent;
 import com.example.carsharingapp.model.Payment.Status;
-import com.example.carsharingapp.model.Payment.Type;
 import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.repository.CarRepository;
 import com.example.carsharingapp.repository.PaymentRepository;
 import com.example.carsharingapp.repository.RentalRepository;
-import com.example.carsharingapp.service.NotificationService;
-import com.example.carsharingapp.service.car.CarService;
+import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.repository.projection.RentalView;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.service.availability.AvailabilityService;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.pagination.PageCursor;
 import com.example.carsharingapp.service.payment.PaymentService;
+import com.example.carsharingapp.service.template.MessageTemplate;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -30,20 +42,47 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class RentalServiceImpl implements RentalService {
+    private static final MessageTemplate RENTAL_CREATED_MESSAGE = MessageTemplate.compile(
+            "📢 **New Rental Created!** 🚗\n"
+                    + "👤 User: {firstName} {lastName} (ID: `{userId}`)\n"
+                    + "⚙️ Car: {brand} {model} (ID: `{carId}`)\n"
+                    + "🗓️ Rental Date: `{rentalDate}`\n"
+                    + "🔙 Expected Return: `{returnDate}`",
+            "firstName", "lastName", "userId", "brand", "model", "carId",
+            "rentalDate", "returnDate");
+    private static final MessageTemplate CAR_RETURNED_MESSAGE = MessageTemplate.compile(
+            "✅ **Car Returned Successfully!** 📦\n"
+                    + "⚙️ Car: {brand} {model} (ID: `{carId}`)\n"
+                    + "👤 Renter: {firstName} {lastName} (ID: `{userId}`)\n"
+                    + "📅 Actual Return Date: `{actualReturnDate}`\n"
+                    + "🔑 Rental ID: `{rentalId}`",
+            "brand", "model", "carId", "firstName", "lastName", "userId",
+            "actualReturnDate", "rentalId");
+    private static final MessageTemplate FINE_ISSUED_MESSAGE = MessageTemplate.compile(
+            "💰 **Fine Issued!** ⚠️\n"
+                    + "👤 User: {firstName} {lastName} (ID: `{userId}`)\n"
+                    + "🔑 Rental ID: `{rentalId}`\n"
+                    + "🗓️ Expected Return: `{returnDate}`\n"
+                    + "❗ Car was returned late! A **FINE** payment has been issued. "
+                    + "Staff should follow up if payment is not completed.",
+            "firstName", "lastName", "userId", "rentalId", "returnDate");
     private final RentalRepository rentalRepository;
     private final RentalMapper rentalMapper;
     private final CarRepository carRepository;
-    private final CarService carService;
-    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final AvailabilityService availabilityService;
+    private final OutboxService outboxService;
     private final PaymentRepository paymentRepository;
     private final PaymentService paymentService;
+    private final MeterRegistry meterRegistry;
 
+    @Timed(value = SERVICE_METHOD_TIMER, histogram = true)
     @Transactional
     @Override
     public RentalDto addRental(AddRentalRequestDto requestDto, Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
         boolean doesUserHavePendingPayment = paymentRepository
-                .existsByRentalUserIdAndStatus(user.getId(), Status.PENDING);
+                .existsByRentalUserIdAndStatus(principal.getId(), Status.PENDING);
         if (doesUserHavePendingPayment) {
             throw new RentalException("Cannot proceed with a new rental. Please settle your "
                     + "existing **PENDING payment** first.");
@@ -52,22 +91,31 @@ public class RentalServiceImpl implements RentalService {
         Car car = carRepository.findById(carId).orElseThrow(
                 () -> new EntityNotFoundException(
                         "Can't find car with id: " + carId));
-        carService.updateInventory(car.getId(), -1);
+        User user = userRepository.findById(principal.getId()).orElseThrow(
+                () -> new EntityNotFoundException(
+                        "Can't find user with id: " + principal.getId()));
 
         Rental rental = rentalMapper.toModel(requestDto);
         rental.setUser(user);
         rental.setCar(car);
-        rental.setRentalDate(LocalDate.now());
+        rental.setRentalDate(requestDto.getRentalDate() == null
+                ? LocalDate.now()
+                : requestDto.getRentalDate());
+        availabilityService.reserve(car, rental.getRentalDate(), requestDto.getReturnDate());
         rentalRepository.save(rental);
 
-        notificationService.sendMessage(buildRentalCreatedNotificationMessage(rental, car, user));
+        outboxService.record(OutboxEvent.Type.RENTAL_CREATED, "rental-created:" + rental.getId(),
+                buildRentalCreatedNotificationMessage(rental, car, user));
+        meterRegistry.counter("rental.created").increment();
         return rentalMapper.toDto(rental);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @Override
     public Page<RentalDto> findAll(Long userId, Boolean isActive, Pageable pageable,
             Authentication authentication) {
-        User principal = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
         Long currentUserId = principal.getId();
         boolean isManager = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
@@ -77,16 +125,45 @@ public class RentalServiceImpl implements RentalService {
         } else {
             actualUserIdFilter = currentUserId;
         }
-        return rentalRepository.findAllByUserIdAndIsActive(
+        return rentalRepository.findViewsByUserIdAndIsActive(
                         actualUserIdFilter, isActive, pageable)
                 .map(rentalMapper::toDto);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<RentalDto> findAllAfter(Long userId, Boolean isActive, String after,
+            int size, Authentication authentication) {
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
+        boolean isManager = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
+        Long actualUserIdFilter = isManager ? userId : principal.getId();
+        List<RentalView> rentals;
+        if (PageCursor.isFirstPage(after)) {
+            rentals = rentalRepository.findFirstViewsByUserIdAndIsActive(
+                    actualUserIdFilter, isActive, Limit.of(size + 1));
+        } else {
+            PageCursor cursor = PageCursor.decode(after, 2);
+            rentals = rentalRepository.findViewsByUserIdAndIsActiveAfter(actualUserIdFilter,
+                    isActive, cursor.dateKey(0), cursor.longKey(1), Limit.of(size + 1));
+        }
+        return new CursorPageDto<RentalDto>()
+                .setContent(rentals.stream()
+                        .limit(size)
+                        .map(rentalMapper::toDto)
+                        .toList())
+                .setNextCursor(PageCursor.next(rentals, size,
+                        rental -> PageCursor.encode(rental.rentalDate(), rental.id())));
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @Override
     public RentalDto findById(Long id, Authentication authentication) {
         Rental rental = rentalRepository.findRentalById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find rental with id: " + id));
-        User principal = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
         boolean isManager = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
 
@@ -97,13 +174,14 @@ public class RentalServiceImpl implements RentalService {
         return rentalMapper.toDto(rental);
     }
 
+    @Timed(value = SERVICE_METHOD_TIMER, histogram = true)
     @Transactional
     @Override
     public RentalReturnDto setReturnDate(Long id, Authentication authentication) {
         Rental rental = rentalRepository.findRentalById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find rental with id: " + id));
 
-        User principal = (User) authentication.getPrincipal();
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) authentication.getPrincipal();
         boolean isManager = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
 
@@ -118,57 +196,41 @@ public class RentalServiceImpl implements RentalService {
         rental.setActualReturnDate(LocalDate.now());
         rentalRepository.save(rental);
         if (rental.getActualReturnDate().isAfter(rental.getReturnDate())) {
-            CreatePaymentSessionRequestDto fineRequest = new CreatePaymentSessionRequestDto();
-            fineRequest.setRentalId(rental.getId());
-            fineRequest.setType(Type.FINE);
-            paymentService.checkout(fineRequest, authentication);
-            notificationService.sendMessage(
+            paymentService.createPendingFine(rental);
+            outboxService.record(OutboxEvent.Type.FINE_ISSUED, "fine-issued:" + rental.getId(),
                     buildFinePaymentCreatedMessage(rental, rental.getUser()));
+            meterRegistry.counter("rental.fine.issued").increment();
         }
 
-        carService.updateInventory(rental.getCar().getId(), +1);
-        notificationService.sendMessage(buildCarReturnedNotificationMessage(rental, rental.getCar(),
-                rental.getUser()));
+        LocalDate firstUnusedDay = rental.getActualReturnDate().plusDays(1);
+        availabilityService.release(rental.getCar().getId(),
+                firstUnusedDay.isBefore(rental.getRentalDate())
+                        ? rental.getRentalDate()
+                        : firstUnusedDay,
+                rental.getReturnDate());
+        outboxService.record(OutboxEvent.Type.RENTAL_RETURNED,
+                "rental-returned:" + rental.getId(),
+                buildCarReturnedNotificationMessage(rental, rental.getCar(), rental.getUser()));
         return rentalMapper.toReturnDto(rental);
     }
 
     private String buildRentalCreatedNotificationMessage(Rental rental, Car car, User user) {
-        return String.format(
-                "📢 **New Rental Created!** 🚗\n"
-                        + "👤 User: %s %s (ID: `%d`)\n"
-                        + "⚙️ Car: %s %s (ID: `%d`)\n"
-                        + "🗓️ Rental Date: `%s`\n"
-                        + "🔙 Expected Return: `%s`",
+        return RENTAL_CREATED_MESSAGE.render(
                 user.getFirstName(), user.getLastName(), user.getId(),
                 car.getBrand(), car.getModel(), car.getId(),
-                rental.getRentalDate(), rental.getReturnDate()
-        );
+                rental.getRentalDate(), rental.getReturnDate());
     }
 
     private String buildCarReturnedNotificationMessage(Rental rental, Car car, User rentalUser) {
-        return String.format(
-                "✅ **Car Returned Successfully!** 📦\n"
-                        + "⚙️ Car: %s %s (ID: `%d`)\n"
-                        + "👤 Renter: %s %s (ID: `%d`)\n"
-                        + "📅 Actual Return Date: `%s`\n"
-                        + "🔑 Rental ID: `%d`",
+        return CAR_RETURNED_MESSAGE.render(
                 car.getBrand(), car.getModel(), car.getId(),
                 rentalUser.getFirstName(), rentalUser.getLastName(), rentalUser.getId(),
-                rental.getActualReturnDate(), rental.getId()
-        );
+                rental.getActualReturnDate(), rental.getId());
     }
 
     private String buildFinePaymentCreatedMessage(Rental rental, User user) {
-        return String.format(
-                "💰 **Fine Issued!** ⚠️\n"
-                        + "👤 User: %s %s (ID: `%d`)\n"
-                        + "🔑 Rental ID: `%d`\n"
-                        + "🗓️ Expected Return: `%s`\n"
-                        + "❗ Car was returned late! A **FINE** payment session has been created. "
-                        + "Staff should follow up if payment is not completed.",
+        return FINE_ISSUED_MESSAGE.render(
                 user.getFirstName(), user.getLastName(), user.getId(),
-                rental.getId(),
-                rental.getReturnDate()
-        );
+                rental.getId(), rental.getReturnDate());
     }
 }
@@ -0,0 +1,38 @@
+package com.example.carsharingapp.service.template;
+
+public final class MarkdownEscaper {
+    private static final String SPECIAL_CHARACTERS = "_*>[]()~`#+-=|{}!";
+    private static final boolean[] SPECIAL = new boolean[128];
+
+    static {
+        for (char c : SPECIAL_CHARACTERS.toCharArray()) {
+            SPECIAL[c] = true;
+        }
+    }
+
+    private MarkdownEscaper() {
+    }
+
+    public static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return escape(text, new StringBuilder(text.length() + 8)).toString();
+    }
+
+    public static StringBuilder escape(CharSequence text, StringBuilder buffer) {
+        if (text == null) {
+            return buffer;
+        }
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < SPECIAL.length && SPECIAL[c]) {
+                buffer.append(text, start, i).append('\\');
+                start = i;
+            }
+        }
+        return buffer.append(text, start, length);
+    }
+}
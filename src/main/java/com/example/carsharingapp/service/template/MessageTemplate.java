@@ -0,0 +1,90 @@
+package com.example.carsharingapp.service.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class MessageTemplate {
+    private static final String MARKDOWN_SUFFIX = ":md";
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final boolean[] escaped;
+    private final int argumentCount;
+    private final int literalLength;
+
+    private MessageTemplate(List<String> literals, List<Integer> argumentIndexes,
+            List<Boolean> escaped, int argumentCount) {
+        this.literals = literals.toArray(String[]::new);
+        this.argumentIndexes = argumentIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.escaped = new boolean[escaped.size()];
+        for (int i = 0; i < this.escaped.length; i++) {
+            this.escaped[i] = escaped.get(i);
+        }
+        this.argumentCount = argumentCount;
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static MessageTemplate compile(String template, String... argumentNames) {
+        List<String> names = Arrays.asList(argumentNames);
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+        List<Boolean> escaped = new ArrayList<>();
+        int position = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template: "
+                        + template);
+            }
+            String placeholder = template.substring(open + 1, close);
+            boolean markdown = placeholder.endsWith(MARKDOWN_SUFFIX);
+            String name = markdown
+                    ? placeholder.substring(0, placeholder.length() - MARKDOWN_SUFFIX.length())
+                    : placeholder;
+            int index = names.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {" + placeholder
+                        + "} in template: " + template);
+            }
+            literals.add(template.substring(position, open));
+            argumentIndexes.add(index);
+            escaped.add(markdown);
+            position = close + 1;
+            open = template.indexOf('{', position);
+        }
+        literals.add(template.substring(position));
+        return new MessageTemplate(literals, argumentIndexes, escaped, argumentNames.length);
+    }
+
+    public String render(Object... arguments) {
+        StringBuilder buffer = new StringBuilder(literalLength + 16 * argumentIndexes.length);
+        return renderTo(buffer, arguments).toString();
+    }
+
+    public StringBuilder renderTo(StringBuilder buffer, Object... arguments) {
+        if (arguments.length != argumentCount) {
+            throw new IllegalArgumentException("Expected " + argumentCount
+                    + " template arguments but got " + arguments.length);
+        }
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            buffer.append(literals[i]);
+            appendArgument(buffer, arguments[argumentIndexes[i]], escaped[i]);
+        }
+        return buffer.append(literals[literals.length - 1]);
+    }
+
+    private void appendArgument(StringBuilder buffer, Object argument, boolean markdown) {
+        if (argument instanceof Long number) {
+            buffer.append(number.longValue());
+        } else if (argument instanceof Integer number) {
+            buffer.append(number.intValue());
+        } else if (markdown) {
+            MarkdownEscaper.escape(argument == null ? null : argument.toString(), buffer);
+        } else if (argument instanceof CharSequence text) {
+            buffer.append(text);
+        } else {
+            buffer.append(argument);
+        }
+    }
+}
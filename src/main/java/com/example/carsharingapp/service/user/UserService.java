@@ -6,7 +6,7 @@ import com.example.carsharingapp.dto.user.UserDto;
 import com.example.carsharingapp.dto.user.UserRegistrationRequestDto;
 import com.example.carsharingapp.dto.user.UserRegistrationResponseDto;
 import com.example.carsharingapp.exception.RegistrationException;
-import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
 
 public interface UserService {
     UserRegistrationResponseDto register(UserRegistrationRequestDto requestDto)
@@ -14,8 +14,10 @@ public interface UserService {
 
     UserDto updateUserRole(Long userId, UpdateUserRoleRequestDto requestDto);
 
-    UserDto getMyProfileInfo(User user);
+    UserDto getMyProfileInfo(AuthenticatedPrincipal principal);
 
-    UserDto updateUserProfile(User user, UpdateUserProfileRequestDto requestDto);
+    UserDto updateUserProfile(AuthenticatedPrincipal principal,
+            UpdateUserProfileRequestDto requestDto);
 
+    void delete(Long userId);
 }
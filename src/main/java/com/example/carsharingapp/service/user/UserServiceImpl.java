@@ -1,5 +1,7 @@
 package com.example.carsharingapp.service.user;
 
+import static com.example.carsharingapp.config.CacheConfig.PRINCIPALS_CACHE;
+
 import com.example.carsharingapp.dto.user.UpdateUserProfileRequestDto;
 import com.example.carsharingapp.dto.user.UpdateUserRoleRequestDto;
 import com.example.carsharingapp.dto.user.UserDto;
@@ -11,7 +13,12 @@ import com.example.carsharingapp.mapper.UserMapper;
 import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.model.User.Role;
 import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.security.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -21,6 +28,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CacheManager cacheManager;
 
     @Override
     public UserRegistrationResponseDto register(UserRegistrationRequestDto requestDto)
@@ -36,28 +45,61 @@ public class UserServiceImpl implements UserService {
         return userMapper.toRegistrationResponseDto(savedUser);
     }
 
+    @CacheEvict(cacheNames = PRINCIPALS_CACHE, key = "#result.email")
     @Override
     public UserDto updateUserRole(Long userId, UpdateUserRoleRequestDto requestDto) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new EntityNotFoundException("Can't find user with id: " + userId));
         userMapper.updateRoleFromDto(requestDto, user);
-        userRepository.save(user);
+        revokeIssuedTokens(user);
         return userMapper.toDto(user);
     }
 
     @Override
-    public UserDto getMyProfileInfo(User user) {
-        User userFromDb = userRepository.findById(user.getId()).orElseThrow(
-                () -> new EntityNotFoundException("Can't find user with id: " + user.getId()));
+    public UserDto getMyProfileInfo(AuthenticatedPrincipal principal) {
+        User userFromDb = userRepository.findById(principal.getId()).orElseThrow(
+                () -> new EntityNotFoundException(
+                        "Can't find user with id: " + principal.getId()));
         return userMapper.toDto(userFromDb);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRINCIPALS_CACHE, key = "#principal.email"),
+            @CacheEvict(cacheNames = PRINCIPALS_CACHE, key = "#result.email")
+    })
     @Override
-    public UserDto updateUserProfile(User user, UpdateUserProfileRequestDto requestDto) {
-        User userFromDb = userRepository.findById(user.getId()).orElseThrow(
-                () -> new EntityNotFoundException("Can't find user with id: " + user.getId()));
+    public UserDto updateUserProfile(AuthenticatedPrincipal principal,
+            UpdateUserProfileRequestDto requestDto) {
+        User userFromDb = userRepository.findById(principal.getId()).orElseThrow(
+                () -> new EntityNotFoundException(
+                        "Can't find user with id: " + principal.getId()));
+        boolean isEmailChanged = !userFromDb.getEmail().equals(requestDto.getEmail());
+        boolean isPasswordChanged = !passwordEncoder.matches(
+                requestDto.getPassword(), userFromDb.getPassword());
         userMapper.updateUserProfileFromDto(requestDto, userFromDb);
-        userRepository.save(userFromDb);
+        if (isPasswordChanged) {
+            userFromDb.setPassword(passwordEncoder.encode(requestDto.getPassword()));
+        }
+        if (isEmailChanged || isPasswordChanged) {
+            revokeIssuedTokens(userFromDb);
+        } else {
+            userRepository.save(userFromDb);
+        }
         return userMapper.toDto(userFromDb);
     }
+
+    @Override
+    public void delete(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException("Can't find user with id: " + userId));
+        userRepository.delete(user);
+        tokenVersionRegistry.update(userId, user.getTokenVersion() + 1);
+        cacheManager.getCache(PRINCIPALS_CACHE).evict(user.getEmail());
+    }
+
+    private void revokeIssuedTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        tokenVersionRegistry.update(user.getId(), user.getTokenVersion());
+    }
 }
@@ -0,0 +1,157 @@
+package com.example.carsharingapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ReadReplicaRoutingTest {
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private Clock clock;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+    private Reads reads;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = database("primary");
+        DataSource replicaDataSource = database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        clock = mock(Clock.class);
+        lagMonitor = new ReplicaLagMonitor(primary, replica, MAX_LAG, clock);
+
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaFallbackDataSource(replicaDataSource,
+                primaryDataSource, lagMonitor));
+        routed = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Reads());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ReplicaReadAspect());
+        reads = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions of @ReplicaRead methods should go to a replica that "
+            + "has caught up, read-write transactions to the primary")
+    void transactions_ReplicaCaughtUp_ShouldRouteByReadOnlyFlag() {
+        when(clock.millis()).thenReturn(1_000L, 1_500L);
+        lagMonitor.checkLag();
+        replicate();
+        lagMonitor.checkLag();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", reads.onReplica(() -> readOnlyTransaction.execute(
+                status -> currentDatabase())));
+        assertEquals("primary", reads.onReplica(() -> readWriteTransaction.execute(
+                status -> currentDatabase())));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions outside a @ReplicaRead method should stay on the primary")
+    void unmarkedReadOnlyTransaction_ReplicaCaughtUp_ShouldUsePrimary() {
+        when(clock.millis()).thenReturn(1_000L, 1_500L);
+        lagMonitor.checkLag();
+        replicate();
+        lagMonitor.checkLag();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+        assertEquals("primary", reads.onPrimary(() -> readOnlyTransaction.execute(
+                status -> currentDatabase())));
+        assertEquals("replica", reads.onReplica(() -> readOnlyTransaction.execute(
+                status -> currentDatabase())));
+        assertFalse(ReplicaReadAspect.isReplicaRead());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should fall back to the primary "
+            + "while the replica lags behind")
+    void readOnlyTransaction_ReplicaLagging_ShouldUsePrimary() {
+        when(clock.millis()).thenReturn(1_000L, 1_500L, 5_000L);
+        lagMonitor.checkLag();
+        replicate();
+        lagMonitor.checkLag();
+        lagMonitor.checkLag();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", reads.onReplica(() -> readOnlyTransaction.execute(
+                status -> currentDatabase())));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should use the primary when the replica is unreachable")
+    void readOnlyTransaction_ReplicaUnreachable_ShouldUsePrimary() {
+        when(clock.millis()).thenReturn(1_000L, 1_500L);
+        lagMonitor.checkLag();
+        replicate();
+        lagMonitor.checkLag();
+        replica.execute("DROP TABLE replica_heartbeat");
+
+        lagMonitor.checkLag();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", reads.onReplica(() -> readOnlyTransaction.execute(
+                status -> currentDatabase())));
+    }
+
+    private String currentDatabase() {
+        return routed.queryForObject("SELECT name FROM instance", String.class);
+    }
+
+    private void replicate() {
+        replica.update("UPDATE replica_heartbeat SET beat = ? WHERE id = 1",
+                primary.queryForObject("SELECT beat FROM replica_heartbeat WHERE id = 1",
+                        Long.class));
+    }
+
+    private DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, "
+                + "beat BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO replica_heartbeat (id, beat) VALUES (1, 0)");
+        jdbcTemplate.execute("CREATE TABLE instance (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO instance (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    public static class Reads {
+        @ReplicaRead
+        public String onReplica(Supplier<String> read) {
+            return read.get();
+        }
+
+        public String onPrimary(Supplier<String> read) {
+            return read.get();
+        }
+    }
+}
@@ -223,6 +223,60 @@ public class CarControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @WithMockUser(username = MANAGER_EMAIL, roles = {"MANAGER"})
+    @Test
+    @DisplayName("Verify bulk addCars imports valid CSV rows and reports invalid ones")
+    void addCars_CsvWithInvalidRow_ShouldReportEveryRow() throws Exception {
+        String csv = """
+                brand,model,type,inventory,dailyFee
+                Ford,Focus,HATCHBACK,3,40.00
+                Ford,Kuga,TRUCK,3,40.00
+                Ford,Puma,SUV,2,45.00
+                """;
+
+        mockMvc.perform(post("/cars/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        assertEquals(3, carRepository.count());
+    }
+
+    @WithMockUser(username = MANAGER_EMAIL, roles = {"MANAGER"})
+    @Test
+    @DisplayName("Verify bulk updateCars updates existing cars and reports unknown ids")
+    void updateCars_JsonWithUnknownId_ShouldReportNotFound() throws Exception {
+        String json = """
+                [{"id": 1, "brand": "Tesla", "model": "Model 3", "type": "SEDAN",
+                  "inventory": 25, "dailyFee": 55.00},
+                 {"id": 999, "brand": "Tesla", "model": "Model Y", "type": "SUV",
+                  "inventory": 1, "dailyFee": 70.00}]
+                """;
+
+        mockMvc.perform(patch("/cars/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+
+        assertEquals(25, carRepository.findById(TEST_CAR_ID).orElseThrow().getInventory());
+    }
+
+    @WithMockUser(username = CUSTOMER_EMAIL, roles = {"CUSTOMER"})
+    @Test
+    @DisplayName("Verify bulk addCars when Customer returns 403 Forbidden")
+    void addCars_WithCustomerRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(post("/cars/bulk")
+                        .contentType("text/csv")
+                        .content("brand,model,type,inventory,dailyFee\n"))
+                .andExpect(status().isForbidden());
+    }
+
     @WithMockUser(username = MANAGER_EMAIL, roles = {"MANAGER"})
     @Test
     @DisplayName("Verify deleteCar when Manager deletes the car and returns 204 No Content")
@@ -5,16 +5,18 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.carsharingapp.annotation.WithMockCustomUser;
 import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
 import com.example.carsharingapp.model.Payment;
-import com.example.carsharingapp.service.StripeService;
+import com.example.carsharingapp.service.gateway.CheckoutSession;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.stripe.model.checkout.Session;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -50,13 +52,13 @@ public class PaymentControllerTest {
     private static final String TEST_SESSION_ID = "cs_test_session_123";
 
     @Autowired
-    private StripeService stripeService;
+    private PaymentGateway paymentGateway;
 
     static class MockConfig {
 
         @org.springframework.context.annotation.Bean
-        StripeService stripeService() {
-            return Mockito.mock(StripeService.class);
+        PaymentGateway paymentGateway() {
+            return Mockito.mock(PaymentGateway.class);
         }
     }
 
@@ -244,10 +246,10 @@ public class PaymentControllerTest {
     @Test
     @DisplayName("Verify success when valid session ID updates payment to PAID")
     void success_WithValidSessionId_ShouldReturnSuccessMessage() throws Exception {
-        Session mockSession = Mockito.mock(Session.class);
-        Mockito.when(mockSession.getPaymentStatus()).thenReturn("paid");
+        CheckoutSession mockSession = new CheckoutSession(TEST_SESSION_ID, null,
+                "complete", "paid");
 
-        Mockito.when(stripeService.getSession(TEST_SESSION_ID))
+        Mockito.when(paymentGateway.getSession(TEST_SESSION_ID))
                 .thenReturn(mockSession);
 
         mockMvc.perform(get(PAYMENT_ENDPOINT + "/success")
@@ -316,17 +318,16 @@ public class PaymentControllerTest {
     @DisplayName("Verify renewPaymentSession when Manager renews any payment")
     @WithMockCustomUser(email = MANAGER_EMAIL, role = "MANAGER")
     void renewPaymentSession_ManagerAccess_ShouldRenewAnyPayment() throws Exception {
-        Session mockExpiredSession = Mockito.mock(Session.class);
-        Mockito.when(mockExpiredSession.getStatus()).thenReturn("expired");
+        CheckoutSession mockExpiredSession = new CheckoutSession("cs_test_session_123", null,
+                "expired", "unpaid");
 
-        Session mockNewSession = Mockito.mock(Session.class);
-        Mockito.when(mockNewSession.getId()).thenReturn("cs_renew_mock_123");
-        Mockito.when(mockNewSession.getUrl()).thenReturn("http://mock-renew-url.com");
+        CheckoutSession mockNewSession = new CheckoutSession("cs_renew_mock_123",
+                "http://mock-renew-url.com", "open", "unpaid");
 
-        Mockito.when(stripeService.getSession("cs_test_session_123"))
+        Mockito.when(paymentGateway.getSession("cs_test_session_123"))
                 .thenReturn(mockExpiredSession);
 
-        Mockito.when(stripeService.createCheckoutSession(
+        Mockito.when(paymentGateway.createCheckoutSession(
                 Mockito.any(BigDecimal.class),
                 Mockito.anyString(),
                 Mockito.anyString()
@@ -347,4 +348,31 @@ public class PaymentControllerTest {
                         .with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("Verify exportPayments when Manager filters by status returns matching CSV rows")
+    @WithMockCustomUser(email = MANAGER_EMAIL, role = "MANAGER")
+    void exportPayments_WithManagerRole_ShouldStreamMatchingRowsAsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get(PAYMENT_ENDPOINT + "/export")
+                        .param("status", Payment.Status.PAID.name()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"payments.csv\""))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("amountToPay,id,rentalId,sessionId,sessionUrl,status,type", lines[0]);
+        assertEquals("150.00,2,2,cs_test_session_456,https://stripe.test/session_456,PAID,PAYMENT",
+                lines[1]);
+    }
+
+    @Test
+    @DisplayName("Verify exportPayments when Customer returns 403 Forbidden")
+    @WithMockCustomUser()
+    void exportPayments_WithCustomerRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(get(PAYMENT_ENDPOINT + "/export"))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -5,6 +5,8 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -193,4 +195,33 @@ public class RentalControllerTest {
                         .with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("Verify exportRentals when Manager filters returned rentals as NDJSON")
+    @WithMockCustomUser(email = MANAGER_EMAIL, role = "MANAGER")
+    void exportRentals_WithManagerRole_ShouldStreamMatchingRowsAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get(RENTAL_ENDPOINT + "/export")
+                        .param("format", "NDJSON")
+                        .param("isActive", "false"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"rentals.ndjson\""))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(1, lines.length);
+        JsonNode rental = objectMapper.readTree(lines[0]);
+        assertEquals(2L, rental.get("id").asLong());
+        assertEquals(MANAGER_EMAIL, rental.get("userEmail").asText());
+        assertEquals("Tesla", rental.get("carBrand").asText());
+    }
+
+    @Test
+    @DisplayName("Verify exportRentals when Customer returns 403 Forbidden")
+    @WithMockCustomUser()
+    void exportRentals_WithCustomerRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(get(RENTAL_ENDPOINT + "/export"))
+                .andExpect(status().isForbidden());
+    }
 }
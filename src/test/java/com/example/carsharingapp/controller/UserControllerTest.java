@@ -2,6 +2,7 @@ package com.example.carsharingapp.controller;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -260,4 +261,26 @@ public class UserControllerTest {
                         .content(jsonRequest))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("Verify delete when Manager deletes a customer returns 204 and hides the user")
+    @WithMockCustomUser(email = MANAGER_EMAIL, role = "MANAGER")
+    void delete_ManagerDeletesCustomer_ShouldReturn204NoContent() throws Exception {
+        mockMvc.perform(delete(USER_ENDPOINT + "/{userId}", CUSTOMER_ID)
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete(USER_ENDPOINT + "/{userId}", CUSTOMER_ID)
+                        .with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Verify delete when Customer deletes a user returns 403 Forbidden")
+    @WithMockCustomUser()
+    void delete_CustomerRole_ShouldReturn403Forbidden() throws Exception {
+        mockMvc.perform(delete(USER_ENDPOINT + "/{userId}", MANAGER_ID)
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -2,6 +2,7 @@ package com.example.carsharingapp.factory;
 
 import com.example.carsharingapp.annotation.WithMockCustomUser;
 import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,14 +15,11 @@ public class WithMockCustomUserSecurityContextFactory
     @Override
     public SecurityContext createSecurityContext(WithMockCustomUser customUser) {
 
-        User user = new User();
-        user.setId(customUser.id());
-        user.setEmail(customUser.email());
-        user.setPassword("password");
-        user.setRole(User.Role.valueOf(customUser.role()));
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(customUser.id(),
+                customUser.email(), User.Role.valueOf(customUser.role()));
 
         Authentication auth = new UsernamePasswordAuthenticationToken(
-                user, user.getPassword(), user.getAuthorities());
+                principal, "password", principal.getAuthorities());
 
         SecurityContext context = SecurityContextHolder.createEmptyContext();
         context.setAuthentication(auth);
@@ -0,0 +1,73 @@
+package com.example.carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class BatchInsertTest {
+    private static final int RENTALS = 100_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    @DisplayName("Importing 100 000 rentals should take one insert round trip per JDBC batch")
+    void persist_100000Rentals_ShouldInsertInBatches() {
+        User user = entityManager.persist(new User()
+                .setEmail("batch.user@example.com")
+                .setFirstName("Batch")
+                .setLastName("User")
+                .setPassword("password")
+                .setRole(User.Role.CUSTOMER));
+        Car car = entityManager.persist(new Car()
+                .setModel("Batch")
+                .setBrand("Insert")
+                .setType(Car.Type.SEDAN)
+                .setInventory(1)
+                .setDailyFee(BigDecimal.TEN));
+        entityManager.flush();
+        long insertsBefore = insertStatements();
+
+        for (int i = 1; i <= RENTALS; i++) {
+            entityManager.persist(new Rental()
+                    .setRentalDate(LocalDate.now())
+                    .setReturnDate(LocalDate.now().plusDays(i % 30))
+                    .setCar(entityManager.getEntityManager().getReference(Car.class, car.getId()))
+                    .setUser(entityManager.getEntityManager().getReference(User.class,
+                            user.getId())));
+            if (i % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+
+        assertEquals(RENTALS / batchSize, insertStatements() - insertsBefore);
+        assertEquals(RENTALS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM rentals WHERE car_id = ?", Integer.class, car.getId()));
+    }
+
+    private long insertStatements() {
+        return jdbcTemplate.queryForObject("SHOW SESSION STATUS LIKE 'Com_insert'",
+                (rs, rowNum) -> rs.getLong("Value"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.CarDailyAvailability;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CarDailyAvailabilityRepositoryTest {
+    private static final int FLEET_SIZE = 10;
+    private static final int CONCURRENT_RENTALS = 300;
+    private static final int THREADS = 32;
+    private static final LocalDate FROM = LocalDate.now().plusDays(1);
+    private static final LocalDate TO = FROM.plusDays(2);
+
+    @Autowired
+    private CarDailyAvailabilityRepository availabilityRepository;
+    @Autowired
+    private CarRepository carRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        car = new Car();
+        car.setBrand("Toyota");
+        car.setModel("Camry");
+        car.setType(Car.Type.SEDAN);
+        car.setDailyFee(BigDecimal.valueOf(50.00));
+        car.setInventory(FLEET_SIZE);
+        car = carRepository.save(car);
+        transactionTemplate.executeWithoutResult(
+                status -> availabilityRepository.insertMissingDays(car.getId(), FROM, TO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityRepository.deleteAll(reservedDays());
+        carRepository.deleteById(car.getId());
+    }
+
+    @Test
+    @DisplayName("insertMissingDays should add every day once and keep existing reservations")
+    void insertMissingDays_OverlappingWindow_ShouldKeepExistingDays() {
+        transactionTemplate.executeWithoutResult(status -> {
+            availabilityRepository.reserve(car.getId(), FROM, FROM, FLEET_SIZE);
+            availabilityRepository.insertMissingDays(car.getId(), FROM, TO.plusDays(1));
+        });
+
+        List<CarDailyAvailability> days = reservedDays();
+        assertEquals(4, days.size());
+        assertEquals(1, days.stream()
+                .filter(day -> day.getReservationDate().equals(FROM))
+                .findFirst().orElseThrow().getReserved());
+    }
+
+    @Test
+    @DisplayName("reserve should book the window up to exactly the fleet size")
+    void reserve_UpToFleetSize_ShouldUpdateEveryDay() {
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            Integer reservedDays = transactionTemplate.execute(status ->
+                    availabilityRepository.reserve(car.getId(), FROM, TO, FLEET_SIZE));
+            assertEquals(3, reservedDays);
+        }
+
+        assertTrue(reservedDays().stream().allMatch(day -> day.getReserved() == FLEET_SIZE));
+    }
+
+    @Test
+    @DisplayName("reserve should not touch days that are already fully booked")
+    void reserve_FullyBookedDay_ShouldSkipThatDay() {
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            transactionTemplate.execute(status ->
+                    availabilityRepository.reserve(car.getId(), TO, TO, FLEET_SIZE));
+        }
+
+        Integer reservedDays = transactionTemplate.execute(status ->
+                availabilityRepository.reserve(car.getId(), FROM, TO, FLEET_SIZE));
+
+        assertEquals(2, reservedDays);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify that hundreds of parallel rentals of the same car succeed exactly
+            'fleet size' times and never oversell a day.
+            """)
+    void reserve_ConcurrentRentals_ShouldNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_RENTALS; i++) {
+                results.add(executor.submit(() -> {
+                    startSignal.await();
+                    return transactionTemplate.execute(status ->
+                            availabilityRepository.reserve(car.getId(), FROM, FROM, FLEET_SIZE));
+                }));
+            }
+            startSignal.countDown();
+
+            int successfulRentals = 0;
+            for (Future<Integer> result : results) {
+                successfulRentals += result.get();
+            }
+
+            assertEquals(FLEET_SIZE, successfulRentals,
+                    "Exactly 'fleet size' rentals should succeed.");
+            assertTrue(reservedDays().stream().allMatch(day -> day.getReserved() <= FLEET_SIZE),
+                    "No day should be booked beyond the fleet size.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<CarDailyAvailability> reservedDays() {
+        return availabilityRepository.findAll().stream()
+                .filter(day -> day.getCarId().equals(car.getId()))
+                .toList();
+    }
+}
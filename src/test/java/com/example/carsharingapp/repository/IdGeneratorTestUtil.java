@@ -0,0 +1,16 @@
+package com.example.carsharingapp.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public final class IdGeneratorTestUtil {
+    private IdGeneratorTestUtil() {
+    }
+
+    public static long reserveIds(JdbcTemplate jdbcTemplate, String table, long count) {
+        Long firstId = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ?", Long.class, table);
+        jdbcTemplate.update("UPDATE id_generators SET next_val = next_val + ? "
+                + "WHERE sequence_name = ?", count, table);
+        return firstId;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.carsharingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.carsharingapp.model.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class OutboxEventRepositoryTest {
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("insertIfAbsent should ignore a second event with the same idempotency key")
+    void insertIfAbsent_DuplicateKey_ShouldInsertOnce() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int first = outboxEventRepository.insertIfAbsent(
+                OutboxEvent.Type.PAYMENT_PAID.name(), "payment-paid:1", "paid", now);
+        int second = outboxEventRepository.insertIfAbsent(
+                OutboxEvent.Type.PAYMENT_PAID.name(), "payment-paid:1", "paid", now);
+
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("markPublished should hide events from the unclaimed batch query")
+    void markPublished_PublishedEvents_ShouldNotBeReturnedAgain() {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.insertIfAbsent(
+                OutboxEvent.Type.RENTAL_CREATED.name(), "rental-created:1", "first", now);
+        outboxEventRepository.insertIfAbsent(
+                OutboxEvent.Type.RENTAL_RETURNED.name(), "rental-returned:1", "second", now);
+        List<OutboxEvent> pending = outboxEventRepository.findUnclaimedForUpdate(now, 10);
+
+        outboxEventRepository.markPublished(List.of(pending.get(0).getId()), now);
+        entityManager.clear();
+
+        List<OutboxEvent> remaining = outboxEventRepository.findUnclaimedForUpdate(now, 10);
+        assertEquals(2, pending.size());
+        assertEquals(List.of("second"), remaining.stream().map(OutboxEvent::getPayload).toList());
+        assertTrue(outboxEventRepository.findById(pending.get(0).getId()).orElseThrow()
+                .getPublishedAt() != null);
+    }
+
+    @Test
+    @DisplayName("""
+            claim should hide events from the unclaimed batch query until the lease ends,
+            and release should return them at once.
+            """)
+    void claim_LeasedEvents_ShouldNotBeReturnedUntilExpiredOrReleased() {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.insertIfAbsent(
+                OutboxEvent.Type.RENTAL_CREATED.name(), "rental-created:1", "first", now);
+        outboxEventRepository.insertIfAbsent(
+                OutboxEvent.Type.RENTAL_RETURNED.name(), "rental-returned:1", "second", now);
+        List<Long> ids = outboxEventRepository.findUnclaimedForUpdate(now, 10).stream()
+                .map(OutboxEvent::getId)
+                .toList();
+
+        outboxEventRepository.claim(ids, now.plusMinutes(2));
+        entityManager.clear();
+
+        assertTrue(outboxEventRepository.findUnclaimedForUpdate(now, 10).isEmpty());
+        assertEquals(2, outboxEventRepository
+                .findUnclaimedForUpdate(now.plusMinutes(3), 10).size());
+
+        outboxEventRepository.release(List.of(ids.get(1)));
+        entityManager.clear();
+
+        assertEquals(List.of("second"), outboxEventRepository.findUnclaimedForUpdate(now, 10)
+                .stream().map(OutboxEvent::getPayload).toList());
+    }
+}
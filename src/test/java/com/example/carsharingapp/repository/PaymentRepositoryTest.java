@@ -4,16 +4,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.example.carsharingapp.dto.payment.PaymentDto;
 import com.example.carsharingapp.model.Car;
 import com.example.carsharingapp.model.Payment;
 import com.example.carsharingapp.model.Payment.Status;
 import com.example.carsharingapp.model.Payment.Type;
 import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.repository.projection.PaymentSessionView;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +26,11 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -106,61 +112,87 @@ public class PaymentRepositoryTest {
     }
 
     @Test
-    @DisplayName("findAllByUserId should return only user1's payments")
-    void findAllByUserId_User1_ShouldReturnThreePayments() {
-        Page<Payment> result = paymentRepository.findAllByRentalUserId(user1.getId(), pageable);
+    @DisplayName("findAllBySessionIdInAndStatus should skip sessions that are no longer PENDING")
+    void findAllBySessionIdInAndStatus_MixedStatuses_ShouldReturnPendingOnly() {
+        List<Payment> result = paymentRepository.findAllBySessionIdInAndStatus(
+                List.of("session_1", "session_2", "session_3"), Status.PENDING);
+
+        assertEquals(1, result.size());
+        assertEquals("session_2", result.get(0).getSessionId());
+    }
+
+    @Test
+    @DisplayName("findAllDtosByRentalUserId should return only user1's payments")
+    void findAllDtosByRentalUserId_User1_ShouldReturnThreePayments() {
+        Page<PaymentDto> result = paymentRepository.findAllDtosByRentalUserId(user1.getId(),
+                pageable);
 
         assertEquals(3, result.getTotalElements(),
                 "User1 should have 3 payments");
-        assertTrue(result.stream().allMatch(p ->
+        assertTrue(findPayments(result).stream().allMatch(p ->
                         p.getRental().getUser().getId().equals(user1.getId())),
                 "All payments should belong to user1");
     }
 
     @Test
-    @DisplayName("findAllByUserId should return only user2's payments")
-    void findAllByUserId_User2_ShouldReturnTwoPayments() {
-        Page<Payment> result = paymentRepository.findAllByRentalUserId(user2.getId(), pageable);
+    @DisplayName("findAllDtosByRentalUserId should return only user2's payments")
+    void findAllDtosByRentalUserId_User2_ShouldReturnTwoPayments() {
+        Page<PaymentDto> result = paymentRepository.findAllDtosByRentalUserId(user2.getId(),
+                pageable);
 
         assertEquals(2, result.getTotalElements(),
                 "User2 should have 2 payments");
-        assertTrue(result.stream().allMatch(p ->
+        assertTrue(findPayments(result).stream().allMatch(p ->
                         p.getRental().getUser().getId().equals(user2.getId())),
                 "All payments should belong to user2");
     }
 
     @Test
-    @DisplayName("findAllByUserId should eager-load rental, user, and car")
-    void findAllByUserId_ShouldEagerLoadRelations() {
-        entityManager.clear();
-
-        Page<Payment> result = paymentRepository.findAllByRentalUserId(user1.getId(), pageable);
+    @DisplayName("findAllDtosByRentalUserId should return empty page for non-existing user")
+    void findAllDtosByRentalUserId_NonExistingUser_ShouldReturnEmptyPage() {
+        Page<PaymentDto> result = paymentRepository.findAllDtosByRentalUserId(999L, pageable);
 
-        assertFalse(result.isEmpty(), "Should have payments");
-        Payment payment = result.getContent().get(0);
-
-        assertEquals(user1.getId(), payment.getRental().getUser().getId());
-        assertEquals(car1.getId(), payment.getRental().getCar().getId());
+        assertEquals(0, result.getTotalElements(),
+                "Should return empty page for non-existing user");
+        assertTrue(result.getContent().isEmpty());
     }
 
     @Test
-    @DisplayName("findAllByUserId should return empty page for non-existing user")
-    void findAllByUserId_NonExistingUser_ShouldReturnEmptyPage() {
-        Page<Payment> result = paymentRepository.findAllByRentalUserId(999L, pageable);
+    @DisplayName("findAllDtosByRentalUserId should select DTOs without loading entities")
+    void findAllDtosByRentalUserId_User1_ShouldReturnDtosWithoutEntities() {
+        Page<PaymentDto> result = paymentRepository.findAllDtosByRentalUserId(user1.getId(),
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(3, result.getTotalElements());
+        PaymentDto payment = result.getContent().get(0);
+        assertEquals(rental1.getId(), payment.getRentalId());
+        assertEquals(Status.PAID, payment.getStatus());
+        assertEquals("session_1", payment.getSessionId());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount());
+    }
 
-        assertEquals(0, result.getTotalElements(),
-                "Should return empty page for non-existing user");
-        assertTrue(result.getContent().isEmpty());
+    @Test
+    @DisplayName("findFirstDtos and findDtosAfter should walk every payment once, newest first")
+    void findDtosAfter_WalkPages_ShouldReturnEveryPaymentOnce() {
+        List<PaymentDto> firstPage = paymentRepository.findFirstDtos(Limit.of(3));
+        List<PaymentDto> secondPage = paymentRepository.findDtosAfter(
+                firstPage.get(firstPage.size() - 1).getId(), Limit.of(3));
+
+        assertEquals(paymentRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).stream()
+                        .map(Payment::getId).toList(),
+                Stream.concat(firstPage.stream(), secondPage.stream())
+                        .map(PaymentDto::getId).toList());
     }
 
     @Test
-    @DisplayName("findAll should respect pagination")
-    void findAll_ShouldRespectPagination() {
+    @DisplayName("findAllDtos should respect pagination")
+    void findAllDtos_ShouldRespectPagination() {
         Pageable firstPage = PageRequest.of(0, 2);
         Pageable secondPage = PageRequest.of(1, 2);
 
-        Page<Payment> page1 = paymentRepository.findAll(firstPage);
-        Page<Payment> page2 = paymentRepository.findAll(secondPage);
+        Page<PaymentDto> page1 = paymentRepository.findAllDtos(firstPage);
+        Page<PaymentDto> page2 = paymentRepository.findAllDtos(secondPage);
 
         assertEquals(2, page1.getContent().size(),
                 "First page should have 2 payments");
@@ -168,8 +200,8 @@ public class PaymentRepositoryTest {
                 "Second page should have 2 payments");
         assertEquals(5, page1.getTotalElements(), "Total elements should be 5");
 
-        List<Long> page1Ids = page1.getContent().stream().map(Payment::getId).toList();
-        List<Long> page2Ids = page2.getContent().stream().map(Payment::getId).toList();
+        List<Long> page1Ids = page1.getContent().stream().map(PaymentDto::getId).toList();
+        List<Long> page2Ids = page2.getContent().stream().map(PaymentDto::getId).toList();
 
         assertTrue(page1Ids.stream().noneMatch(page2Ids::contains),
                 "Pages should contain different payments");
@@ -291,4 +323,59 @@ public class PaymentRepositoryTest {
 
         assertTrue(result.isEmpty(), "Should return empty list for CANCELLED status");
     }
+
+    @Test
+    @DisplayName("findSessionViewsByStatusAfter should page PENDING payment sessions by id")
+    void findSessionViewsByStatusAfter_KeysetPages_ShouldReturnEveryPendingOnce() {
+        List<PaymentSessionView> firstPage = paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, 0L, Limit.of(1));
+        List<PaymentSessionView> secondPage = paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, firstPage.get(0).id(), Limit.of(1));
+        List<PaymentSessionView> thirdPage = paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, secondPage.get(0).id(), Limit.of(1));
+
+        assertEquals("session_2", firstPage.get(0).sessionId());
+        assertEquals("session_4", secondPage.get(0).sessionId());
+        assertTrue(thirdPage.isEmpty(), "There should be no third page");
+    }
+
+    @Test
+    @DisplayName("updateStatusByIds should only expire payments that are still PENDING")
+    void updateStatusByIds_MixedStatuses_ShouldUpdateOnlyPending() {
+        List<Long> ids = paymentRepository.findAll().stream()
+                .map(Payment::getId)
+                .toList();
+
+        int updatedRows = paymentRepository.updateStatusByIds(ids, Status.PENDING,
+                Status.EXPIRED);
+
+        assertEquals(2, updatedRows, "Only the 2 PENDING payments should be expired");
+        assertTrue(paymentRepository.findAllByStatus(Status.PENDING).isEmpty());
+    }
+
+    @Test
+    @DisplayName("updateSessionIfAbsent should attach a session only to a fine without one")
+    void updateSessionIfAbsent_FineWithoutSession_ShouldAttachOnce() {
+        Payment fine = createPayment(rental1, Status.PENDING, Type.FINE, null);
+        fine.setSessionUrl(null);
+        entityManager.flush();
+
+        List<Payment> withoutSession = paymentRepository
+                .findAllByStatusAndSessionIdIsNullOrderByIdAsc(Status.PENDING, Limit.of(10));
+        final int firstUpdate = paymentRepository.updateSessionIfAbsent(
+                fine.getId(), "cs_first", "http://first.url");
+        final int secondUpdate = paymentRepository.updateSessionIfAbsent(
+                fine.getId(), "cs_second", "http://second.url");
+        entityManager.clear();
+
+        assertEquals(List.of(fine.getId()), withoutSession.stream().map(Payment::getId).toList());
+        assertEquals(1, firstUpdate);
+        assertEquals(0, secondUpdate);
+        assertEquals("cs_first",
+                paymentRepository.findById(fine.getId()).orElseThrow().getSessionId());
+    }
+
+    private List<Payment> findPayments(Page<PaymentDto> payments) {
+        return paymentRepository.findAllById(payments.map(PaymentDto::getId).toList());
+    }
 }
@@ -0,0 +1,250 @@
+package com.example.carsharingapp.repository;
+
+import static com.example.carsharingapp.repository.IdGeneratorTestUtil.reserveIds;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.example.carsharingapp.model.Payment.Status;
+import com.example.carsharingapp.model.Payment.Type;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanTest {
+    private static final int USERS = 10_000;
+    private static final int CARS = 1_000;
+    private static final int RENTALS = 1_000_000;
+    private static final String DIGITS = "WITH RECURSIVE digits(d) AS "
+            + "(SELECT 0 UNION ALL SELECT d + 1 FROM digits WHERE d < 9) ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private RentalRepository rentalRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private Long userId;
+    private Long rentalId;
+
+    @BeforeAll
+    void seedMillionRows() {
+        long firstUserId = reserveIds(jdbcTemplate, "users", USERS);
+        long firstCarId = reserveIds(jdbcTemplate, "cars", CARS);
+        long firstRentalId = reserveIds(jdbcTemplate, "rentals", RENTALS);
+        long firstPaymentId = reserveIds(jdbcTemplate, "payments", RENTALS);
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, password, "
+                + "role, token_version, is_deleted) " + DIGITS
+                + ", seq(n) AS (SELECT a.d + 10 * b.d + 100 * c.d + 1000 * e.d "
+                + "FROM digits a, digits b, digits c, digits e) "
+                + "SELECT ? + n, CONCAT('user', n, '@plan.test'), "
+                + "'Plan', 'User', 'password', 'CUSTOMER', 0, FALSE FROM seq", firstUserId);
+        jdbcTemplate.update("INSERT INTO cars (id, model, brand, type, inventory, daily_fee, "
+                + "is_deleted) " + DIGITS
+                + ", seq(n) AS (SELECT a.d + 10 * b.d + 100 * c.d "
+                + "FROM digits a, digits b, digits c) "
+                + "SELECT ? + n, CONCAT('Model ', n), 'QueryPlan', 'SEDAN', 5, 50, FALSE FROM seq",
+                firstCarId);
+        jdbcTemplate.update("INSERT INTO rentals (id, rental_date, return_date, "
+                + "actual_return_date, car_id, user_id, is_deleted) " + DIGITS
+                + ", seq(n) AS (SELECT a.d + 10 * b.d + 100 * c.d + 1000 * e.d + 10000 * f.d "
+                + "+ 100000 * g.d FROM digits a, digits b, digits c, digits e, digits f, digits g) "
+                + "SELECT ? + n, DATE_SUB(CURDATE(), INTERVAL n % 3650 DAY), "
+                + "DATE_SUB(CURDATE(), INTERVAL n % 3650 - 5 DAY), "
+                + "IF(n % 50 = 0, NULL, DATE_SUB(CURDATE(), INTERVAL n % 3650 - 5 DAY)), "
+                + "? + n % 1000, ? + n % 10000, FALSE FROM seq",
+                firstRentalId, firstCarId, firstUserId);
+        jdbcTemplate.update("INSERT INTO payments (id, status, type, rental_id, session_id, "
+                + "amount_to_pay, is_deleted) "
+                + "SELECT ? + r.id - ?, IF(r.id % 20 = 0, 'PENDING', 'PAID'), 'PAYMENT', r.id, "
+                + "CONCAT('cs_plan_', r.id), 100, FALSE FROM rentals r "
+                + "WHERE r.id BETWEEN ? AND ?",
+                firstPaymentId, firstRentalId, firstRentalId, firstRentalId + RENTALS - 1);
+        jdbcTemplate.execute("ANALYZE TABLE users, cars, rentals, payments");
+        userId = firstUserId;
+        rentalId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM rentals WHERE user_id = ?", Long.class, userId);
+    }
+
+    @AfterAll
+    void removeSeededRows() {
+        jdbcTemplate.update("DELETE FROM payments WHERE session_id LIKE 'cs_plan_%'");
+        jdbcTemplate.update("DELETE r FROM rentals r JOIN users u ON u.id = r.user_id "
+                + "WHERE u.email LIKE '%@plan.test'");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%@plan.test'");
+        jdbcTemplate.update("DELETE FROM cars WHERE brand = 'QueryPlan'");
+    }
+
+    @Test
+    @DisplayName("findOverdueRentals should not scan the whole rentals table")
+    void findOverdueRentals_ShouldUseIndex() {
+        assertNoFullTableScan(() -> rentalRepository.findOverdueRentals().close());
+        assertNoFullTableScan(() -> rentalRepository.countOverdueRentals());
+    }
+
+    @Test
+    @DisplayName("findViewsByUserIdAndIsActive should not scan the whole rentals table")
+    void findViewsByUserIdAndIsActive_ShouldUseIndex() {
+        assertNoFullTableScan(() -> rentalRepository.findViewsByUserIdAndIsActive(
+                userId, true, PageRequest.of(0, 20)));
+        assertNoFullTableScan(() -> rentalRepository.findViewsByUserIdAndIsActive(
+                userId, null, PageRequest.of(1, 20)));
+        assertNoFullTableScan(() -> rentalRepository.findFirstViewsByUserIdAndIsActive(
+                userId, null, Limit.of(21)));
+        assertNoFullTableScan(() -> rentalRepository.findViewsByUserIdAndIsActiveAfter(
+                userId, null, LocalDate.now(), Long.MAX_VALUE, Limit.of(21)));
+    }
+
+    @Test
+    @DisplayName("findAllDtosByRentalUserId should not scan the whole payments table")
+    void findAllDtosByRentalUserId_ShouldUseIndex() {
+        assertNoFullTableScan(() -> paymentRepository.findAllDtosByRentalUserId(
+                userId, PageRequest.of(1, 20)));
+        assertNoFullTableScan(() -> paymentRepository.findFirstDtosByRentalUserId(
+                userId, Limit.of(21)));
+        assertNoFullTableScan(() -> paymentRepository.findDtosByRentalUserIdAfter(
+                userId, Long.MAX_VALUE, Limit.of(21)));
+    }
+
+    @Test
+    @DisplayName("findBySessionId should not scan the whole payments table")
+    void findBySessionId_ShouldUseIndex() {
+        assertNoFullTableScan(() -> paymentRepository.findBySessionId("cs_plan_" + rentalId));
+    }
+
+    @Test
+    @DisplayName("findByRentalIdAndTypeAndStatus should not scan the whole payments table")
+    void findByRentalIdAndTypeAndStatus_ShouldUseIndex() {
+        assertNoFullTableScan(() -> paymentRepository.findByRentalIdAndTypeAndStatus(
+                rentalId, Type.PAYMENT, Status.PENDING));
+        assertNoFullTableScan(() -> paymentRepository.existsByRentalIdAndTypeAndStatusIn(
+                rentalId, Type.PAYMENT, List.of(Status.PAID)));
+    }
+
+    @Test
+    @DisplayName("existsByRentalUserIdAndStatus should not scan rentals or payments")
+    void existsByRentalUserIdAndStatus_ShouldUseIndex() {
+        assertNoFullTableScan(() -> paymentRepository.existsByRentalUserIdAndStatus(
+                userId, Status.PENDING));
+    }
+
+    private void assertNoFullTableScan(Runnable finder) {
+        List<RecordedStatement> statements = statementRecorder.record(finder);
+        assertFalse(statements.isEmpty(), "The finder did not run any query");
+        for (RecordedStatement statement : statements) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                    "EXPLAIN " + statement.sql(), statement.parameters().values().toArray());
+            plan.forEach(row -> assertNotEquals("ALL", row.get("type"),
+                    () -> "Full scan of " + row.get("table") + " in: " + statement.sql()));
+        }
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    static class StatementRecorder {
+        private static final Set<String> EXECUTE_METHODS =
+                Set.of("execute", "executeQuery", "executeUpdate");
+        private final List<RecordedStatement> statements = new ArrayList<>();
+        private boolean recording;
+
+        synchronized List<RecordedStatement> record(Runnable action) {
+            statements.clear();
+            recording = true;
+            try {
+                action.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(statements);
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, result, args) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, result, args) ->
+                    method.getName().equals("prepareStatement")
+                            ? wrap((PreparedStatement) result, (String) args[0]) : result);
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (method, result, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer index) {
+                    parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+                } else if (recording && EXECUTE_METHODS.contains(method.getName())) {
+                    statements.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        try {
+                            return handler.handle(method, method.invoke(target, args), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        private interface ResultHandler {
+            Object handle(Method method, Object result, Object[] args);
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor statementRecordingDataSource(StatementRecorder recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? recorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
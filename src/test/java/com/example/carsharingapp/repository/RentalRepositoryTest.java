@@ -6,10 +6,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.example.carsharingapp.model.Car;
 import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.repository.projection.CarRentalCount;
+import com.example.carsharingapp.repository.projection.RentalView;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +25,11 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -92,11 +101,11 @@ public class RentalRepositoryTest {
 
     @Test
     @DisplayName("""
-            Verify findAllByUserIdAndActualReturnDateStatus returns all rentals
+            Verify findViewsByUserIdAndIsActive returns all rentals
             when both userId and isActive status filters are null.
             """)
-    void findAllByUserIdAndActualReturnDateStatus_AllFiltersNull_ReturnsAllRentals() {
-        Page<Rental> result = rentalRepository.findAllByUserIdAndIsActive(
+    void findViewsByUserIdAndIsActive_AllFiltersNull_ReturnsAllRentals() {
+        Page<RentalView> result = rentalRepository.findViewsByUserIdAndIsActive(
                 null,
                 null,
                 pageable
@@ -108,69 +117,108 @@ public class RentalRepositoryTest {
 
     @Test
     @DisplayName("""
-            Verify findAllByUserIdAndActualReturnDateStatus returns only active rentals
+            Verify findViewsByUserIdAndIsActive returns only active rentals
             when isActive is true and userId is null. (Expected 4)
             """)
-    void findAllByUserIdAndActualReturnDateStatus_ActiveOnly_ReturnsFourRentals() {
-        Page<Rental> result = rentalRepository.findAllByUserIdAndIsActive(
+    void findViewsByUserIdAndIsActive_ActiveOnly_ReturnsFourRentals() {
+        Page<RentalView> result = rentalRepository.findViewsByUserIdAndIsActive(
                 null,
                 true,
                 pageable
         );
 
         assertEquals(4, result.getTotalElements(), "Expected 4 active rentals.");
-        assertTrue(result.stream().noneMatch(r -> r.getActualReturnDate() != null),
+        assertTrue(findRentals(result).stream().noneMatch(r -> r.getActualReturnDate() != null),
                 "All returned rentals must be active (actualReturnDate is null).");
     }
 
     @Test
     @DisplayName("""
-            Verify findAllByUserIdAndActualReturnDateStatus returns only finished rentals
+            Verify findViewsByUserIdAndIsActive returns only finished rentals
             when isActive is false and userId is null. (Expected 2)
             """)
-    void findAllByUserIdAndActualReturnDateStatus_FinishedOnly_ReturnsTwoRentals() {
-        Page<Rental> result = rentalRepository.findAllByUserIdAndIsActive(
+    void findViewsByUserIdAndIsActive_FinishedOnly_ReturnsTwoRentals() {
+        Page<RentalView> result = rentalRepository.findViewsByUserIdAndIsActive(
                 null,
                 false,
                 pageable
         );
 
-        // CORRECTED ASSERTION: Expected 2 finished rentals.
         assertEquals(2, result.getTotalElements(),
                 "Expected 2 finished rentals.");
-        assertTrue(result.stream().allMatch(r -> r.getActualReturnDate() != null),
+        assertTrue(findRentals(result).stream().allMatch(r -> r.getActualReturnDate() != null),
                 "All returned rentals must be finished (actualReturnDate is not null).");
     }
 
+    @Test
+    @DisplayName("findViewsByUserIdAndIsActive should return empty page when no rentals match")
+    void findViewsByUserIdAndIsActive_NoMatches_ShouldReturnEmptyPage() {
+        Page<RentalView> result = rentalRepository.findViewsByUserIdAndIsActive(
+                999L, null, pageable);
+
+        assertEquals(0, result.getTotalElements(), "Should return empty page");
+        assertTrue(result.getContent().isEmpty(), "Content should be empty");
+    }
+
     @Test
     @DisplayName("""
-            Verify findAllByUserIdAndActualReturnDateStatus returns only active rentals
-            for a specific user.
+            Verify findViewsByUserIdAndIsActive counts only the rentals it returns
+            when their car has been soft-deleted.
             """)
-    void findAllByUserIdAndActualReturnDateStatus_User1ActiveOnly_ReturnsTwoRentals() {
-        Page<Rental> result = rentalRepository.findAllByUserIdAndIsActive(
-                user1.getId(),
-                true,
-                pageable
-        );
+    void findViewsByUserIdAndIsActive_CarSoftDeleted_TotalsMatchContent() {
+        entityManager.remove(entityManager.find(Car.class, car2.getId()));
+        entityManager.flush();
+        entityManager.clear();
 
-        assertEquals(2, result.getTotalElements(),
-                "Expected 2 active rentals for User 1.");
-        assertTrue(result.stream().allMatch(r -> r.getUser().getId().equals(user1.getId())),
-                "All returned rentals must belong to User 1.");
-        assertTrue(result.stream().allMatch(r -> r.getActualReturnDate() == null),
-                "All returned rentals must be active.");
+        Page<RentalView> result = rentalRepository.findViewsByUserIdAndIsActive(
+                null, null, PageRequest.of(0, 2));
+
+        assertEquals(2, result.getContent().size());
+        assertEquals(3, result.getTotalElements(),
+                "Rentals of a soft-deleted car must not be counted.");
+        assertEquals(2, result.getTotalPages());
+        assertTrue(result.stream().allMatch(view -> view.carId().equals(car1.getId())));
     }
 
     @Test
-    @DisplayName("findAllByUserIdAndActualReturnDateStatus should return empty page when no "
-            + "rentals match")
-    void findAllByUserIdAndActualReturnDateStatus_NoMatches_ShouldReturnEmptyPage() {
-        Page<Rental> result = rentalRepository.findAllByUserIdAndIsActive(
-                999L, null, pageable);
+    @DisplayName("""
+            Verify findViewsByUserIdAndIsActive selects rental, car and user columns
+            without loading any entity into the persistence context.
+            """)
+    void findViewsByUserIdAndIsActive_User1ActiveOnly_ReturnsViewsWithoutEntities() {
+        Page<RentalView> result = rentalRepository.findViewsByUserIdAndIsActive(
+                user1.getId(), true, PageRequest.of(0, 10, Sort.by("id")));
 
-        assertEquals(0, result.getTotalElements(), "Should return empty page");
-        assertTrue(result.getContent().isEmpty(), "Content should be empty");
+        assertEquals(2, result.getTotalElements());
+        assertTrue(result.stream().allMatch(view -> view.userId().equals(user1.getId())),
+                "All returned rentals must belong to User 1.");
+        RentalView view = result.getContent().get(0);
+        assertEquals(user1.getEmail(), view.userEmail());
+        assertEquals(car1.getModel(), view.carModel());
+        assertEquals(car1.getType(), view.carType());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findFirstViewsByUserIdAndIsActive and findViewsByUserIdAndIsActiveAfter
+            walk every rental once, newest first, breaking rental date ties by id.
+            """)
+    void findViewsByUserIdAndIsActiveAfter_WalkPages_ReturnsEveryRentalOnce() {
+        List<RentalView> firstPage = rentalRepository.findFirstViewsByUserIdAndIsActive(
+                null, null, Limit.of(4));
+        RentalView last = firstPage.get(firstPage.size() - 1);
+        List<RentalView> secondPage = rentalRepository.findViewsByUserIdAndIsActiveAfter(
+                null, null, last.rentalDate(), last.id(), Limit.of(4));
+
+        List<Long> ids = Stream.concat(firstPage.stream(), secondPage.stream())
+                .map(RentalView::id)
+                .toList();
+        assertEquals(4, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(), ids,
+                "Rentals with the same date must be ordered by id descending.");
     }
 
     @Test
@@ -179,7 +227,10 @@ public class RentalRepositoryTest {
             actualReturnDate IS NULL.
             """)
     void findOverdueRentals_ReturnsCorrectOverdueRentals() {
-        List<Rental> result = rentalRepository.findOverdueRentals();
+        List<Rental> result;
+        try (Stream<Rental> overdueRentals = rentalRepository.findOverdueRentals()) {
+            result = overdueRentals.toList();
+        }
 
         assertEquals(2, result.size(), "Expected exactly 2 overdue rentals.");
         assertTrue(result.stream().allMatch(r -> r.getActualReturnDate() == null),
@@ -198,9 +249,39 @@ public class RentalRepositoryTest {
         createRental(user2, car2, LocalDate.now().plusDays(5), null);
         entityManager.flush();
 
-        List<Rental> result = rentalRepository.findOverdueRentals();
+        List<Rental> result;
+        try (Stream<Rental> overdueRentals = rentalRepository.findOverdueRentals()) {
+            result = overdueRentals.toList();
+        }
 
         assertTrue(result.isEmpty(), "Should return empty list when no overdue rentals");
+        assertEquals(0, rentalRepository.countOverdueRentals());
+    }
+
+    @Test
+    @DisplayName("countOverdueRentals should match the number of streamed overdue rentals")
+    void countOverdueRentals_ShouldMatchStreamedRentals() {
+        long streamed;
+        try (Stream<Rental> overdueRentals = rentalRepository.findOverdueRentals()) {
+            streamed = overdueRentals.count();
+        }
+
+        assertEquals(2, rentalRepository.countOverdueRentals());
+        assertEquals(streamed, rentalRepository.countOverdueRentals());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify countRentedOutPerCar counts open rentals, overdue ones included,
+            and skips rentals returned before the date.
+            """)
+    void countRentedOutPerCar_OverdueRentals_AreCounted() {
+        Map<Long, Long> rentedOut = rentalRepository.countRentedOutPerCar(LocalDate.now())
+                .stream()
+                .collect(Collectors.toMap(CarRentalCount::carId, CarRentalCount::rentals));
+
+        assertEquals(3, rentedOut.get(car1.getId()));
+        assertEquals(2, rentedOut.get(car2.getId()));
     }
 
     @Test
@@ -229,4 +310,8 @@ public class RentalRepositoryTest {
         assertTrue(result.isEmpty(),
                 "Should return empty Optional for non-existing rental");
     }
+
+    private List<Rental> findRentals(Page<RentalView> views) {
+        return rentalRepository.findAllById(views.map(RentalView::id).toList());
+    }
 }
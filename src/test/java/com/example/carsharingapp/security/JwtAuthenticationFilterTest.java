@@ -0,0 +1,102 @@
+package com.example.carsharingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.model.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+    private static final String SECRET =
+            "cE7oXh9fJk3Lp2sQrV8tZ4bY6mNn5A1wEaGdHjIkLlMoPqRsTuVvWxYyZz0=";
+    private static final Long USER_ID = 7L;
+    private static final String EMAIL = "manager@example.com";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private AuthenticatedPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 900000);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenVersionRegistry);
+        principal = new AuthenticatedPrincipal(USER_ID, EMAIL, User.Role.MANAGER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Stateless token should authenticate from claims without loading the user")
+    void doFilter_StatelessToken_ShouldNotLoadUser() throws Exception {
+        when(tokenVersionRegistry.isRevoked(USER_ID, 2)).thenReturn(false);
+
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(principal, 2)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        AuthenticatedPrincipal actual = (AuthenticatedPrincipal) authentication.getPrincipal();
+        assertEquals(USER_ID, actual.getId());
+        assertEquals(User.Role.MANAGER, actual.getRole());
+        assertEquals("ROLE_MANAGER",
+                authentication.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadPrincipal(anyString());
+    }
+
+    @Test
+    @DisplayName("Stateless token issued before a token version bump should be rejected")
+    void doFilter_RevokedToken_ShouldThrowJwtException() {
+        when(tokenVersionRegistry.isRevoked(USER_ID, 0)).thenReturn(true);
+
+        assertThrows(JwtException.class, () -> filter.doFilter(
+                requestWithToken(jwtUtil.generateToken(principal, 0)),
+                new MockHttpServletResponse(), new MockFilterChain()));
+    }
+
+    @Test
+    @DisplayName("Legacy subject-only token should fall back to loading the user")
+    void doFilter_LegacyToken_ShouldLoadUser() throws Exception {
+        User user = new User().setId(USER_ID).setEmail(EMAIL).setRole(User.Role.CUSTOMER);
+        when(userDetailsService.loadPrincipal(EMAIL))
+                .thenReturn(AuthenticatedPrincipal.from(user));
+
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(EMAIL)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        AuthenticatedPrincipal actual = (AuthenticatedPrincipal) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        assertEquals(User.Role.CUSTOMER, actual.getRole());
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars");
+        request.setServletPath("/cars");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
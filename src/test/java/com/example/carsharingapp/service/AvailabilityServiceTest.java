@@ -0,0 +1,252 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.dto.car.CarAvailabilityDto;
+import com.example.carsharingapp.exception.RentalException;
+import com.example.carsharingapp.mapper.CarMapper;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.CarDailyAvailability;
+import com.example.carsharingapp.repository.CarDailyAvailabilityRepository;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.repository.projection.CarRentalCount;
+import com.example.carsharingapp.service.availability.AvailabilityServiceImpl;
+import com.example.carsharingapp.service.availability.CarAvailabilityIndex;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+    private static final Long CAR_ID = 1L;
+    private static final int FLEET_SIZE = 2;
+    private static final int HORIZON_DAYS = 30;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private CarDailyAvailabilityRepository availabilityRepository;
+    @Mock
+    private CarRepository carRepository;
+    @Mock
+    private RentalRepository rentalRepository;
+    @Mock
+    private CarMapper carMapper;
+
+    private CarAvailabilityIndex availabilityIndex;
+    private AvailabilityServiceImpl availabilityService;
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new CarAvailabilityIndex(HORIZON_DAYS);
+        availabilityService = new AvailabilityServiceImpl(
+                availabilityRepository, carRepository, rentalRepository, availabilityIndex,
+                carMapper);
+        car = new Car()
+                .setId(CAR_ID)
+                .setBrand("Toyota")
+                .setModel("Corolla")
+                .setType(Car.Type.SEDAN)
+                .setInventory(FLEET_SIZE)
+                .setDailyFee(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("reserve should book every day of the window and update the index")
+    void reserve_FreeWindow_ShouldReserveEveryDay() {
+        when(availabilityRepository.reserve(CAR_ID, TODAY, TODAY.plusDays(2), FLEET_SIZE))
+                .thenReturn(3);
+
+        availabilityService.reserve(car, TODAY, TODAY.plusDays(2));
+
+        verify(availabilityRepository, times(1))
+                .insertMissingDays(CAR_ID, TODAY, TODAY.plusDays(2));
+        assertEquals(1, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY.plusDays(5)));
+        assertEquals(0, availabilityIndex.getMaxReserved(
+                CAR_ID, TODAY.plusDays(3), TODAY.plusDays(5)));
+    }
+
+    @Test
+    @DisplayName("reserve should fail when at least one day of the window is fully booked")
+    void reserve_FullyBookedDay_ShouldThrowRentalException() {
+        when(availabilityRepository.reserve(CAR_ID, TODAY, TODAY.plusDays(2), FLEET_SIZE))
+                .thenReturn(2);
+
+        assertThrows(RentalException.class,
+                () -> availabilityService.reserve(car, TODAY, TODAY.plusDays(2)));
+
+        assertEquals(0, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("reserve should reject windows that start in the past or end before they start")
+    void reserve_InvalidWindow_ShouldThrowRentalException() {
+        assertThrows(RentalException.class,
+                () -> availabilityService.reserve(car, TODAY.minusDays(1), TODAY));
+        assertThrows(RentalException.class,
+                () -> availabilityService.reserve(car, TODAY.plusDays(2), TODAY));
+        assertThrows(RentalException.class,
+                () -> availabilityService.reserve(car, TODAY, TODAY.plusDays(HORIZON_DAYS)));
+
+        verify(availabilityRepository, never()).reserve(any(), any(), any(), any(int.class));
+    }
+
+    @Test
+    @DisplayName("release should skip empty windows")
+    void release_EmptyWindow_ShouldDoNothing() {
+        availabilityService.release(CAR_ID, TODAY.plusDays(3), TODAY.plusDays(2));
+
+        verify(availabilityRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findAvailableCars should report free units using the peak reserved day")
+    void findAvailableCars_PartiallyBookedWindow_ShouldReturnFreeUnits() {
+        availabilityIndex.reset(TODAY, List.of(
+                new CarDailyAvailability()
+                        .setCarId(CAR_ID)
+                        .setReservationDate(TODAY.plusDays(5))
+                        .setReserved(1)));
+        when(carRepository.findAllByType(Car.Type.SEDAN)).thenReturn(List.of(car));
+        when(carMapper.toAvailabilityDto(car)).thenReturn(new CarAvailabilityDto().setId(CAR_ID));
+
+        List<CarAvailabilityDto> result = availabilityService.findAvailableCars(
+                TODAY.plusDays(4), TODAY.plusDays(6), Car.Type.SEDAN);
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getAvailableUnits());
+    }
+
+    @Test
+    @DisplayName("findAvailableCars should leave out cars booked out on any day of the window")
+    void findAvailableCars_FullyBookedWindow_ShouldReturnEmptyList() {
+        availabilityIndex.add(CAR_ID, TODAY.plusDays(1), TODAY.plusDays(3), FLEET_SIZE);
+        when(carRepository.findAll()).thenReturn(List.of(car));
+        when(carMapper.toAvailabilityDto(car)).thenReturn(new CarAvailabilityDto().setId(CAR_ID));
+
+        List<CarAvailabilityDto> result = availabilityService.findAvailableCars(
+                TODAY, TODAY.plusDays(1), null);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("rebuildIndex should replace the index with the stored reservations")
+    void rebuildIndex_StoredReservations_ShouldReplaceIndex() {
+        availabilityIndex.add(CAR_ID, TODAY, TODAY.plusDays(1), FLEET_SIZE);
+        when(availabilityRepository
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(TODAY, 0))
+                .thenReturn(List.of(storedReservation(TODAY.plusDays(3))));
+
+        availabilityService.rebuildIndex();
+
+        assertEquals(0, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY.plusDays(1)));
+        assertEquals(1, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("rebuildIndex should count overdue rentals as reserving today")
+    void rebuildIndex_OverdueRental_ShouldReserveToday() {
+        when(availabilityRepository
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(TODAY, 0))
+                .thenReturn(List.of(storedReservation(TODAY),
+                        storedReservation(TODAY.plusDays(1))));
+        when(rentalRepository.countRentedOutPerCar(TODAY))
+                .thenReturn(List.of(new CarRentalCount(CAR_ID, 2)));
+
+        availabilityService.rebuildIndex();
+
+        assertEquals(2, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY));
+        assertEquals(1, availabilityIndex.getMaxReserved(
+                CAR_ID, TODAY.plusDays(1), TODAY.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("rebuildIndex should not count an overdue rental already stored for today twice")
+    void rebuildIndex_OverdueRentalStoredForToday_ShouldNotDoubleCount() {
+        when(availabilityRepository
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(TODAY, 0))
+                .thenReturn(List.of(storedReservation(TODAY)));
+        when(rentalRepository.countRentedOutPerCar(TODAY))
+                .thenReturn(List.of(new CarRentalCount(CAR_ID, 1)));
+
+        availabilityService.rebuildIndex();
+
+        assertEquals(1, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY));
+    }
+
+    @Test
+    @DisplayName("rebuildIndex should wait for a committing reservation, not count it twice")
+    void rebuildIndex_DuringCommit_ShouldNotDoubleCountReservation() throws Exception {
+        when(availabilityRepository.reserve(CAR_ID, TODAY, TODAY, FLEET_SIZE)).thenReturn(1);
+        when(availabilityRepository
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(TODAY, 0))
+                .thenReturn(List.of(storedReservation(TODAY)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityService.reserve(car, TODAY, TODAY);
+            List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+            CompletableFuture<Void> rebuild =
+                    CompletableFuture.runAsync(availabilityService::rebuildIndex);
+            Thread.sleep(200);
+            assertFalse(rebuild.isDone(), "Rebuild should wait for the commit to finish");
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization
+                    .afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY));
+    }
+
+    @Test
+    @DisplayName("rebuildIndex should read again when a reservation commits during the read")
+    void rebuildIndex_ReservationDuringRead_ShouldRetry() {
+        when(availabilityRepository.reserve(CAR_ID, TODAY, TODAY, FLEET_SIZE)).thenReturn(1);
+        when(availabilityRepository
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(TODAY, 0))
+                .thenAnswer(invocation -> {
+                    availabilityService.reserve(car, TODAY, TODAY);
+                    return List.of();
+                })
+                .thenReturn(List.of(storedReservation(TODAY)));
+
+        availabilityService.rebuildIndex();
+
+        verify(availabilityRepository, times(2))
+                .findAllByReservationDateGreaterThanEqualAndReservedGreaterThan(TODAY, 0);
+        assertEquals(1, availabilityIndex.getMaxReserved(CAR_ID, TODAY, TODAY));
+    }
+
+    private CarDailyAvailability storedReservation(LocalDate day) {
+        return new CarDailyAvailability()
+                .setCarId(CAR_ID)
+                .setReservationDate(day)
+                .setReserved(1);
+    }
+}
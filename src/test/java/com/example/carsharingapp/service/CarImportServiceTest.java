@@ -0,0 +1,161 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.BulkUpdateCarRequestDto;
+import com.example.carsharingapp.dto.car.CarDto;
+import com.example.carsharingapp.dto.car.CarImportResultDto;
+import com.example.carsharingapp.dto.car.CarImportResultDto.Status;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.service.car.CarImportServiceImpl;
+import com.example.carsharingapp.service.car.CarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class CarImportServiceTest {
+    private static final int BATCH_SIZE = 3;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final String CSV_HEADER = "brand,model,type,inventory,dailyFee\n";
+    private static final String VALID_JSON_ROW = "{\"brand\":\"Toyota\",\"model\":\"Camry\","
+            + "\"type\":\"SEDAN\",\"inventory\":2,\"dailyFee\":50.00}";
+
+    @Mock
+    private CarService carService;
+
+    private CarImportServiceImpl carImportService;
+    private final List<CarImportResultDto> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        carImportService = new CarImportServiceImpl(carService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(carImportService, "batchSize", BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("CSV rows should be saved in batches of the configured size")
+    void addCars_ValidCsv_ShouldSaveInBatches() throws IOException {
+        AtomicLong ids = new AtomicLong();
+        when(carService.addCars(anyList())).thenAnswer(invocation -> invocation
+                .<List<AddCarRequestDto>>getArgument(0).stream()
+                .map(requestDto -> new CarDto().setId(ids.incrementAndGet()))
+                .toList());
+        String csv = CSV_HEADER + IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> "Toyota, Camry " + i + ",SEDAN,2,50.00")
+                .collect(Collectors.joining("\n"));
+
+        carImportService.addCars(input(csv), TEXT_CSV, results::add);
+
+        verify(carService, times(3)).addCars(anyList());
+        assertEquals(7, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).getRow());
+            assertEquals(Status.CREATED, results.get(i).getStatus());
+            assertEquals(i + 1L, results.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Rows that can't be read or fail validation should be reported "
+            + "without stopping the import")
+    void addCars_InvalidJsonRows_ShouldReportThemAndSaveTheRest() throws IOException {
+        when(carService.addCars(anyList())).thenAnswer(invocation -> invocation
+                .<List<AddCarRequestDto>>getArgument(0).stream()
+                .map(requestDto -> new CarDto().setId(10L))
+                .toList());
+        String json = "[" + VALID_JSON_ROW + ","
+                + "{\"brand\":\"Toyota\",\"model\":\"Camry\",\"type\":\"TRUCK\","
+                + "\"inventory\":2,\"dailyFee\":50.00},"
+                + "{\"brand\":\"\",\"model\":\"Camry\",\"type\":\"SEDAN\","
+                + "\"inventory\":0,\"dailyFee\":50.00}," + VALID_JSON_ROW + "]";
+
+        carImportService.addCars(input(json), MediaType.APPLICATION_JSON, results::add);
+
+        assertEquals(List.of(Status.CREATED, Status.INVALID, Status.INVALID, Status.CREATED),
+                results.stream().map(CarImportResultDto::getStatus).toList());
+        assertEquals(List.of("brand must not be blank", "inventory must be greater than 0"),
+                results.get(2).getErrors());
+    }
+
+    @Test
+    @DisplayName("Malformed input should stop the import after saving the rows read so far")
+    void addCars_MalformedJson_ShouldStopImport() throws IOException {
+        when(carService.addCars(anyList())).thenReturn(List.of(new CarDto().setId(1L)));
+        String json = "[" + VALID_JSON_ROW + ", {\"brand\": ";
+
+        carImportService.addCars(input(json), MediaType.APPLICATION_JSON, results::add);
+
+        assertEquals(2, results.size());
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals(Status.INVALID, results.get(1).getStatus());
+        assertEquals(2, results.get(1).getRow());
+    }
+
+    @Test
+    @DisplayName("A batch that can't be saved should be reported as failed row by row")
+    void addCars_BatchSaveFails_ShouldReportRowsAsFailed() throws IOException {
+        when(carService.addCars(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Data too long"));
+
+        carImportService.addCars(input(CSV_HEADER + "Toyota,Camry,SEDAN,2,50.00"), TEXT_CSV,
+                results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(Status.FAILED, results.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Bulk update should report rows whose car doesn't exist as not found")
+    void updateCars_UnknownId_ShouldReportNotFound() throws IOException {
+        when(carService.updateCars(anyList())).thenReturn(List.of(new CarDto().setId(1L)));
+        String csv = "id,brand,model,type,inventory,dailyFee\n"
+                + "1,Toyota,Camry,SEDAN,2,50.00\n"
+                + "99,Toyota,Camry,SEDAN,2,50.00\n";
+
+        carImportService.updateCars(input(csv), TEXT_CSV, results::add);
+
+        verify(carService).updateCars(List.of(updateRequest(1L), updateRequest(99L)));
+        assertEquals(List.of(Status.UPDATED, Status.NOT_FOUND),
+                results.stream().map(CarImportResultDto::getStatus).toList());
+        assertEquals(99L, results.get(1).getId());
+    }
+
+    private BulkUpdateCarRequestDto updateRequest(Long id) {
+        return new BulkUpdateCarRequestDto()
+                .setId(id)
+                .setBrand("Toyota")
+                .setModel("Camry")
+                .setType(Car.Type.SEDAN)
+                .setInventory(2)
+                .setDailyFee(new BigDecimal("50.00"));
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.config.CacheConfig;
+import com.example.carsharingapp.dto.car.CarDto;
+import com.example.carsharingapp.mapper.CarMapper;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.service.car.CarService;
+import com.example.carsharingapp.service.car.CarServiceImpl;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@SpringBootTest(classes = {CacheConfig.class, CarServiceImpl.class})
+public class CarServiceCacheTest {
+    private static final Long CAR_ID = 1L;
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+
+    @MockitoBean
+    private CarRepository carRepository;
+    @MockitoBean
+    private CarMapper carMapper;
+
+    @Autowired
+    private CarService carService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Car car;
+    private CarDto carDto;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        car = new Car().setId(CAR_ID).setBrand("Toyota").setModel("Camry").setInventory(5);
+        carDto = new CarDto().setId(CAR_ID).setBrand("Toyota").setModel("Camry").setInventory(5);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(car));
+        when(carRepository.findAll(PAGEABLE)).thenReturn(new PageImpl<>(List.of(car)));
+        when(carMapper.toDto(car)).thenReturn(carDto);
+    }
+
+    @Test
+    @DisplayName("findById and findAll should hit the database only once for repeated reads")
+    void findByIdAndFindAll_RepeatedReads_ShouldBeServedFromCache() {
+        assertEquals(carDto, carService.findById(CAR_ID));
+        assertEquals(carDto, carService.findById(CAR_ID));
+        carService.findAll(PAGEABLE);
+        carService.findAll(PAGEABLE);
+
+        verify(carRepository, times(1)).findById(CAR_ID);
+        verify(carRepository, times(1)).findAll(PAGEABLE);
+    }
+
+    @Test
+    @DisplayName("delete should evict the car and every cached page")
+    void delete_CachedCar_ShouldEvictEntries() {
+        carService.findById(CAR_ID);
+        carService.findAll(PAGEABLE);
+
+        carService.delete(CAR_ID);
+        carService.findById(CAR_ID);
+        carService.findAll(PAGEABLE);
+
+        verify(carRepository, times(2)).findById(CAR_ID);
+        verify(carRepository, times(2)).findAll(PAGEABLE);
+    }
+}
@@ -3,7 +3,6 @@ package com.example.carsharingapp.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -11,10 +10,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.carsharingapp.dto.car.AddCarRequestDto;
+import com.example.carsharingapp.dto.car.BulkUpdateCarRequestDto;
 import com.example.carsharingapp.dto.car.CarDto;
 import com.example.carsharingapp.dto.car.UpdateCarRequestDto;
 import com.example.carsharingapp.exception.EntityNotFoundException;
-import com.example.carsharingapp.exception.RentalException;
 import com.example.carsharingapp.mapper.CarMapper;
 import com.example.carsharingapp.model.Car;
 import com.example.carsharingapp.repository.CarRepository;
@@ -22,6 +21,7 @@ import com.example.carsharingapp.service.car.CarServiceImpl;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -105,6 +105,21 @@ public class CarServiceTest {
         verify(carMapper, times(1)).toDto(testCar);
     }
 
+    @Test
+    @DisplayName("updateCars should update existing cars and skip unknown ids")
+    void updateCars_SomeIdsUnknown_ShouldUpdateExistingCarsOnly() {
+        BulkUpdateCarRequestDto existing = new BulkUpdateCarRequestDto().setId(CAR_ID);
+        BulkUpdateCarRequestDto unknown = new BulkUpdateCarRequestDto().setId(99L);
+        when(carRepository.findAllById(Set.of(CAR_ID, 99L))).thenReturn(List.of(testCar));
+        when(carMapper.toDto(testCar)).thenReturn(testCarDto);
+
+        List<CarDto> result = carService.updateCars(List.of(existing, unknown));
+
+        assertEquals(List.of(testCarDto), result);
+        verify(carMapper, times(1)).updateCarFromBulkDto(existing, testCar);
+        verify(carRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("findAll should return page of CarDto")
     void findAll_ShouldReturnPageOfCarDto() {
@@ -219,103 +234,4 @@ public class CarServiceTest {
 
         verify(carRepository, times(1)).deleteById(CAR_ID);
     }
-
-    @Test
-    @DisplayName("updateInventory should increase inventory when delta is positive")
-    void updateInventory_PositiveDelta_ShouldIncreaseInventory() {
-        int delta = 3;
-
-        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
-        when(carRepository.save(testCar)).thenReturn(testCar);
-
-        carService.updateInventory(CAR_ID, delta);
-
-        int expectedInventory = INVENTORY + delta;
-
-        verify(carRepository, times(1)).findById(CAR_ID);
-        verify(carRepository, times(1)).save(argThat(car ->
-                car.getInventory() == expectedInventory
-        ));
-    }
-
-    @Test
-    @DisplayName("updateInventory should decrease inventory when delta is negative")
-    void updateInventory_NegativeDelta_ShouldDecreaseInventory() {
-        int delta = -2;
-
-        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
-        when(carRepository.save(testCar)).thenReturn(testCar);
-
-        int expectedInventory = INVENTORY + delta;
-
-        carService.updateInventory(CAR_ID, delta);
-
-        verify(carRepository, times(1)).findById(CAR_ID);
-        verify(carRepository, times(1)).save(argThat(car ->
-                car.getInventory() == expectedInventory
-        ));
-    }
-
-    @Test
-    @DisplayName("updateInventory should allow inventory to reach zero")
-    void updateInventory_ToZero_ShouldSucceed() {
-        int delta = -INVENTORY; // Makes inventory exactly 0
-
-        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
-        when(carRepository.save(testCar)).thenReturn(testCar);
-
-        carService.updateInventory(CAR_ID, delta);
-
-        verify(carRepository, times(1)).findById(CAR_ID);
-        verify(carRepository, times(1)).save(argThat(car ->
-                car.getInventory() == 0
-        ));
-    }
-
-    @Test
-    @DisplayName("updateInventory should throw RentalException when resulting inventory "
-            + "would be negative")
-    void updateInventory_NegativeResult_ShouldThrowException() {
-        int delta = -(INVENTORY + 1); // Would make inventory -1
-
-        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
-
-        assertThrows(RentalException.class,
-                () -> carService.updateInventory(CAR_ID, delta),
-                "Should throw RentalException when inventory would become negative");
-
-        verify(carRepository, times(1)).findById(CAR_ID);
-        verify(carRepository, never()).save(any(Car.class));
-    }
-
-    @Test
-    @DisplayName("updateInventory should throw EntityNotFoundException when car does not exist")
-    void updateInventory_NonExistingCar_ShouldThrowException() {
-        int delta = 1;
-
-        when(carRepository.findById(CAR_ID)).thenReturn(Optional.empty());
-
-        assertThrows(EntityNotFoundException.class,
-                () -> carService.updateInventory(CAR_ID, delta),
-                "Should throw EntityNotFoundException when car is not found");
-
-        verify(carRepository, times(1)).findById(CAR_ID);
-        verify(carRepository, never()).save(any(Car.class));
-    }
-
-    @Test
-    @DisplayName("updateInventory should handle zero delta (no change)")
-    void updateInventory_ZeroDelta_ShouldNotChangeInventory() {
-        int delta = 0;
-
-        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
-        when(carRepository.save(testCar)).thenReturn(testCar);
-
-        carService.updateInventory(CAR_ID, delta);
-
-        verify(carRepository, times(1)).findById(CAR_ID);
-        verify(carRepository, times(1)).save(argThat(car ->
-                car.getInventory() == INVENTORY // Unchanged
-        ));
-    }
 }
@@ -0,0 +1,142 @@
+package com.example.carsharingapp.service;
+
+import static com.example.carsharingapp.repository.IdGeneratorTestUtil.reserveIds;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.carsharingapp.mapper.impl.PaymentMapperImpl;
+import com.example.carsharingapp.mapper.impl.RentalMapperImpl;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.service.export.ExportFormat;
+import com.example.carsharingapp.service.export.ExportService;
+import com.example.carsharingapp.service.export.ExportServiceImpl;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ExportServiceImpl.class, PaymentMapperImpl.class, RentalMapperImpl.class,
+        JacksonAutoConfiguration.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ExportServiceTest {
+    private static final int RENTALS = 1_000;
+    private static final int PAYMENTS = 1_000_000;
+    private static final int SAMPLE_INTERVAL = 100_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+    private static final int MAX_MANAGED_ENTITIES = 1000;
+    private static final String DIGITS = "WITH RECURSIVE digits(d) AS "
+            + "(SELECT 0 UNION ALL SELECT d + 1 FROM digits WHERE d < 9) ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ExportService exportService;
+
+    @BeforeAll
+    void seedMillionPayments() {
+        long userId = reserveIds(jdbcTemplate, "users", 1);
+        long carId = reserveIds(jdbcTemplate, "cars", 1);
+        long firstRentalId = reserveIds(jdbcTemplate, "rentals", RENTALS);
+        long firstPaymentId = reserveIds(jdbcTemplate, "payments", PAYMENTS);
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, password, "
+                + "role, token_version, is_deleted) VALUES (?, 'finance@export.test', 'Export', "
+                + "'User', 'password', 'CUSTOMER', 0, FALSE)", userId);
+        jdbcTemplate.update("INSERT INTO cars (id, model, brand, type, inventory, daily_fee, "
+                + "is_deleted) VALUES (?, 'Export', 'Finance', 'SEDAN', 5, 50, FALSE)", carId);
+        jdbcTemplate.update("INSERT INTO rentals (id, rental_date, return_date, "
+                + "actual_return_date, car_id, user_id, is_deleted) " + DIGITS
+                + ", seq(n) AS (SELECT a.d + 10 * b.d + 100 * c.d "
+                + "FROM digits a, digits b, digits c) "
+                + "SELECT ? + n, DATE_SUB(CURDATE(), INTERVAL n DAY), "
+                + "CURDATE(), CURDATE(), ?, ?, FALSE FROM seq", firstRentalId, carId, userId);
+        jdbcTemplate.update("INSERT INTO payments (id, status, type, rental_id, session_id, "
+                + "amount_to_pay, is_deleted) " + DIGITS
+                + "SELECT ? + (r.id - ?) * 1000 + a.d + 10 * b.d + 100 * c.d, "
+                + "IF(a.d = 0, 'PENDING', 'PAID'), 'PAYMENT', r.id, "
+                + "CONCAT('cs_export_', r.id), 100, FALSE "
+                + "FROM rentals r, digits a, digits b, digits c WHERE r.user_id = ?",
+                firstPaymentId, firstRentalId, userId);
+    }
+
+    @AfterAll
+    void removeSeededRows() {
+        jdbcTemplate.update("DELETE FROM payments WHERE session_id LIKE 'cs_export_%'");
+        jdbcTemplate.update("DELETE r FROM rentals r JOIN users u ON u.id = r.user_id "
+                + "WHERE u.email = 'finance@export.test'");
+        jdbcTemplate.update("DELETE FROM cars WHERE brand = 'Finance'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = 'finance@export.test'");
+    }
+
+    @Test
+    @DisplayName("Exporting a million payments should stream them without growing the heap")
+    void exportPayments_MillionPayments_ShouldStreamWithBoundedHeap() throws IOException {
+        MonitoringOutputStream output = new MonitoringOutputStream();
+
+        long exported = exportService.exportPayments(ExportFormat.CSV, null, null, null, output);
+
+        assertTrue(exported >= PAYMENTS);
+        assertEquals(exported + 1, output.lines);
+        assertTrue(output.maxHeapGrowth < MAX_HEAP_GROWTH,
+                "Heap grew by " + output.maxHeapGrowth + " bytes during the export");
+        assertTrue(output.maxManagedEntities <= MAX_MANAGED_ENTITIES,
+                output.maxManagedEntities + " entities were managed during the export");
+    }
+
+    @Test
+    @DisplayName("Export should only include payments matching the status and date filters")
+    void exportPayments_StatusAndDateFilters_ShouldExportMatchingRows() throws IOException {
+        MonitoringOutputStream output = new MonitoringOutputStream();
+
+        long exported = exportService.exportPayments(ExportFormat.NDJSON, Payment.Status.PENDING,
+                LocalDate.now().minusDays(99), LocalDate.now(), output);
+
+        assertEquals(100L * 100, exported);
+        assertEquals(exported, output.lines);
+    }
+
+    private class MonitoringOutputStream extends OutputStream {
+        private final long baselineHeap = usedHeapAfterGc();
+        private long lines;
+        private long maxHeapGrowth;
+        private int maxManagedEntities;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_INTERVAL == 0) {
+                maxHeapGrowth = Math.max(maxHeapGrowth, usedHeapAfterGc() - baselineHeap);
+                maxManagedEntities = Math.max(maxManagedEntities, entityManager.getEntityManager()
+                        .unwrap(Session.class).getStatistics().getEntityCount());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        private long usedHeapAfterGc() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.carsharingapp.service.template.MarkdownEscaper;
+import com.example.carsharingapp.service.template.MessageTemplate;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MessageTemplateTest {
+    private static final String SPECIAL_CHARACTERS = "_*>[]()~`#+-=|{}!";
+
+    @Test
+    @DisplayName("MarkdownEscaper should match the previous regex-based escaping")
+    void escape_SpecialCharacters_ShouldMatchRegexEscaping() {
+        String text = "a_b*c " + SPECIAL_CHARACTERS + " plain.text@example.com ünï";
+
+        assertEquals(text.replaceAll("([_*>\\[\\]()~`#+\\-=|{}!])", "\\\\$1"),
+                MarkdownEscaper.escape(text));
+        assertEquals("", MarkdownEscaper.escape(null));
+    }
+
+    @Test
+    @DisplayName("render should substitute placeholders and escape only :md placeholders")
+    void render_ValidArguments_ShouldSubstituteAndEscape() {
+        MessageTemplate template = MessageTemplate.compile(
+                "🚗 {brand:md} {model} (ID: `{id}`) on {date}, {brand}", "id", "brand", "model",
+                "date");
+
+        String rendered = template.render(7L, "Rolls-Royce", "M_1", LocalDate.of(2025, 1, 2));
+
+        assertEquals("🚗 Rolls\\-Royce M_1 (ID: `7`) on 2025-01-02, Rolls-Royce", rendered);
+    }
+
+    @Test
+    @DisplayName("renderTo should append to the given buffer")
+    void renderTo_ExistingBuffer_ShouldAppend() {
+        MessageTemplate template = MessageTemplate.compile("#{count} {name:md}", "count", "name");
+        StringBuilder buffer = new StringBuilder("> ");
+
+        StringBuilder result = template.renderTo(buffer, 3, null);
+
+        assertSame(buffer, result);
+        assertEquals("> #3 ", buffer.toString());
+    }
+
+    @Test
+    @DisplayName("compile should reject unknown placeholders and render wrong argument counts")
+    void compileAndRender_InvalidInput_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MessageTemplate.compile("Hello {name}", "id"));
+        assertThrows(IllegalArgumentException.class,
+                () -> MessageTemplate.compile("Hello {name", "name"));
+        MessageTemplate template = MessageTemplate.compile("Hello {name}", "name");
+        assertThrows(IllegalArgumentException.class, () -> template.render("a", "b"));
+    }
+}
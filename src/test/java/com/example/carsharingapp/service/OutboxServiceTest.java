@@ -0,0 +1,131 @@
+package com.example.carsharingapp.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.model.OutboxEvent;
+import com.example.carsharingapp.repository.OutboxEventRepository;
+import com.example.carsharingapp.service.outbox.OutboxServiceImpl;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceTest {
+    private static final int BATCH_SIZE = 2;
+    private static final long DELIVERY_TIMEOUT_MILLIS = 200;
+    private static final long CLAIM_TIMEOUT_MILLIS = 400;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @InjectMocks
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(outboxService, "deliveryTimeoutMillis",
+                DELIVERY_TIMEOUT_MILLIS);
+        ReflectionTestUtils.setField(outboxService, "claimTimeoutMillis",
+                CLAIM_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    @DisplayName("record should insert the event under its idempotency key")
+    void record_NewEvent_ShouldInsertIfAbsent() {
+        outboxService.record(OutboxEvent.Type.RENTAL_CREATED, "rental-created:1", "message");
+
+        verify(outboxEventRepository, times(1)).insertIfAbsent(eq("RENTAL_CREATED"),
+                eq("rental-created:1"), eq("message"), any());
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents should deliver full batches and mark them published")
+    void relayPendingEvents_TwoBatches_ShouldPublishAll() {
+        when(outboxEventRepository.findUnclaimedForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(event(1L, "first"), event(2L, "second")))
+                .thenReturn(List.of(event(3L, "third")));
+        when(notificationService.deliver(any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxService.relayPendingEvents();
+
+        verify(notificationService, times(3)).deliver(any());
+        verify(outboxEventRepository, times(1)).claim(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository, times(1)).claim(eq(List.of(3L)), any());
+        verify(outboxEventRepository, times(1)).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository, times(1)).markPublished(eq(List.of(3L)), any());
+        verify(outboxEventRepository, never()).release(anyCollection());
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents should release undelivered events for the next run")
+    void relayPendingEvents_FailedDelivery_ShouldNotMarkItPublished() {
+        when(outboxEventRepository.findUnclaimedForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(event(1L, "first"), event(2L, "second")));
+        when(notificationService.deliver("first"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(notificationService.deliver("second"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")));
+
+        outboxService.relayPendingEvents();
+
+        verify(outboxEventRepository, times(1)).markPublished(eq(List.of(1L)), any());
+        verify(outboxEventRepository, times(1)).release(List.of(2L));
+        verify(outboxEventRepository, times(1)).findUnclaimedForUpdate(any(), eq(BATCH_SIZE));
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents should not wait forever for a stuck delivery")
+    void relayPendingEvents_DeliveryTimeout_ShouldPublishNothing() {
+        when(outboxEventRepository.findUnclaimedForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(event(1L, "first")));
+        when(notificationService.deliver("first")).thenReturn(new CompletableFuture<>());
+
+        outboxService.relayPendingEvents();
+
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+        verify(outboxEventRepository, times(1)).release(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents should do nothing when every event is claimed elsewhere")
+    void relayPendingEvents_NothingUnclaimed_ShouldNotDeliver() {
+        when(outboxEventRepository.findUnclaimedForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of());
+
+        outboxService.relayPendingEvents();
+
+        verify(outboxEventRepository, never()).claim(anyCollection(), any());
+        verify(notificationService, never()).deliver(any());
+    }
+
+    private OutboxEvent event(Long id, String payload) {
+        return new OutboxEvent()
+                .setId(id)
+                .setType(OutboxEvent.Type.RENTAL_CREATED)
+                .setIdempotencyKey("rental-created:" + id)
+                .setPayload(payload);
+    }
+}
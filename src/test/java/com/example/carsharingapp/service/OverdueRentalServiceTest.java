@@ -1,19 +1,29 @@
 package com.example.carsharingapp.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.carsharingapp.model.Car;
 import com.example.carsharingapp.model.Car.Type;
+import com.example.carsharingapp.model.OutboxEvent;
 import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.model.User.Role;
 import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,7 +39,9 @@ class OverdueRentalServiceTest {
     @Mock
     private RentalRepository rentalRepository;
     @Mock
-    private NotificationService notificationService;
+    private OutboxService outboxService;
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private OverdueRentalService overdueRentalService;
@@ -66,32 +78,36 @@ class OverdueRentalServiceTest {
     @Test
     @DisplayName("Verify checkOverdueRentals when no overdue  rentals sends 'No Overdue' message")
     void checkOverdueRentals_NoOverdueRentals_SendsNoOverdueMessage() {
-        when(rentalRepository.findOverdueRentals()).thenReturn(Collections.emptyList());
+        when(rentalRepository.countOverdueRentals()).thenReturn(0L);
 
         overdueRentalService.checkOverdueRentals();
 
-        verify(rentalRepository).findOverdueRentals();
-        verify(notificationService).sendMessage("✅ No rentals overdue today!");
+        verify(rentalRepository, never()).findOverdueRentals();
+        verify(outboxService).record(OutboxEvent.Type.OVERDUE_REPORT,
+                "overdue-report:" + LocalDate.now() + ":0", "✅ No rentals overdue today!");
     }
 
     @Test
     @DisplayName("Verify checkOverdueRentals when one rental is overdue sends a "
             + "consolidated report with details")
     void checkOverdueRentals_WithOverdueRentals_SendsConsolidatedReport() {
-        List<Rental> overdueList = List.of(rental);
-        when(rentalRepository.findOverdueRentals()).thenReturn(overdueList);
-
+        when(rentalRepository.countOverdueRentals()).thenReturn(1L);
+        when(rentalRepository.findOverdueRentals()).thenReturn(Stream.of(rental));
         ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
 
         overdueRentalService.checkOverdueRentals();
 
         verify(rentalRepository).findOverdueRentals();
-        verify(notificationService).sendMessage(messageCaptor.capture());
+        verify(outboxService).record(eq(OutboxEvent.Type.OVERDUE_REPORT),
+                eq("overdue-report:" + LocalDate.now() + ":0"), messageCaptor.capture());
+        verify(entityManager).detach(rental);
 
         String actualMessage = messageCaptor.getValue();
 
         assertTrue(actualMessage.contains("🚨 DAILY OVERDUE RENTAL REPORT 🚨"),
                 "Message should contain the header.");
+        assertTrue(actualMessage.contains("📊 1 rental(s) overdue"),
+                "Message should contain the summary.");
         assertTrue(actualMessage.contains("🔢 *Rental ID*: 100"),
                 "Message should contain the Rental ID.");
         assertTrue(actualMessage.contains("👤 User: Jane Doe (ID: 10, Email: jane.doe@test.com)"),
@@ -100,7 +116,46 @@ class OverdueRentalServiceTest {
                 "Message should contain Car details.");
         assertTrue(actualMessage.contains("📅 Expected Return: " + rental.getReturnDate()),
                 "Message should contain the return date.");
-        assertTrue(actualMessage.contains("📊 END OF REPORT (1 total)"),
+        assertTrue(actualMessage.endsWith("\n\n⋯⋯⋯⋯⋯⋯⋯⋯⋯⋯⋯\n📊 END OF REPORT (1 total)"),
                 "Message should contain the report summary.");
     }
+
+    @Test
+    @DisplayName("Verify checkOverdueRentals splits a large report into ordered chunks "
+            + "that each fit one Telegram message")
+    void checkOverdueRentals_ManyOverdueRentals_SendsOrderedChunks() {
+        List<Rental> overdueList = LongStream.rangeClosed(1, 200)
+                .mapToObj(id -> new Rental()
+                        .setId(id)
+                        .setReturnDate(rental.getReturnDate())
+                        .setUser(rental.getUser())
+                        .setCar(rental.getCar()))
+                .toList();
+        when(rentalRepository.countOverdueRentals()).thenReturn(200L);
+        when(rentalRepository.findOverdueRentals()).thenReturn(overdueList.stream());
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+
+        overdueRentalService.checkOverdueRentals();
+
+        verify(outboxService, atLeast(2)).record(eq(OutboxEvent.Type.OVERDUE_REPORT),
+                keyCaptor.capture(), messageCaptor.capture());
+        verify(entityManager, times(200)).detach(any(Rental.class));
+        List<String> chunks = messageCaptor.getAllValues();
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals("overdue-report:" + LocalDate.now() + ":" + i,
+                    keyCaptor.getAllValues().get(i));
+        }
+        chunks.forEach(chunk -> assertTrue(
+                chunk.length() <= TelegramNotificationService.MAX_MESSAGE_LENGTH));
+        assertTrue(chunks.get(0).startsWith("🚨 DAILY OVERDUE RENTAL REPORT 🚨\n📊 200"));
+        assertTrue(chunks.get(chunks.size() - 1).endsWith("📊 END OF REPORT (200 total)"));
+        String report = String.join("", chunks);
+        int previousIndex = -1;
+        for (Rental overdue : overdueList) {
+            int index = report.indexOf("🔢 *Rental ID*: " + overdue.getId() + "\n");
+            assertTrue(index > previousIndex, "Rentals should be reported in order.");
+            previousIndex = index;
+        }
+    }
 }
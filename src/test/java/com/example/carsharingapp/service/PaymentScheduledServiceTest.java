@@ -0,0 +1,154 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.exception.PaymentGatewayException;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Payment.Status;
+import com.example.carsharingapp.repository.PaymentRepository;
+import com.example.carsharingapp.repository.projection.PaymentSessionView;
+import com.example.carsharingapp.service.gateway.CheckoutSession;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
+import com.example.carsharingapp.service.payment.PaymentScheduledService;
+import com.example.carsharingapp.service.payment.PaymentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentScheduledServiceTest {
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentScheduledService paymentScheduledService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+        paymentScheduledService = new PaymentScheduledService(
+                paymentRepository, paymentService, paymentGateway, executor, meterRegistry,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(paymentScheduledService, "pageSize", PAGE_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("""
+            checkPaymentExpiration should page by id and expire each page with one update
+            """)
+    void checkPaymentExpiration_TwoPages_ShouldBatchUpdatesPerPage() throws Exception {
+        CheckoutSession expiredSession = session("expired");
+        CheckoutSession openSession = session("open");
+        when(paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, 0L, Limit.of(PAGE_SIZE)))
+                .thenReturn(List.of(view(1L, "cs_1"), view(2L, "cs_2")));
+        when(paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, 2L, Limit.of(PAGE_SIZE)))
+                .thenReturn(List.of(view(3L, "cs_3")));
+        when(paymentGateway.getSession("cs_1")).thenReturn(expiredSession);
+        when(paymentGateway.getSession("cs_2")).thenReturn(openSession);
+        when(paymentGateway.getSession("cs_3")).thenReturn(expiredSession);
+        when(paymentRepository.updateStatusByIds(any(), any(), any())).thenReturn(1);
+
+        paymentScheduledService.checkPaymentExpiration();
+
+        verify(paymentRepository).updateStatusByIds(List.of(1L), Status.PENDING,
+                Status.EXPIRED);
+        verify(paymentRepository).updateStatusByIds(List.of(3L), Status.PENDING,
+                Status.EXPIRED);
+        assertEquals(3, meterRegistry.counter("payment.reconciliation.sessions.checked")
+                .count());
+        assertEquals(2, meterRegistry.counter("payment.reconciliation.payments.expired")
+                .count());
+        assertEquals(1, meterRegistry.timer("payment.reconciliation.duration").count());
+    }
+
+    @Test
+    @DisplayName("checkPaymentExpiration should skip sessions whose check fails")
+    void checkPaymentExpiration_FailingCalls_ShouldSkipPayments() throws Exception {
+        when(paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, 0L, Limit.of(PAGE_SIZE)))
+                .thenReturn(List.of(view(1L, "cs_1"), view(2L, "cs_2")));
+        when(paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, 2L, Limit.of(PAGE_SIZE)))
+                .thenReturn(List.of());
+        when(paymentGateway.getSession("cs_1"))
+                .thenThrow(new PaymentGatewayException("Connection refused"));
+        when(paymentGateway.getSession("cs_2"))
+                .thenThrow(new PaymentGatewayException("Read timed out"));
+
+        paymentScheduledService.checkPaymentExpiration();
+
+        verify(paymentRepository, never()).updateStatusByIds(any(), any(), any());
+        verify(paymentGateway, times(2)).getSession(any());
+    }
+
+    @Test
+    @DisplayName("checkPaymentExpiration should not ask Stripe about fines without a session")
+    void checkPaymentExpiration_PaymentWithoutSession_ShouldSkipStripe() throws Exception {
+        when(paymentRepository.findSessionViewsByStatusAfter(
+                Status.PENDING, 0L, Limit.of(PAGE_SIZE)))
+                .thenReturn(List.of(view(1L, null)));
+
+        paymentScheduledService.checkPaymentExpiration();
+
+        verify(paymentGateway, never()).getSession(any());
+        verify(paymentRepository, never()).updateStatusByIds(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("attachMissingSessions should create sessions for pending payments without one")
+    void attachMissingSessions_PendingWithoutSession_ShouldAttach() {
+        when(paymentRepository.findAllByStatusAndSessionIdIsNullOrderByIdAsc(
+                Status.PENDING, Limit.of(PAGE_SIZE)))
+                .thenReturn(List.of(payment(1L, null), payment(2L, null)));
+
+        paymentScheduledService.attachMissingSessions();
+
+        verify(paymentService, times(1)).attachCheckoutSession(1L);
+        verify(paymentService, times(1)).attachCheckoutSession(2L);
+    }
+
+    private Payment payment(Long id, String sessionId) {
+        return new Payment().setId(id).setSessionId(sessionId).setStatus(Status.PENDING);
+    }
+
+    private PaymentSessionView view(Long id, String sessionId) {
+        return new PaymentSessionView(id, sessionId);
+    }
+
+    private CheckoutSession session(String status) {
+        return new CheckoutSession(null, null, status, "unpaid");
+    }
+}
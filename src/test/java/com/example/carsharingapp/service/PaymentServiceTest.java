@@ -1,6 +1,7 @@
 package com.example.carsharingapp.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -15,12 +16,15 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.payment.CreatePaymentSessionRequestDto;
 import com.example.carsharingapp.dto.payment.PaymentDto;
 import com.example.carsharingapp.exception.AuthorityException;
 import com.example.carsharingapp.exception.EntityNotFoundException;
+import com.example.carsharingapp.exception.PaymentGatewayException;
 import com.example.carsharingapp.mapper.PaymentMapper;
 import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.OutboxEvent;
 import com.example.carsharingapp.model.Payment;
 import com.example.carsharingapp.model.Payment.Status;
 import com.example.carsharingapp.model.Payment.Type;
@@ -28,22 +32,29 @@ import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.repository.PaymentRepository;
 import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.service.gateway.CheckoutSession;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.pagination.PageCursor;
 import com.example.carsharingapp.service.payment.PaymentServiceImpl;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -52,6 +63,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 public class PaymentServiceTest {
@@ -70,11 +83,18 @@ public class PaymentServiceTest {
     @Mock
     private PaymentMapper paymentMapper;
     @Mock
-    private StripeService stripeService;
+    private PaymentGateway paymentGateway;
     @Mock
     private Authentication authentication;
     @Mock
-    private NotificationService notificationService;
+    private OutboxService outboxService;
+    @Mock
+    private ExecutorService paymentSessionExecutor;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private PaymentServiceImpl paymentService;
@@ -129,14 +149,16 @@ public class PaymentServiceTest {
         expectedDto = new PaymentDto();
         lenient().when(paymentMapper.toDto(any(Payment.class))).thenReturn(expectedDto);
 
-        lenient().when(authentication.getPrincipal()).thenReturn(testUser);
+        lenient().when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(testUser));
         lenient().when(authentication.getAuthorities()).thenReturn(Collections.emptyList());
     }
 
     private void setupManagerAuth() {
         Collection<GrantedAuthority> managerAuthorities =
                 List.of(new SimpleGrantedAuthority("ROLE_MANAGER"));
-        when(authentication.getPrincipal()).thenReturn(testManager);
+        when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(testManager));
         when(authentication.getAuthorities()).thenReturn((Collection) managerAuthorities);
     }
 
@@ -144,16 +166,16 @@ public class PaymentServiceTest {
     @DisplayName("findAll should return payments for the current user when not MANAGER")
     void findAll_NonManager_ShouldFilterByCurrentUser() {
         Long targetUserId = 99L;
-        List<Payment> userPayments = List.of(pendingPayment);
-        Page<Payment> page = new PageImpl<>(userPayments, PAGEABLE, 1);
+        Page<PaymentDto> page = new PageImpl<>(List.of(expectedDto), PAGEABLE, 1);
 
-        when(paymentRepository.findAllByRentalUserId(
+        when(paymentRepository.findAllDtosByRentalUserId(
                 eq(testUser.getId()), eq(PAGEABLE))).thenReturn(page);
         paymentService.findAll(targetUserId, PAGEABLE, authentication);
 
-        verify(paymentRepository, times(1)).findAllByRentalUserId(eq(
+        verify(paymentRepository, times(1)).findAllDtosByRentalUserId(eq(
                 testUser.getId()), eq(PAGEABLE));
-        verify(paymentRepository, never()).findAllByRentalUserId(eq(targetUserId), eq(PAGEABLE));
+        verify(paymentRepository, never()).findAllDtosByRentalUserId(eq(targetUserId),
+                eq(PAGEABLE));
     }
 
     @Test
@@ -162,18 +184,49 @@ public class PaymentServiceTest {
         setupManagerAuth();
 
         Long targetUserId = 99L;
-        List<Payment> userPayments = List.of(pendingPayment);
-        Page<Payment> page = new PageImpl<>(userPayments, PAGEABLE, 1);
+        Page<PaymentDto> page = new PageImpl<>(List.of(expectedDto), PAGEABLE, 1);
 
-        when(paymentRepository.findAllByRentalUserId(eq(targetUserId), eq(PAGEABLE)))
+        when(paymentRepository.findAllDtosByRentalUserId(eq(targetUserId), eq(PAGEABLE)))
                 .thenReturn(page);
 
         paymentService.findAll(targetUserId, PAGEABLE, authentication);
 
-        verify(paymentRepository, times(1)).findAllByRentalUserId(
+        verify(paymentRepository, times(1)).findAllDtosByRentalUserId(
                 eq(targetUserId), eq(PAGEABLE));
     }
 
+    @Test
+    @DisplayName("findAllAfter should seek the current user's payments by id when not MANAGER")
+    void findAllAfter_NonManager_ShouldSeekOwnPaymentsById() {
+        PaymentDto newerPayment = new PaymentDto();
+        newerPayment.setId(PAYMENT_ID);
+        PaymentDto olderPayment = new PaymentDto();
+        olderPayment.setId(PAYMENT_ID - 1);
+        when(paymentRepository.findDtosByRentalUserIdAfter(
+                testUser.getId(), 100L, Limit.of(2)))
+                .thenReturn(List.of(newerPayment, olderPayment));
+
+        CursorPageDto<PaymentDto> actualPage = paymentService.findAllAfter(
+                99L, PageCursor.encode(100L), 1, authentication);
+
+        assertEquals(List.of(newerPayment), actualPage.getContent());
+        assertEquals(PageCursor.encode(PAYMENT_ID), actualPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("findAllAfter should return the newest payments of everyone for a MANAGER")
+    void findAllAfter_ManagerFirstPage_ShouldReturnAllPayments() {
+        setupManagerAuth();
+        when(paymentRepository.findFirstDtos(Limit.of(21)))
+                .thenReturn(List.of(expectedDto));
+
+        CursorPageDto<PaymentDto> actualPage = paymentService.findAllAfter(
+                null, null, 20, authentication);
+
+        assertEquals(List.of(expectedDto), actualPage.getContent());
+        assertNull(actualPage.getNextCursor());
+    }
+
     @Test
     @DisplayName("findById should return payment for the owner user")
     void findById_OwnerUser_ShouldReturnDto() {
@@ -217,7 +270,8 @@ public class PaymentServiceTest {
     void findById_UnauthorizedUser_ShouldThrowAuthorityException() {
         User unauthorizedUser = new User();
         unauthorizedUser.setId(99L);
-        when(authentication.getPrincipal()).thenReturn(unauthorizedUser);
+        when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(unauthorizedUser));
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
 
@@ -231,12 +285,10 @@ public class PaymentServiceTest {
             Checkout with valid request should successfully create and save a new PENDING payment
             and return PaymentDto
             """)
-    public void checkout_withValidRequest_ShouldReturnPaymentDto() throws StripeException {
+    public void checkout_withValidRequest_ShouldReturnPaymentDto() {
         Payment newPayment = new Payment();
 
-        Session mockSession = mock(Session.class);
-        when(mockSession.getId()).thenReturn(SESSION_ID);
-        when(mockSession.getUrl()).thenReturn("http://stripe.url");
+        CheckoutSession mockSession = new CheckoutSession(SESSION_ID, "http://stripe.url", "open", "unpaid");
 
         when(rentalRepository.findRentalById(requestDto.getRentalId())).thenReturn(
                 Optional.of(testRental));
@@ -244,7 +296,7 @@ public class PaymentServiceTest {
                 Optional.empty());
         when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(anyLong(), any(),
                 any())).thenReturn(false);
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
         when(paymentRepository.save(any(Payment.class))).thenReturn(newPayment);
 
         PaymentDto actualDto = paymentService.checkout(requestDto, authentication);
@@ -252,7 +304,7 @@ public class PaymentServiceTest {
         assertEquals(expectedDto, actualDto,
                 "The returned DTO should match the expected DTO.");
         verify(paymentRepository, times(1)).save(any(Payment.class));
-        verify(stripeService, times(1)).createCheckoutSession(
+        verify(paymentGateway, times(1)).createCheckoutSession(
                 argThat(amount -> amount.compareTo(EXPECTED_RENTAL_AMOUNT) == 0),
                 contains("success?session_id"),
                 contains("cancel?session_id")
@@ -261,16 +313,14 @@ public class PaymentServiceTest {
 
     @Test
     @DisplayName("Checkout should succeed when MANAGER creates payment for another user's rental")
-    void checkout_Manager_ShouldSucceedForAnyRental() throws StripeException {
+    void checkout_Manager_ShouldSucceedForAnyRental() {
         setupManagerAuth();
 
         User otherUser = new User();
         otherUser.setId(99L);
         testRental.setUser(otherUser);
 
-        Session mockSession = mock(Session.class);
-        when(mockSession.getId()).thenReturn(SESSION_ID);
-        when(mockSession.getUrl()).thenReturn("http://stripe.url");
+        CheckoutSession mockSession = new CheckoutSession(SESSION_ID, "http://stripe.url", "open", "unpaid");
 
         when(rentalRepository.findRentalById(requestDto.getRentalId()))
                 .thenReturn(Optional.of(testRental));
@@ -278,18 +328,18 @@ public class PaymentServiceTest {
                 .thenReturn(Optional.empty());
         when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(anyLong(), any(), any()))
                 .thenReturn(false);
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
         when(paymentRepository.save(any(Payment.class))).thenAnswer(i -> i.getArgument(0));
 
         paymentService.checkout(requestDto, authentication);
 
-        verify(stripeService, times(1)).createCheckoutSession(
+        verify(paymentGateway, times(1)).createCheckoutSession(
                 any(), any(), any());
     }
 
     @Test
     @DisplayName("Checkout should throw EntityNotFoundException if Rental is not found")
-    void checkout_RentalNotFound_ShouldThrowException() throws StripeException {
+    void checkout_RentalNotFound_ShouldThrowException() {
         when(rentalRepository.findRentalById(requestDto.getRentalId())).thenReturn(
                 Optional.empty());
 
@@ -297,7 +347,7 @@ public class PaymentServiceTest {
                 () -> paymentService.checkout(requestDto, authentication),
                 "Should throw EntityNotFoundException when rental is missing.");
 
-        verify(stripeService, never()).createCheckoutSession(any(), any(), any());
+        verify(paymentGateway, never()).createCheckoutSession(any(), any(), any());
         verify(paymentRepository, never()).save(any(Payment.class));
     }
 
@@ -307,7 +357,8 @@ public class PaymentServiceTest {
         User unauthorizedUser = new User();
         unauthorizedUser.setId(99L);
 
-        when(authentication.getPrincipal()).thenReturn(unauthorizedUser);
+        when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(unauthorizedUser));
         when(authentication.getAuthorities()).thenReturn(Collections.emptyList());
 
         when(rentalRepository.findRentalById(requestDto.getRentalId())).thenReturn(
@@ -340,7 +391,7 @@ public class PaymentServiceTest {
     @Test
     @DisplayName("Checkout should throw IllegalStateException if a PAID payment already exists "
             + "for this rental")
-    void checkout_PaymentAlreadyPaid_ShouldThrowException() throws StripeException {
+    void checkout_PaymentAlreadyPaid_ShouldThrowException() {
         when(rentalRepository.findRentalById(requestDto.getRentalId())).thenReturn(
                 Optional.of(testRental));
         when(paymentRepository.findByRentalIdAndTypeAndStatus(anyLong(), any(), any()))
@@ -355,18 +406,17 @@ public class PaymentServiceTest {
                 "Should throw IllegalStateException because this rental/type has already "
                         + "been paid for.");
 
-        verify(stripeService, never()).createCheckoutSession(any(), any(), any());
+        verify(paymentGateway, never()).createCheckoutSession(any(), any(), any());
     }
 
     @Test
     @DisplayName("Checkout should throw IllegalStateException if active PENDING payment "
             + "already exists")
-    void checkout_ActivePendingPaymentExists_ShouldThrowException() throws StripeException {
+    void checkout_ActivePendingPaymentExists_ShouldThrowException() {
         Payment existingPayment = new Payment();
         existingPayment.setSessionId("cs_active");
 
-        Session mockSession = mock(Session.class);
-        when(mockSession.getStatus()).thenReturn("open");
+        CheckoutSession mockSession = new CheckoutSession(null, null, "open", "unpaid");
 
         when(rentalRepository.findRentalById(requestDto.getRentalId())).thenReturn(
                 Optional.of(testRental));
@@ -375,7 +425,7 @@ public class PaymentServiceTest {
                 .thenReturn(Optional.of(existingPayment));
         lenient().when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(anyLong(), any(),
                 any())).thenReturn(false);
-        when(stripeService.getSession("cs_active")).thenReturn(mockSession);
+        when(paymentGateway.getSession("cs_active")).thenReturn(mockSession);
 
         assertThrows(IllegalStateException.class,
                 () -> paymentService.checkout(requestDto, authentication),
@@ -383,26 +433,26 @@ public class PaymentServiceTest {
                         + "exists.");
 
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(stripeService, never()).createCheckoutSession(any(), any(), any());
+        verify(paymentGateway, never()).createCheckoutSession(any(), any(), any());
     }
 
     @Test
     @DisplayName("Checkout should cancel expired PENDING payment and create a new one")
-    void checkout_ExpiredPendingPaymentExists_ShouldCancelAndCreateNew() throws StripeException {
+    void checkout_ExpiredPendingPaymentExists_ShouldCancelAndCreateNew() {
         Payment expiredPayment = new Payment();
         expiredPayment.setSessionId("cs_expired");
         expiredPayment.setStatus(Status.PENDING);
         expiredPayment.setId(99L);
 
-        Session expiredStripeSession = mock(Session.class);
-        when(expiredStripeSession.getStatus()).thenReturn("complete");
+        final CheckoutSession expiredStripeSession = new CheckoutSession(null, null,
+                "complete", "unpaid");
 
         Payment newPayment = new Payment();
         newPayment.setId(PAYMENT_ID);
         newPayment.setAmountToPay(EXPECTED_RENTAL_AMOUNT);
 
-        Session newStripeSession = mock(Session.class);
-        when(newStripeSession.getId()).thenReturn("cs_new");
+        final CheckoutSession newStripeSession = new CheckoutSession("cs_new", null,
+                "open", "unpaid");
 
         when(rentalRepository.findRentalById(requestDto.getRentalId())).thenReturn(
                 Optional.of(testRental));
@@ -412,13 +462,14 @@ public class PaymentServiceTest {
         when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(anyLong(), any(),
                 any())).thenReturn(false);
 
-        when(stripeService.getSession("cs_expired")).thenReturn(expiredStripeSession);
+        when(paymentGateway.getSession("cs_expired")).thenReturn(expiredStripeSession);
         lenient().when(paymentRepository.save(expiredPayment)).thenAnswer(invocation -> {
             expiredPayment.setStatus(Status.CANCELLED);
             return expiredPayment;
         });
 
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(newStripeSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any()))
+                .thenReturn(newStripeSession);
         when(paymentRepository.save(any(Payment.class))).thenReturn(newPayment);
 
         paymentService.checkout(requestDto, authentication);
@@ -427,7 +478,7 @@ public class PaymentServiceTest {
         assertEquals(Status.CANCELLED, expiredPayment.getStatus(),
                 "Old payment should be CANCELLED.");
 
-        verify(stripeService, times(1)).createCheckoutSession(
+        verify(paymentGateway, times(1)).createCheckoutSession(
                 argThat(amount -> amount.compareTo(EXPECTED_RENTAL_AMOUNT) == 0),
                 any(),
                 any()
@@ -453,13 +504,11 @@ public class PaymentServiceTest {
 
     @Test
     @DisplayName("Checkout should calculate minimum 1 day for same-day rental")
-    void checkout_SameDayRental_ShouldChargeMinimumOneDay() throws StripeException {
+    void checkout_SameDayRental_ShouldChargeMinimumOneDay() {
         testRental.setRentalDate(LocalDate.of(2025, 10, 10));
         testRental.setReturnDate(LocalDate.of(2025, 10, 10));
 
-        Session mockSession = mock(Session.class);
-        when(mockSession.getId()).thenReturn(SESSION_ID);
-        when(mockSession.getUrl()).thenReturn("http://stripe.url");
+        CheckoutSession mockSession = new CheckoutSession(SESSION_ID, "http://stripe.url", "open", "unpaid");
 
         when(rentalRepository.findRentalById(requestDto.getRentalId()))
                 .thenReturn(Optional.of(testRental));
@@ -467,23 +516,22 @@ public class PaymentServiceTest {
                 .thenReturn(Optional.empty());
         when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(anyLong(), any(), any()))
                 .thenReturn(false);
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
         when(paymentRepository.save(any(Payment.class))).thenAnswer(i -> i.getArgument(0));
 
         paymentService.checkout(requestDto, authentication);
 
-        verify(stripeService).createCheckoutSession(eq(DAILY_FEE), anyString(), anyString());
+        verify(paymentGateway).createCheckoutSession(eq(DAILY_FEE), anyString(), anyString());
     }
 
     @Test
     @DisplayName("handleSuccess should update payment status to PAID and send notification on "
             + "successful Stripe session")
-    void handleSuccess_SuccessfulPayment_ShouldUpdateStatusAndNotify() throws StripeException {
-        Session successfulStripeSession = mock(Session.class);
-        when(successfulStripeSession.getPaymentStatus()).thenReturn("paid");
+    void handleSuccess_SuccessfulPayment_ShouldUpdateStatusAndNotify() {
+        CheckoutSession successfulStripeSession = new CheckoutSession(null, null, "open", "paid");
 
         when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(pendingPayment));
-        when(stripeService.getSession(SESSION_ID)).thenReturn(successfulStripeSession);
+        when(paymentGateway.getSession(SESSION_ID)).thenReturn(successfulStripeSession);
         when(paymentRepository.save(any(Payment.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -493,15 +541,52 @@ public class PaymentServiceTest {
         assertEquals(Status.PAID, pendingPayment.getStatus(),
                 "Payment status must be PAID.");
 
-        verify(notificationService, times(1)).sendMessage(
-                contains("SUCCESSFUL PAYMENT!")
-        );
+        verify(outboxService, times(1)).record(eq(OutboxEvent.Type.PAYMENT_PAID),
+                eq("payment-paid:" + PAYMENT_ID), contains("SUCCESSFUL PAYMENT!"));
+        assertEquals(1, meterRegistry.counter("payment.paid", "type", "PAYMENT").count());
+    }
+
+    @Test
+    @DisplayName("markPaid should mark every PENDING payment of the sessions as PAID without "
+            + "calling Stripe")
+    void markPaid_PendingPayments_ShouldUpdateStatusAndNotify() {
+        when(paymentRepository.findAllBySessionIdInAndStatus(List.of(SESSION_ID), Status.PENDING))
+                .thenReturn(List.of(pendingPayment));
+
+        paymentService.markPaid(List.of(SESSION_ID));
+
+        assertEquals(Status.PAID, pendingPayment.getStatus());
+        verify(paymentRepository, times(1)).saveAll(List.of(pendingPayment));
+        verify(outboxService, times(1)).record(eq(OutboxEvent.Type.PAYMENT_PAID),
+                eq("payment-paid:" + PAYMENT_ID), contains("SUCCESSFUL PAYMENT!"));
+        verify(paymentGateway, never()).getSession(anyString());
+    }
+
+    @Test
+    @DisplayName("markPaid should ignore a late success for a payment that is no longer PENDING")
+    void markPaid_ExpiredPayment_ShouldNotChangeStatus() {
+        when(paymentRepository.findAllBySessionIdInAndStatus(List.of(SESSION_ID), Status.PENDING))
+                .thenReturn(List.of());
+
+        paymentService.markPaid(List.of(SESSION_ID));
+
+        verify(paymentRepository, times(1)).saveAll(List.of());
+        verify(outboxService, never()).record(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("markExpired should expire only PENDING payments in a single update")
+    void markExpired_PendingPayments_ShouldRunOneBulkUpdate() {
+        when(paymentRepository.updateStatusBySessionIds(
+                List.of(SESSION_ID), Status.PENDING, Status.EXPIRED)).thenReturn(1);
+
+        assertEquals(1, paymentService.markExpired(List.of(SESSION_ID)));
     }
 
     @Test
     @DisplayName("handleSuccess should throw EntityNotFoundException if payment is not found by "
             + "session ID")
-    void handleSuccess_PaymentNotFound_ShouldThrowException() throws StripeException {
+    void handleSuccess_PaymentNotFound_ShouldThrowException() {
         when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
@@ -509,40 +594,39 @@ public class PaymentServiceTest {
                 "Should throw EntityNotFoundException if no payment matches "
                         + "the session ID.");
 
-        verify(stripeService, never()).getSession(anyString());
+        verify(paymentGateway, never()).getSession(anyString());
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
     @DisplayName("handleSuccess should throw IllegalStateException if Stripe session is not paid")
-    void handleSuccess_StripeSessionNotPaid_ShouldThrowException() throws StripeException {
-        Session failedStripeSession = mock(Session.class);
-        when(failedStripeSession.getPaymentStatus()).thenReturn("unpaid");
+    void handleSuccess_StripeSessionNotPaid_ShouldThrowException() {
+        CheckoutSession failedStripeSession = new CheckoutSession(null, null, "open", "unpaid");
 
         when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(pendingPayment));
-        when(stripeService.getSession(SESSION_ID)).thenReturn(failedStripeSession);
+        when(paymentGateway.getSession(SESSION_ID)).thenReturn(failedStripeSession);
 
         assertThrows(IllegalStateException.class,
                 () -> paymentService.handleSuccess(SESSION_ID),
                 "Should throw IllegalStateException if session status is not 'paid'.");
 
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
     @DisplayName("handleSuccess should return DTO immediately if payment is already PAID")
-    void handleSuccess_AlreadyPaid_ShouldReturnDtoWithoutApiCall() throws StripeException {
+    void handleSuccess_AlreadyPaid_ShouldReturnDtoWithoutApiCall() {
         pendingPayment.setStatus(Status.PAID);
         when(paymentRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.of(pendingPayment));
 
         PaymentDto result = paymentService.handleSuccess(SESSION_ID);
 
         assertEquals(expectedDto, result);
-        verify(stripeService, never()).getSession(anyString());
+        verify(paymentGateway, never()).getSession(anyString());
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
@@ -567,7 +651,7 @@ public class PaymentServiceTest {
 
         assertEquals(expectedDto, result);
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
@@ -582,7 +666,7 @@ public class PaymentServiceTest {
                         + "PAID payment.");
 
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
@@ -597,7 +681,7 @@ public class PaymentServiceTest {
                         + "session ID.");
 
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
@@ -615,7 +699,8 @@ public class PaymentServiceTest {
     void renewPaymentSession_UnauthorizedUser_ShouldThrowAuthorityException() {
         User unauthorizedUser = new User();
         unauthorizedUser.setId(99L);
-        when(authentication.getPrincipal()).thenReturn(unauthorizedUser);
+        when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(unauthorizedUser));
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
 
@@ -626,24 +711,22 @@ public class PaymentServiceTest {
 
     @Test
     @DisplayName("renewPaymentSession should succeed when MANAGER renews another user's payment")
-    void renewPaymentSession_Manager_ShouldSucceedForAnyPayment() throws StripeException {
+    void renewPaymentSession_Manager_ShouldSucceedForAnyPayment() {
         setupManagerAuth(); // ← Use here
 
         User otherUser = new User();
         otherUser.setId(99L);
         testRental.setUser(otherUser);
         pendingPayment.setStatus(Status.CANCELLED);
-        Session newSession = mock(Session.class);
-        when(newSession.getId()).thenReturn("cs_new_session");
-        when(newSession.getUrl()).thenReturn("http://new.url");
+        CheckoutSession newSession = new CheckoutSession("cs_new_session", "http://new.url", "open", "unpaid");
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(newSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(newSession);
         when(paymentRepository.save(any(Payment.class))).thenAnswer(i -> i.getArgument(0));
 
         paymentService.renewPaymentSession(PAYMENT_ID, authentication);
 
-        verify(stripeService, times(1)).createCheckoutSession(
+        verify(paymentGateway, times(1)).createCheckoutSession(
                 any(), any(), any());
     }
 
@@ -661,12 +744,11 @@ public class PaymentServiceTest {
     @Test
     @DisplayName("renewPaymentSession should throw IllegalStateException if PENDING session is "
             + "still open")
-    void renewPaymentSession_ActiveSession_ShouldThrowException() throws StripeException {
-        Session mockSession = mock(Session.class);
-        when(mockSession.getStatus()).thenReturn("open");
+    void renewPaymentSession_ActiveSession_ShouldThrowException() {
+        CheckoutSession mockSession = new CheckoutSession(null, null, "open", "unpaid");
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
-        when(stripeService.getSession(SESSION_ID)).thenReturn(mockSession);
+        when(paymentGateway.getSession(SESSION_ID)).thenReturn(mockSession);
 
         assertThrows(IllegalStateException.class,
                 () -> paymentService.renewPaymentSession(PAYMENT_ID, authentication),
@@ -675,33 +757,29 @@ public class PaymentServiceTest {
 
     @Test
     @DisplayName("renewPaymentSession should create new session for CANCELLED payment")
-    void renewPaymentSession_CancelledPayment_ShouldCreateNewSession() throws StripeException {
+    void renewPaymentSession_CancelledPayment_ShouldCreateNewSession() {
         pendingPayment.setStatus(Status.CANCELLED);
 
-        Session newSession = mock(Session.class);
-        when(newSession.getId()).thenReturn("cs_new_session");
-        when(newSession.getUrl()).thenReturn("http://new.url");
+        CheckoutSession newSession = new CheckoutSession("cs_new_session", "http://new.url", "open", "unpaid");
 
         when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(newSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(newSession);
         when(paymentRepository.save(any(Payment.class))).thenAnswer(i -> i.getArgument(0));
 
         paymentService.renewPaymentSession(PAYMENT_ID, authentication);
 
-        verify(stripeService, never()).getSession(anyString());
-        verify(stripeService, times(1)).createCheckoutSession(
+        verify(paymentGateway, never()).getSession(anyString());
+        verify(paymentGateway, times(1)).createCheckoutSession(
                 any(), any(), any());
     }
 
     @Test
     @DisplayName("Checkout should calculate FINE correctly with OVERDUE_MULTIPLIER")
-    void checkout_FinePayment_ShouldCalculateCorrectAmount() throws StripeException {
+    void checkout_FinePayment_ShouldCalculateCorrectAmount() {
         testRental.setActualReturnDate(LocalDate.of(2025, 10, 14));
         requestDto.setType(Type.FINE);
 
-        Session mockSession = mock(Session.class);
-        when(mockSession.getId()).thenReturn(SESSION_ID);
-        when(mockSession.getUrl()).thenReturn("http://stripe.url");
+        CheckoutSession mockSession = new CheckoutSession(SESSION_ID, "http://stripe.url", "open", "unpaid");
 
         when(rentalRepository.findRentalById(requestDto.getRentalId()))
                 .thenReturn(Optional.of(testRental));
@@ -709,15 +787,65 @@ public class PaymentServiceTest {
                 .thenReturn(Optional.empty());
         when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(anyLong(), any(), any()))
                 .thenReturn(false);
-        when(stripeService.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(mockSession);
         when(paymentRepository.save(any(Payment.class))).thenAnswer(i -> i.getArgument(0));
 
         paymentService.checkout(requestDto, authentication);
 
-        verify(stripeService, times(1)).createCheckoutSession(
+        verify(paymentGateway, times(1)).createCheckoutSession(
                 argThat(amount -> amount.compareTo(EXPECTED_FINE_AMOUNT) == 0),
                 anyString(),
                 anyString()
         );
     }
+
+    @Test
+    @DisplayName("createPendingFine should store the fine without calling Stripe")
+    void createPendingFine_LateReturn_ShouldSaveFineAndScheduleSession() {
+        testRental.setActualReturnDate(LocalDate.of(2025, 10, 14));
+        when(paymentRepository.existsByRentalIdAndTypeAndStatusIn(
+                RENTAL_ID, Type.FINE, List.of(Status.PAID))).thenReturn(false);
+        when(paymentRepository.save(any(Payment.class)))
+                .thenAnswer(i -> i.<Payment>getArgument(0).setId(PAYMENT_ID));
+
+        paymentService.createPendingFine(testRental);
+
+        verify(paymentRepository, times(1)).save(argThat(payment ->
+                payment.getType() == Type.FINE
+                        && payment.getStatus() == Status.PENDING
+                        && payment.getSessionId() == null
+                        && payment.getAmountToPay().compareTo(EXPECTED_FINE_AMOUNT) == 0));
+        verify(paymentSessionExecutor, times(1)).execute(any(Runnable.class));
+        verify(paymentGateway, never()).createCheckoutSession(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findById should create the Stripe session of a fine that has none yet")
+    void findById_PendingWithoutSession_ShouldAttachSession() {
+        pendingPayment.setSessionId(null);
+        CheckoutSession newSession = new CheckoutSession("cs_fine", "http://fine.url", "open", "unpaid");
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
+        when(paymentGateway.createCheckoutSession(any(), any(), any())).thenReturn(newSession);
+        when(paymentRepository.updateSessionIfAbsent(PAYMENT_ID, "cs_fine", "http://fine.url"))
+                .thenReturn(1);
+
+        paymentService.findById(PAYMENT_ID, authentication);
+
+        assertEquals("cs_fine", pendingPayment.getSessionId());
+        assertEquals("http://fine.url", pendingPayment.getSessionUrl());
+    }
+
+    @Test
+    @DisplayName("attachCheckoutSession should leave the fine for a retry when Stripe fails")
+    void attachCheckoutSession_StripeFailure_ShouldNotUpdate() {
+        pendingPayment.setSessionId(null);
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(pendingPayment));
+        when(paymentGateway.createCheckoutSession(any(), any(), any()))
+                .thenThrow(new PaymentGatewayException("Connection refused"));
+
+        paymentService.attachCheckoutSession(PAYMENT_ID);
+
+        assertNull(pendingPayment.getSessionId());
+        verify(paymentRepository, never()).updateSessionIfAbsent(any(), any(), any());
+    }
 }
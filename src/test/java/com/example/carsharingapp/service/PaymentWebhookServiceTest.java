@@ -0,0 +1,151 @@
+package com.example.carsharingapp.service;
+
+import static com.example.carsharingapp.stub.StripeWebhookStub.recordedPayload;
+import static com.example.carsharingapp.stub.StripeWebhookStub.signatureHeader;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.exception.WebhookException;
+import com.example.carsharingapp.model.Payment.Status;
+import com.example.carsharingapp.model.PaymentWebhookEvent;
+import com.example.carsharingapp.repository.PaymentWebhookEventRepository;
+import com.example.carsharingapp.service.payment.PaymentService;
+import com.example.carsharingapp.service.payment.PaymentWebhookServiceImpl;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentWebhookServiceTest {
+    private static final String WEBHOOK_SECRET = "whsec_test_secret";
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private PaymentWebhookEventRepository webhookEventRepository;
+    @Mock
+    private PaymentService paymentService;
+
+    @InjectMocks
+    private PaymentWebhookServiceImpl paymentWebhookService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentWebhookService, "webhookSecret", WEBHOOK_SECRET);
+        ReflectionTestUtils.setField(paymentWebhookService, "batchSize", BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("ingest should queue a paid checkout.session.completed event")
+    void ingest_CompletedPaidSession_ShouldQueueEvent() {
+        when(webhookEventRepository.insertIfAbsent(anyString(), anyString(), anyString(),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        replay("checkout-session-completed");
+
+        verify(webhookEventRepository).insertIfAbsent(eq("evt_1SCompletedA1b2C3d4"),
+                eq("cs_test_completed_a1b2c3"), eq("PAID"), any(LocalDateTime.class));
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    @DisplayName("ingest should queue a checkout.session.expired event")
+    void ingest_ExpiredSession_ShouldQueueEvent() {
+        when(webhookEventRepository.insertIfAbsent(anyString(), anyString(), anyString(),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        replay("checkout-session-expired");
+
+        verify(webhookEventRepository).insertIfAbsent(eq("evt_1SExpiredG7h8I9"),
+                eq("cs_test_expired_g7h8i9"), eq("EXPIRED"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("ingest should accept redelivered events without failing")
+    void ingest_RedeliveredEvent_ShouldBeIgnoredByInbox() {
+        when(webhookEventRepository.insertIfAbsent(anyString(), anyString(), anyString(),
+                any(LocalDateTime.class))).thenReturn(1, 0);
+
+        replay("checkout-session-completed");
+        replay("checkout-session-completed");
+
+        verify(webhookEventRepository, times(2)).insertIfAbsent(eq("evt_1SCompletedA1b2C3d4"),
+                anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("ingest should skip unpaid sessions and unrelated event types")
+    void ingest_IrrelevantEvents_ShouldNotQueueAnything() {
+        replay("checkout-session-completed-unpaid");
+        replay("payment-intent-created");
+
+        verify(webhookEventRepository, never()).insertIfAbsent(anyString(), anyString(),
+                anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("ingest should reject payloads with an invalid signature")
+    void ingest_InvalidSignature_ShouldThrowWebhookException() {
+        String payload = recordedPayload("checkout-session-completed");
+        String signature = signatureHeader(payload, "whsec_another_secret");
+
+        assertThrows(WebhookException.class,
+                () -> paymentWebhookService.ingest(payload, signature));
+        verifyNoInteractions(webhookEventRepository);
+    }
+
+    @Test
+    @DisplayName("processPendingEvents should apply queued events in one batch per status")
+    void processPendingEvents_QueuedEvents_ShouldApplyInBatches() {
+        when(webhookEventRepository.findAllByProcessedFalseOrderByReceivedAt(
+                PageRequest.of(0, BATCH_SIZE))).thenReturn(List.of(
+                        event("evt_1", "cs_1", Status.PAID),
+                        event("evt_2", "cs_2", Status.EXPIRED),
+                        event("evt_3", "cs_3", Status.PAID)));
+
+        paymentWebhookService.processPendingEvents();
+
+        verify(paymentService).markPaid(List.of("cs_1", "cs_3"));
+        verify(paymentService).markExpired(List.of("cs_2"));
+        verify(webhookEventRepository).markProcessed(List.of("evt_1", "evt_2", "evt_3"));
+    }
+
+    @Test
+    @DisplayName("processPendingEvents should do nothing when the inbox is empty")
+    void processPendingEvents_EmptyInbox_ShouldDoNothing() {
+        when(webhookEventRepository.findAllByProcessedFalseOrderByReceivedAt(
+                PageRequest.of(0, BATCH_SIZE))).thenReturn(List.of());
+
+        paymentWebhookService.processPendingEvents();
+
+        verifyNoInteractions(paymentService);
+        verify(webhookEventRepository, never()).markProcessed(any());
+    }
+
+    private void replay(String recordedEvent) {
+        String payload = recordedPayload(recordedEvent);
+        paymentWebhookService.ingest(payload, signatureHeader(payload, WEBHOOK_SECRET));
+    }
+
+    private PaymentWebhookEvent event(String eventId, String sessionId, Status status) {
+        return new PaymentWebhookEvent()
+                .setEventId(eventId)
+                .setSessionId(sessionId)
+                .setTargetStatus(status)
+                .setReceivedAt(LocalDateTime.now());
+    }
+}
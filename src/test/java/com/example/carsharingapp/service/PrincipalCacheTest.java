@@ -0,0 +1,140 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.config.CacheConfig;
+import com.example.carsharingapp.dto.user.UpdateUserProfileRequestDto;
+import com.example.carsharingapp.dto.user.UpdateUserRoleRequestDto;
+import com.example.carsharingapp.dto.user.UserDto;
+import com.example.carsharingapp.mapper.UserMapper;
+import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.security.CustomUserDetailsService;
+import com.example.carsharingapp.security.TokenVersionRegistry;
+import com.example.carsharingapp.service.user.UserService;
+import com.example.carsharingapp.service.user.UserServiceImpl;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@SpringBootTest(classes = {CacheConfig.class, CustomUserDetailsService.class,
+        UserServiceImpl.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+public class PrincipalCacheTest {
+    private static final Long USER_ID = 1L;
+    private static final String EMAIL = "customer@example.com";
+    private static final String NEW_EMAIL = "new.customer@example.com";
+    private static final int REQUESTS = 100;
+
+    @MockitoBean
+    private UserRepository userRepository;
+    @MockitoBean
+    private UserMapper userMapper;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+    @MockitoBean
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+    private UserDto userDto;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        user = new User().setId(USER_ID).setEmail(EMAIL).setRole(User.Role.CUSTOMER);
+        userDto = new UserDto();
+        userDto.setId(USER_ID);
+        userDto.setEmail(EMAIL);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userMapper.toDto(user)).thenReturn(userDto);
+    }
+
+    @Test
+    @DisplayName("loadPrincipal should query the users table once for repeated requests")
+    void loadPrincipal_RepeatedRequests_ShouldBeServedFromCache() {
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals(USER_ID, userDetailsService.loadPrincipal(EMAIL).getId());
+        }
+
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("loadPrincipal should cache a principal snapshot instead of the User entity")
+    void loadPrincipal_CachedValue_ShouldNotBeUserEntity() {
+        userDetailsService.loadPrincipal(EMAIL);
+
+        Object cached = cacheManager.getCache(CacheConfig.PRINCIPALS_CACHE).get(EMAIL).get();
+        assertInstanceOf(AuthenticatedPrincipal.class, cached);
+        assertFalse(cached instanceof User);
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should bypass the cache on the authentication path")
+    void loadUserByUsername_RepeatedRequests_ShouldQueryEachTime() {
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("updateUserRole should evict the cached principal")
+    void updateUserRole_CachedPrincipal_ShouldEvictEntry() {
+        userDetailsService.loadPrincipal(EMAIL);
+
+        userService.updateUserRole(USER_ID, new UpdateUserRoleRequestDto());
+        userDetailsService.loadPrincipal(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("updateUserProfile should evict the cached principal under the old email")
+    void updateUserProfile_ChangedEmail_ShouldEvictOldEntry() {
+        userDetailsService.loadPrincipal(EMAIL);
+        UserDto updatedDto = new UserDto();
+        updatedDto.setEmail(NEW_EMAIL);
+        when(userMapper.toDto(any(User.class))).thenReturn(updatedDto);
+
+        userService.updateUserProfile(AuthenticatedPrincipal.from(user),
+                new UpdateUserProfileRequestDto().setEmail(NEW_EMAIL));
+        userDetailsService.loadPrincipal(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("delete should evict the cached principal")
+    void delete_CachedPrincipal_ShouldEvictEntry() {
+        userDetailsService.loadPrincipal(EMAIL);
+
+        userService.delete(USER_ID);
+
+        assertNull(cacheManager.getCache(CacheConfig.PRINCIPALS_CACHE).get(EMAIL));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.carsharingapp.dto.rental.RentalReturnDto;
+import com.example.carsharingapp.mapper.PaymentMapper;
+import com.example.carsharingapp.mapper.RentalMapper;
+import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.Payment;
+import com.example.carsharingapp.model.Rental;
+import com.example.carsharingapp.model.User;
+import com.example.carsharingapp.repository.CarRepository;
+import com.example.carsharingapp.repository.PaymentRepository;
+import com.example.carsharingapp.repository.RentalRepository;
+import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.service.availability.AvailabilityService;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
+import com.example.carsharingapp.service.gateway.StripePaymentGateway;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.payment.PaymentServiceImpl;
+import com.example.carsharingapp.service.rental.RentalServiceImpl;
+import com.example.carsharingapp.stub.StripeApiStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class RentalReturnLatencyTest {
+    private static final long STRIPE_DELAY_MILLIS = 2000;
+    private static final Long RENTAL_ID = 1L;
+    private static final Long PAYMENT_ID = 7L;
+
+    @Mock
+    private RentalRepository rentalRepository;
+    @Mock
+    private RentalMapper rentalMapper;
+    @Mock
+    private CarRepository carRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AvailabilityService availabilityService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private PaymentMapper paymentMapper;
+    @Mock
+    private Authentication authentication;
+
+    private StripeApiStub stripeApiStub;
+    private ExecutorService paymentSessionExecutor;
+    private RentalServiceImpl rentalService;
+    private Rental lateRental;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stripeApiStub = new StripeApiStub(STRIPE_DELAY_MILLIS);
+        PaymentGateway paymentGateway = new StripePaymentGateway("sk_test_stub",
+                stripeApiStub.getBaseUrl(), 1000, 10000, 0);
+        paymentSessionExecutor = Executors.newSingleThreadExecutor();
+
+        PaymentServiceImpl paymentService = new PaymentServiceImpl(paymentRepository,
+                paymentMapper, paymentGateway, rentalRepository, outboxService,
+                paymentSessionExecutor, new SimpleMeterRegistry(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(paymentService, "baseUrl", "http://localhost:8080");
+        rentalService = new RentalServiceImpl(rentalRepository, rentalMapper, carRepository,
+                userRepository, availabilityService, outboxService, paymentRepository,
+                paymentService, new SimpleMeterRegistry());
+
+        User user = new User();
+        user.setId(100L);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setRole(User.Role.CUSTOMER);
+        Car car = new Car();
+        car.setId(10L);
+        car.setDailyFee(new BigDecimal("50.00"));
+        lateRental = new Rental();
+        lateRental.setId(RENTAL_ID);
+        lateRental.setUser(user);
+        lateRental.setCar(car);
+        lateRental.setRentalDate(LocalDate.now().minusDays(5));
+        lateRental.setReturnDate(LocalDate.now().minusDays(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentSessionExecutor.shutdownNow();
+        stripeApiStub.close();
+    }
+
+    @Test
+    @DisplayName("""
+            A late return should commit in DB time only while the fine's Stripe session
+            is created afterwards
+            """)
+    void setReturnDate_SlowStripe_ShouldNotWaitForSession() {
+        AtomicReference<Payment> fine = new AtomicReference<>();
+        when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(lateRental.getUser()));
+        when(authentication.getAuthorities()).thenReturn(Collections.emptyList());
+        when(rentalRepository.findRentalById(RENTAL_ID)).thenReturn(Optional.of(lateRental));
+        when(rentalMapper.toReturnDto(lateRental)).thenReturn(new RentalReturnDto());
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            fine.set(invocation.<Payment>getArgument(0).setId(PAYMENT_ID));
+            return fine.get();
+        });
+        when(paymentRepository.findById(PAYMENT_ID))
+                .thenAnswer(invocation -> Optional.of(fine.get()));
+        when(paymentRepository.updateSessionIfAbsent(
+                eq(PAYMENT_ID), eq(StripeApiStub.SESSION_ID), anyString())).thenReturn(1);
+
+        long startedAt = System.nanoTime();
+        rentalService.setReturnDate(RENTAL_ID, authentication);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertTrue(elapsedMillis < STRIPE_DELAY_MILLIS / 2,
+                "Return took " + elapsedMillis + " ms, it must not wait for Stripe");
+        verify(paymentRepository, timeout(STRIPE_DELAY_MILLIS * 5)).updateSessionIfAbsent(
+                eq(PAYMENT_ID), eq(StripeApiStub.SESSION_ID), anyString());
+        assertEquals(1, stripeApiStub.getCreatedSessions());
+    }
+}
@@ -1,20 +1,22 @@
 package com.example.carsharingapp.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.carsharingapp.dto.CursorPageDto;
 import com.example.carsharingapp.dto.car.CarDto;
 import com.example.carsharingapp.dto.rental.AddRentalRequestDto;
 import com.example.carsharingapp.dto.rental.RentalDto;
@@ -22,19 +24,26 @@ import com.example.carsharingapp.dto.rental.RentalReturnDto;
 import com.example.carsharingapp.dto.user.UserInfoDto;
 import com.example.carsharingapp.exception.AuthorityException;
 import com.example.carsharingapp.exception.EntityNotFoundException;
+import com.example.carsharingapp.exception.InvalidCursorException;
 import com.example.carsharingapp.exception.RentalException;
 import com.example.carsharingapp.mapper.RentalMapper;
 import com.example.carsharingapp.model.Car;
+import com.example.carsharingapp.model.OutboxEvent;
 import com.example.carsharingapp.model.Payment.Status;
-import com.example.carsharingapp.model.Payment.Type;
 import com.example.carsharingapp.model.Rental;
 import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.repository.CarRepository;
 import com.example.carsharingapp.repository.PaymentRepository;
 import com.example.carsharingapp.repository.RentalRepository;
-import com.example.carsharingapp.service.car.CarService;
+import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.repository.projection.RentalView;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.service.availability.AvailabilityService;
+import com.example.carsharingapp.service.outbox.OutboxService;
+import com.example.carsharingapp.service.pagination.PageCursor;
 import com.example.carsharingapp.service.payment.PaymentService;
 import com.example.carsharingapp.service.rental.RentalServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
@@ -46,7 +55,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -69,9 +80,11 @@ public class RentalServiceTest {
     @Mock
     private CarRepository carRepository;
     @Mock
-    private CarService carService;
+    private UserRepository userRepository;
     @Mock
-    private NotificationService notificationService;
+    private AvailabilityService availabilityService;
+    @Mock
+    private OutboxService outboxService;
     @Mock
     private PaymentRepository paymentRepository;
     @Mock
@@ -80,6 +93,8 @@ public class RentalServiceTest {
     private Authentication authentication;
     @Mock
     private Pageable pageable;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private RentalServiceImpl rentalService;
@@ -88,6 +103,7 @@ public class RentalServiceTest {
     private User managerUser;
     private Car testCar;
     private Rental testRental;
+    private RentalView testRentalView;
 
     private RentalDto testRentalDto;
     private RentalReturnDto testRentalReturnDto;
@@ -135,6 +151,8 @@ public class RentalServiceTest {
         testRental.setCar(testCar);
         testRental.setUser(customerUser);
 
+        testRentalView = rentalView(RENTAL_ID, testRental.getRentalDate());
+
         testRentalDto = new RentalDto();
         testRentalDto.setId(RENTAL_ID);
         testRentalDto.setRentalDate(testRental.getRentalDate());
@@ -155,11 +173,20 @@ public class RentalServiceTest {
         addRentalRequestDto.setReturnDate(LocalDate.now().plusDays(5));
     }
 
+    private RentalView rentalView(Long id, LocalDate rentalDate) {
+        return new RentalView(id, rentalDate, rentalDate.plusDays(5), CAR_ID, testCar.getModel(),
+                testCar.getBrand(), testCar.getType(), testCar.getInventory(), DAILY_FEE,
+                CUSTOMER_USER_ID, customerUser.getEmail(), customerUser.getFirstName(),
+                customerUser.getLastName());
+    }
+
     private void mockAuthenticationAsUser(User user, String role) {
         Collection<GrantedAuthority> authorities = List.of(
                 new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
-        lenient().when(authentication.getPrincipal()).thenReturn(user);
+        lenient().when(authentication.getPrincipal())
+                .thenReturn(AuthenticatedPrincipal.from(user));
         lenient().when(authentication.getAuthorities()).thenReturn((Collection) authorities);
+        lenient().when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
     }
 
     private void mockAuthenticationAsManager(User user) {
@@ -190,13 +217,16 @@ public class RentalServiceTest {
 
         assertEquals(testRentalDto, result);
 
-        verify(carService, times(1)).updateInventory(CAR_ID, -1);
+        verify(availabilityService, times(1)).reserve(
+                testCar, LocalDate.now(), addRentalRequestDto.getReturnDate());
         verify(rentalRepository, times(1)).save(argThat(rental ->
                 rental.getUser().equals(customerUser)
                         && rental.getCar().equals(testCar)
                         && rental.getRentalDate().isEqual(LocalDate.now())
         ));
-        verify(notificationService, times(1)).sendMessage(anyString());
+        verify(outboxService, times(1)).record(
+                eq(OutboxEvent.Type.RENTAL_CREATED), anyString(), anyString());
+        assertEquals(1, meterRegistry.counter("rental.created").count());
     }
 
     @Test
@@ -210,9 +240,9 @@ public class RentalServiceTest {
                 () -> rentalService.addRental(addRentalRequestDto, authentication));
 
         verify(carRepository, never()).findById(anyLong());
-        verify(carService, never()).updateInventory(anyLong(), anyInt());
+        verify(availabilityService, never()).reserve(any(), any(), any());
         verify(rentalRepository, never()).save(any(Rental.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
@@ -227,9 +257,48 @@ public class RentalServiceTest {
         assertThrows(EntityNotFoundException.class,
                 () -> rentalService.addRental(addRentalRequestDto, authentication));
 
-        verify(carService, never()).updateInventory(anyLong(), anyInt());
+        verify(availabilityService, never()).reserve(any(), any(), any());
+        verify(rentalRepository, never()).save(any(Rental.class));
+        verify(outboxService, never()).record(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("addRental should not create rental when the car is fully booked")
+    void addRental_CarFullyBooked_ShouldThrowRentalException() {
+        mockAuthenticationAsCustomer(customerUser);
+        when(paymentRepository.existsByRentalUserIdAndStatus(
+                CUSTOMER_USER_ID, Status.PENDING)).thenReturn(false);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
+        when(rentalMapper.toModel(addRentalRequestDto)).thenReturn(new Rental());
+        doThrow(new RentalException("Cannot proceed. Car is fully booked"))
+                .when(availabilityService).reserve(any(), any(), any());
+
+        assertThrows(RentalException.class,
+                () -> rentalService.addRental(addRentalRequestDto, authentication));
+
         verify(rentalRepository, never()).save(any(Rental.class));
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("addRental should reserve the requested future window")
+    void addRental_FutureRentalDate_ShouldReserveRequestedWindow() {
+        mockAuthenticationAsCustomer(customerUser);
+        LocalDate rentalDate = LocalDate.now().plusDays(7);
+        LocalDate returnDate = LocalDate.now().plusDays(9);
+        addRentalRequestDto.setRentalDate(rentalDate).setReturnDate(returnDate);
+        when(paymentRepository.existsByRentalUserIdAndStatus(
+                CUSTOMER_USER_ID, Status.PENDING)).thenReturn(false);
+        when(carRepository.findById(CAR_ID)).thenReturn(Optional.of(testCar));
+        when(rentalMapper.toModel(addRentalRequestDto))
+                .thenReturn(new Rental().setReturnDate(returnDate));
+        when(rentalMapper.toDto(any(Rental.class))).thenReturn(testRentalDto);
+
+        rentalService.addRental(addRentalRequestDto, authentication);
+
+        verify(availabilityService, times(1)).reserve(testCar, rentalDate, returnDate);
+        verify(rentalRepository, times(1)).save(argThat(rental ->
+                rental.getRentalDate().isEqual(rentalDate)));
     }
 
     @Test
@@ -239,16 +308,16 @@ public class RentalServiceTest {
         Boolean isActive = true;
         Long targetUserId = CUSTOMER_USER_ID;
 
-        List<Rental> rentalList = List.of(testRental);
-        Page<Rental> mockRentalPage = new PageImpl<>(rentalList, pageable, 1);
+        List<RentalView> rentalList = List.of(testRentalView);
+        Page<RentalView> mockRentalPage = new PageImpl<>(rentalList, pageable, 1);
 
-        when(rentalRepository.findAllByUserIdAndIsActive(
+        when(rentalRepository.findViewsByUserIdAndIsActive(
                 eq(targetUserId),
                 eq(isActive),
                 eq(pageable)
         )).thenReturn(mockRentalPage);
 
-        when(rentalMapper.toDto(any(Rental.class))).thenReturn(testRentalDto);
+        when(rentalMapper.toDto(any(RentalView.class))).thenReturn(testRentalDto);
 
         Page<RentalDto> actualRentalDtoPage = rentalService.findAll(
                 targetUserId, isActive, pageable, authentication);
@@ -257,12 +326,12 @@ public class RentalServiceTest {
         assertEquals(testRentalDto, actualRentalDtoPage.getContent().get(0));
 
         verify(rentalRepository, times(1))
-                .findAllByUserIdAndIsActive(
+                .findViewsByUserIdAndIsActive(
                         eq(targetUserId),
                         eq(isActive),
                         eq(pageable)
                 );
-        verify(rentalMapper, times(1)).toDto(testRental);
+        verify(rentalMapper, times(1)).toDto(testRentalView);
     }
 
     @Test
@@ -271,16 +340,16 @@ public class RentalServiceTest {
         mockAuthenticationAsManager(managerUser);
         Boolean isActive = false;
 
-        List<Rental> rentalList = List.of(testRental);
-        Page<Rental> mockRentalPage = new PageImpl<>(rentalList, pageable, 1);
+        List<RentalView> rentalList = List.of(testRentalView);
+        Page<RentalView> mockRentalPage = new PageImpl<>(rentalList, pageable, 1);
 
-        when(rentalRepository.findAllByUserIdAndIsActive(
+        when(rentalRepository.findViewsByUserIdAndIsActive(
                 isNull(),
                 eq(isActive),
                 eq(pageable)
         )).thenReturn(mockRentalPage);
 
-        when(rentalMapper.toDto(any(Rental.class))).thenReturn(testRentalDto);
+        when(rentalMapper.toDto(any(RentalView.class))).thenReturn(testRentalDto);
 
         Page<RentalDto> actualRentalDtoPage = rentalService.findAll(
                 null, isActive, pageable, authentication);
@@ -289,12 +358,62 @@ public class RentalServiceTest {
         assertEquals(testRentalDto, actualRentalDtoPage.getContent().get(0));
 
         verify(rentalRepository, times(1))
-                .findAllByUserIdAndIsActive(
+                .findViewsByUserIdAndIsActive(
                         isNull(),
                         eq(isActive),
                         eq(pageable)
                 );
-        verify(rentalMapper, times(1)).toDto(testRental);
+        verify(rentalMapper, times(1)).toDto(testRentalView);
+    }
+
+    @Test
+    @DisplayName("findAllAfter should return a cursor to the next page when more rentals exist")
+    void findAllAfter_FirstPageWithMore_ShouldReturnNextCursor() {
+        mockAuthenticationAsCustomer(customerUser);
+        RentalView olderRental = rentalView(RENTAL_ID - 1, LocalDate.now().minusDays(1));
+
+        when(rentalRepository.findFirstViewsByUserIdAndIsActive(
+                CUSTOMER_USER_ID, null, Limit.of(2)))
+                .thenReturn(List.of(testRentalView, olderRental));
+        when(rentalMapper.toDto(testRentalView)).thenReturn(testRentalDto);
+
+        CursorPageDto<RentalDto> actualPage = rentalService.findAllAfter(
+                MANAGER_USER_ID, null, "", 1, authentication);
+
+        assertEquals(List.of(testRentalDto), actualPage.getContent());
+        assertEquals(PageCursor.encode(testRental.getRentalDate(), RENTAL_ID),
+                actualPage.getNextCursor());
+        verify(rentalMapper, never()).toDto(olderRental);
+    }
+
+    @Test
+    @DisplayName("findAllAfter should seek past the cursor and end without a next cursor")
+    void findAllAfter_LastPage_ShouldSeekPastCursor() {
+        mockAuthenticationAsManager(managerUser);
+        LocalDate cursorDate = LocalDate.now().plusDays(1);
+        Long cursorId = RENTAL_ID + 1;
+
+        when(rentalRepository.findViewsByUserIdAndIsActiveAfter(
+                null, true, cursorDate, cursorId, Limit.of(21)))
+                .thenReturn(List.of(testRentalView));
+        when(rentalMapper.toDto(testRentalView)).thenReturn(testRentalDto);
+
+        CursorPageDto<RentalDto> actualPage = rentalService.findAllAfter(null, true,
+                PageCursor.encode(cursorDate, cursorId), 20, authentication);
+
+        assertEquals(List.of(testRentalDto), actualPage.getContent());
+        assertNull(actualPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("findAllAfter should reject a malformed cursor")
+    void findAllAfter_InvalidCursor_ShouldThrowException() {
+        mockAuthenticationAsManager(managerUser);
+
+        assertThrows(InvalidCursorException.class, () -> rentalService.findAllAfter(
+                null, null, PageCursor.encode("not-a-date", 1L), 20, authentication));
+        assertThrows(InvalidCursorException.class, () -> rentalService.findAllAfter(
+                null, null, "%%%", 20, authentication));
     }
 
     @Test
@@ -368,10 +487,12 @@ public class RentalServiceTest {
 
         assertEquals(testRentalReturnDto, result);
         assertEquals(LocalDate.now(), testRental.getActualReturnDate());
-        verify(carService, times(1)).updateInventory(CAR_ID, 1);
-        verify(notificationService, times(1)).sendMessage(
+        verify(availabilityService, times(1)).release(
+                CAR_ID, LocalDate.now().plusDays(1), testRental.getReturnDate());
+        verify(outboxService, times(1)).record(eq(OutboxEvent.Type.RENTAL_RETURNED),
+                eq("rental-returned:" + RENTAL_ID),
                 argThat(msg -> msg.contains("Car Returned Successfully")));
-        verify(paymentService, never()).checkout(any(), any());
+        verify(paymentService, never()).createPendingFine(any());
     }
 
     @Test
@@ -387,16 +508,15 @@ public class RentalServiceTest {
         RentalReturnDto result = rentalService.setReturnDate(RENTAL_ID, authentication);
 
         assertEquals(testRentalReturnDto, result);
-        verify(paymentService, times(1)).checkout(
-                argThat(req -> req.getRentalId().equals(RENTAL_ID)
-                        && req.getType() == Type.FINE),
-                eq(authentication)
-        );
-        verify(notificationService, times(1)).sendMessage(
-                argThat(msg -> msg.contains("Fine Issued")));
-        verify(notificationService, times(1)).sendMessage(
+        verify(paymentService, times(1)).createPendingFine(testRental);
+        verify(outboxService, times(1)).record(eq(OutboxEvent.Type.FINE_ISSUED),
+                eq("fine-issued:" + RENTAL_ID), argThat(msg -> msg.contains("Fine Issued")));
+        verify(outboxService, times(1)).record(eq(OutboxEvent.Type.RENTAL_RETURNED),
+                eq("rental-returned:" + RENTAL_ID),
                 argThat(msg -> msg.contains("Car Returned Successfully")));
-        verify(carService, times(1)).updateInventory(CAR_ID, 1);
+        verify(availabilityService, times(1)).release(
+                CAR_ID, LocalDate.now().plusDays(1), testRental.getReturnDate());
+        assertEquals(1, meterRegistry.counter("rental.fine.issued").count());
     }
 
     @Test
@@ -411,8 +531,8 @@ public class RentalServiceTest {
                 () -> rentalService.setReturnDate(RENTAL_ID, authentication));
 
         verify(rentalRepository, never()).save(any());
-        verify(carService, never()).updateInventory(anyLong(), anyInt());
-        verify(notificationService, never()).sendMessage(anyString());
+        verify(availabilityService, never()).release(any(), any(), any());
+        verify(outboxService, never()).record(any(), anyString(), anyString());
     }
 
     @Test
@@ -441,7 +561,7 @@ public class RentalServiceTest {
                 () -> rentalService.setReturnDate(RENTAL_ID, authentication));
 
         verify(rentalRepository, never()).save(any());
-        verify(carService, never()).updateInventory(anyLong(), anyInt());
+        verify(availabilityService, never()).release(any(), any(), any());
     }
 
     @Test
@@ -457,6 +577,7 @@ public class RentalServiceTest {
         RentalReturnDto result = rentalService.setReturnDate(RENTAL_ID, authentication);
 
         assertEquals(testRentalReturnDto, result);
-        verify(carService, times(1)).updateInventory(CAR_ID, 1);
+        verify(availabilityService, times(1)).release(
+                CAR_ID, LocalDate.now().plusDays(1), testRental.getReturnDate());
     }
 }
@@ -0,0 +1,121 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.carsharingapp.config.MetricsConfig;
+import com.example.carsharingapp.exception.PaymentGatewayException;
+import com.example.carsharingapp.service.gateway.CheckoutSession;
+import com.example.carsharingapp.service.gateway.PaymentGateway;
+import com.example.carsharingapp.service.gateway.SimulatedPaymentGateway;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+public class SimulatedPaymentGatewayTest {
+    private static final String SUCCESS_URL =
+            "http://localhost:8080/payments/success?session_id={CHECKOUT_SESSION_ID}";
+    private static final String CANCEL_URL = "http://localhost:8080/payments/cancel";
+    private static final Duration SESSION_TTL = Duration.ofHours(24);
+    private static final long MAX_SESSIONS = 1_000;
+
+    @Test
+    @DisplayName("createCheckoutSession should return an open session stored in memory")
+    void createCheckoutSession_ShouldStoreOpenSession() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, false,
+                SESSION_TTL, MAX_SESSIONS);
+
+        CheckoutSession session = gateway.createCheckoutSession(
+                new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL);
+
+        assertTrue(session.isOpen());
+        assertFalse(session.isPaid());
+        assertTrue(session.url().endsWith("session_id=" + session.id()));
+        assertEquals(session, gateway.getSession(session.id()));
+    }
+
+    @Test
+    @DisplayName("complete and expire should change the stored session status")
+    void completeAndExpire_ShouldUpdateSession() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, false,
+                SESSION_TTL, MAX_SESSIONS);
+        String paidId = gateway.createCheckoutSession(
+                new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL).id();
+        String expiredId = gateway.createCheckoutSession(
+                new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL).id();
+
+        gateway.complete(paidId);
+        gateway.expire(expiredId);
+
+        assertTrue(gateway.getSession(paidId).isPaid());
+        assertTrue(gateway.getSession(expiredId).isExpired());
+    }
+
+    @Test
+    @DisplayName("With auto-complete enabled getSession should report the session as paid")
+    void getSession_AutoComplete_ShouldReturnPaidSession() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, true,
+                SESSION_TTL, MAX_SESSIONS);
+        String sessionId = gateway.createCheckoutSession(
+                new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL).id();
+
+        assertTrue(gateway.getSession(sessionId).isPaid());
+    }
+
+    @Test
+    @DisplayName("A failure rate of one should make every call fail")
+    void createCheckoutSession_FailureRateOne_ShouldThrow() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 1, false,
+                SESSION_TTL, MAX_SESSIONS);
+
+        assertThrows(PaymentGatewayException.class, () -> gateway.createCheckoutSession(
+                new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL));
+    }
+
+    @Test
+    @DisplayName("getSession should throw for an unknown session id")
+    void getSession_UnknownId_ShouldThrow() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, false,
+                SESSION_TTL, MAX_SESSIONS);
+
+        assertThrows(PaymentGatewayException.class, () -> gateway.getSession("cs_unknown"));
+    }
+
+    @Test
+    @DisplayName("getSession should throw once the session has expired from memory")
+    void getSession_SessionTtlElapsed_ShouldThrow() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, false,
+                Duration.ZERO, MAX_SESSIONS);
+        String sessionId = gateway.createCheckoutSession(
+                new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL).id();
+
+        assertThrows(PaymentGatewayException.class, () -> gateway.getSession(sessionId));
+    }
+
+    @Test
+    @DisplayName("Timed gateway calls should be published as external.call histograms")
+    void createCheckoutSession_Timed_ShouldRecordExternalCallHistogram() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(
+                PrometheusConfig.DEFAULT);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new SimulatedPaymentGateway(0, 0.0, false, SESSION_TTL, MAX_SESSIONS));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(meterRegistry));
+        PaymentGateway gateway = proxyFactory.getProxy();
+
+        gateway.createCheckoutSession(BigDecimal.TEN, SUCCESS_URL, CANCEL_URL);
+
+        assertEquals(1, meterRegistry.get(MetricsConfig.EXTERNAL_CALL_TIMER)
+                .tag("target", "simulated")
+                .tag("method", "createCheckoutSession")
+                .timer().count());
+        assertTrue(meterRegistry.scrape().contains("external_call_seconds_bucket"));
+    }
+}
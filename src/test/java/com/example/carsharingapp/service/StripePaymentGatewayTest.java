@@ -0,0 +1,62 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.carsharingapp.exception.PaymentGatewayException;
+import com.example.carsharingapp.service.gateway.CheckoutSession;
+import com.example.carsharingapp.service.gateway.StripePaymentGateway;
+import com.example.carsharingapp.stub.StripeApiStub;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StripePaymentGatewayTest {
+    private static final String SUCCESS_URL = "http://localhost:8080/payments/success";
+    private static final String CANCEL_URL = "http://localhost:8080/payments/cancel";
+
+    @Test
+    @DisplayName("createCheckoutSession should map the Stripe response to a CheckoutSession")
+    void createCheckoutSession_ValidResponse_ShouldReturnSession() throws Exception {
+        try (StripeApiStub stripeApiStub = new StripeApiStub(0)) {
+            StripePaymentGateway gateway = new StripePaymentGateway("sk_test_stub",
+                    stripeApiStub.getBaseUrl(), 1000, 5000, 0);
+
+            CheckoutSession session = gateway.createCheckoutSession(
+                    new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL);
+
+            assertEquals(StripeApiStub.SESSION_ID, session.id());
+            assertTrue(session.isOpen());
+            assertEquals(1, stripeApiStub.getCreatedSessions());
+        }
+    }
+
+    @Test
+    @DisplayName("getSession should reuse the pooled client for follow-up calls")
+    void getSession_AfterCreate_ShouldReturnSession() throws Exception {
+        try (StripeApiStub stripeApiStub = new StripeApiStub(0)) {
+            StripePaymentGateway gateway = new StripePaymentGateway("sk_test_stub",
+                    stripeApiStub.getBaseUrl(), 1000, 5000, 0);
+            gateway.createCheckoutSession(new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL);
+
+            CheckoutSession session = gateway.getSession(StripeApiStub.SESSION_ID);
+
+            assertEquals(StripeApiStub.SESSION_ID, session.id());
+        }
+    }
+
+    @Test
+    @DisplayName("A Stripe call slower than the read timeout should fail fast")
+    void createCheckoutSession_SlowStripe_ShouldTimeOut() throws Exception {
+        try (StripeApiStub stripeApiStub = new StripeApiStub(2000)) {
+            StripePaymentGateway gateway = new StripePaymentGateway("sk_test_stub",
+                    stripeApiStub.getBaseUrl(), 1000, 200, 0);
+            final long startedAt = System.currentTimeMillis();
+
+            assertThrows(PaymentGatewayException.class, () -> gateway.createCheckoutSession(
+                    new BigDecimal("50.00"), SUCCESS_URL, CANCEL_URL));
+            assertTrue(System.currentTimeMillis() - startedAt < 2000);
+        }
+    }
+}
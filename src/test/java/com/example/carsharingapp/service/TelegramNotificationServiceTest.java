@@ -0,0 +1,196 @@
+package com.example.carsharingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.carsharingapp.stub.TelegramBotApiStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+public class TelegramNotificationServiceTest {
+    private static final int QUEUE_CAPACITY = 100;
+    private static final long INITIAL_BACKOFF_MILLIS = 10;
+    private static final int MAX_RETRIES = 2;
+    private static final long AWAIT_TIMEOUT_MILLIS = 5000;
+
+    private TelegramBotApiStub botApiStub;
+    private SimpleMeterRegistry meterRegistry;
+    private TelegramNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        botApiStub = new TelegramBotApiStub();
+        TelegramClient telegramClient = new TelegramClient(new RestTemplate());
+        ReflectionTestUtils.setField(telegramClient, "baseUrl", botApiStub.getBaseUrl());
+        ReflectionTestUtils.setField(telegramClient, "botToken", "TEST_TOKEN");
+        ReflectionTestUtils.setField(telegramClient, "chatId", "TEST_CHAT_ID");
+        meterRegistry = new SimpleMeterRegistry();
+        notificationService = new TelegramNotificationService(telegramClient, meterRegistry,
+                QUEUE_CAPACITY, 0, INITIAL_BACKOFF_MILLIS, MAX_RETRIES);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        notificationService.stop();
+        botApiStub.close();
+    }
+
+    @Test
+    @DisplayName("A burst of messages should be coalesced into fewer Telegram requests")
+    void sendMessage_Burst_ShouldCoalesceWithinTelegramLimit() throws Exception {
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            String message = "Rental #" + i + " created. " + "x".repeat(200);
+            messages.add(message);
+            notificationService.sendMessage(message);
+        }
+
+        notificationService.start();
+        await(() -> String.join("\n\n", botApiStub.getReceivedTexts())
+                .equals(String.join("\n\n", messages)));
+        List<String> texts = botApiStub.getReceivedTexts();
+        await(() -> meterRegistry.counter("notification.sent").count() == texts.size());
+
+        assertTrue(texts.size() < messages.size());
+        texts.forEach(text -> assertTrue(
+                text.length() <= TelegramNotificationService.MAX_MESSAGE_LENGTH));
+    }
+
+    @Test
+    @DisplayName("A message longer than the Telegram limit should be split")
+    void sendMessage_OversizedMessage_ShouldSplit() throws Exception {
+        String message = "y".repeat(TelegramNotificationService.MAX_MESSAGE_LENGTH + 100);
+
+        notificationService.start();
+        notificationService.sendMessage(message);
+        await(() -> botApiStub.getReceivedTexts().size() == 2);
+
+        assertEquals(TelegramNotificationService.MAX_MESSAGE_LENGTH,
+                botApiStub.getReceivedTexts().get(0).length());
+        assertEquals(100, botApiStub.getReceivedTexts().get(1).length());
+    }
+
+    @Test
+    @DisplayName("An oversized message should be split after its last full line")
+    void sendMessage_OversizedMultilineMessage_ShouldSplitAtLineBoundary() throws Exception {
+        String firstLine = "y".repeat(TelegramNotificationService.MAX_MESSAGE_LENGTH - 10) + "\n";
+        String secondLine = "z".repeat(100);
+
+        notificationService.start();
+        notificationService.sendMessage(firstLine + secondLine);
+        await(() -> botApiStub.getReceivedTexts().size() == 2);
+
+        assertEquals(firstLine.strip(), botApiStub.getReceivedTexts().get(0).strip());
+        assertEquals(secondLine, botApiStub.getReceivedTexts().get(1));
+    }
+
+    @Test
+    @DisplayName("An oversized line should not be split inside a surrogate pair")
+    void sendMessage_OversizedLineWithEmoji_ShouldKeepSurrogatePairWhole() throws Exception {
+        String message = "y".repeat(TelegramNotificationService.MAX_MESSAGE_LENGTH - 1)
+                + "🚗" + "y".repeat(10);
+
+        notificationService.start();
+        notificationService.sendMessage(message);
+        await(() -> botApiStub.getReceivedTexts().size() == 2);
+
+        assertEquals(TelegramNotificationService.MAX_MESSAGE_LENGTH - 1,
+                botApiStub.getReceivedTexts().get(0).length());
+        assertTrue(botApiStub.getReceivedTexts().get(1).startsWith("🚗"));
+    }
+
+    @Test
+    @DisplayName("A 429 response should be retried after Telegram's retry_after")
+    void sendMessage_RateLimited_ShouldRetryAfterDelay() throws Exception {
+        botApiStub.respondWithRateLimit(1);
+        final long startedAt = System.currentTimeMillis();
+
+        notificationService.start();
+        notificationService.sendMessage("Payment received");
+        await(() -> botApiStub.getReceivedTexts().size() == 1);
+
+        assertEquals("Payment received", botApiStub.getReceivedTexts().get(0));
+        assertTrue(System.currentTimeMillis() - startedAt >= 1000);
+    }
+
+    @Test
+    @DisplayName("A message should be dropped after all retries fail")
+    void sendMessage_PersistentErrors_ShouldCountDrop() throws Exception {
+        for (int i = 0; i <= MAX_RETRIES; i++) {
+            botApiStub.respondWithError(502);
+        }
+
+        notificationService.start();
+        notificationService.sendMessage("Lost message");
+        await(() -> meterRegistry.counter("notification.dropped",
+                "reason", "send_failed").count() == 1);
+        notificationService.sendMessage("Next message");
+        await(() -> botApiStub.getReceivedTexts().size() == 1);
+
+        assertEquals(List.of("Next message"), botApiStub.getReceivedTexts());
+    }
+
+    @Test
+    @DisplayName("deliver should complete only once Telegram accepted the message")
+    void deliver_AfterRetry_ShouldCompleteWhenSent() throws Exception {
+        botApiStub.respondWithError(502);
+
+        notificationService.start();
+        CompletableFuture<Void> delivered = notificationService.deliver("Rental returned");
+        delivered.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+        assertEquals(List.of("Rental returned"), botApiStub.getReceivedTexts());
+    }
+
+    @Test
+    @DisplayName("Messages above the queue capacity should be dropped and counted")
+    void sendMessage_QueueFull_ShouldCountDrops() {
+        for (int i = 0; i < QUEUE_CAPACITY + 5; i++) {
+            notificationService.sendMessage("Message " + i);
+        }
+
+        assertEquals(QUEUE_CAPACITY, meterRegistry.get("notification.queue.depth")
+                .gauge().value());
+        assertEquals(5, meterRegistry.counter("notification.dropped",
+                "reason", "queue_full").count());
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the message should be queued only after commit")
+    void sendMessage_InTransaction_ShouldQueueAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificationService.sendMessage("Rental created");
+            assertEquals(0, notificationService.getQueueDepth());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, notificationService.getQueueDepth());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within "
+                        + AWAIT_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
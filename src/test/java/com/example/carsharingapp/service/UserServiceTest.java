@@ -10,6 +10,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.carsharingapp.config.CacheConfig;
 import com.example.carsharingapp.dto.user.UpdateUserProfileRequestDto;
 import com.example.carsharingapp.dto.user.UpdateUserRoleRequestDto;
 import com.example.carsharingapp.dto.user.UserDto;
@@ -21,6 +22,8 @@ import com.example.carsharingapp.mapper.UserMapper;
 import com.example.carsharingapp.model.User;
 import com.example.carsharingapp.model.User.Role;
 import com.example.carsharingapp.repository.UserRepository;
+import com.example.carsharingapp.security.AuthenticatedPrincipal;
+import com.example.carsharingapp.security.TokenVersionRegistry;
 import com.example.carsharingapp.service.user.UserServiceImpl;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +33,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +55,12 @@ public class UserServiceTest {
     private UserMapper userMapper;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache principalsCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -67,6 +78,7 @@ public class UserServiceTest {
         testUser.setFirstName(FIRST_NAME);
         testUser.setLastName(LAST_NAME);
         testUser.setRole(Role.CUSTOMER);
+        testUser.setPassword(ENCODED_PASSWORD);
 
         registrationRequestDto = new UserRegistrationRequestDto();
         registrationRequestDto.setEmail(EMAIL);
@@ -177,7 +189,8 @@ public class UserServiceTest {
         verify(userRepository, times(1)).findById(USER_ID);
         verify(userMapper, times(1)).updateRoleFromDto(updateUserRoleRequestDto, testUser);
         verify(userRepository, times(1)).save(argThat(user ->
-                user.getRole() == User.Role.MANAGER));
+                user.getRole() == User.Role.MANAGER && user.getTokenVersion() == 1));
+        verify(tokenVersionRegistry, times(1)).update(USER_ID, 1);
         verify(userMapper, times(1)).toDto(updatedUser);
     }
 
@@ -202,7 +215,7 @@ public class UserServiceTest {
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
         when(userMapper.toDto(testUser)).thenReturn(expectedUserDto);
 
-        UserDto actualUserDto = userService.getMyProfileInfo(testUser);
+        UserDto actualUserDto = userService.getMyProfileInfo(AuthenticatedPrincipal.from(testUser));
 
         assertEquals(expectedUserDto, actualUserDto);
 
@@ -216,7 +229,7 @@ public class UserServiceTest {
         when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
-                () -> userService.getMyProfileInfo(testUser),
+                () -> userService.getMyProfileInfo(AuthenticatedPrincipal.from(testUser)),
                 "Should throw EntityNotFoundException if the user is not found.");
 
         verify(userRepository, times(1)).findById(USER_ID);
@@ -247,7 +260,8 @@ public class UserServiceTest {
         when(userRepository.save(testUser)).thenReturn(updatedUser);
         when(userMapper.toDto(updatedUser)).thenReturn(updatedUserDto);
 
-        UserDto resultDto = userService.updateUserProfile(testUser, updateUserProfileRequestDto);
+        UserDto resultDto = userService.updateUserProfile(
+                AuthenticatedPrincipal.from(testUser), updateUserProfileRequestDto);
 
         // 4. Assertions and Verifications
         assertEquals(updatedUserDto.getFirstName(), resultDto.getFirstName(),
@@ -267,7 +281,8 @@ public class UserServiceTest {
         when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
-                () -> userService.updateUserProfile(testUser, updateUserProfileRequestDto),
+                () -> userService.updateUserProfile(
+                        AuthenticatedPrincipal.from(testUser), updateUserProfileRequestDto),
                 "Should throw EntityNotFoundException if the user is not found.");
 
         verify(userRepository, times(1)).findById(USER_ID);
@@ -275,4 +290,73 @@ public class UserServiceTest {
         verify(userRepository, never()).save(any());
         verify(userMapper, never()).toDto(any());
     }
+
+    @Test
+    @DisplayName("updateUserProfile should revoke issued tokens when the email changes")
+    void updateUserProfile_ChangedEmail_ShouldBumpTokenVersion() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(NEW_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+
+        userService.updateUserProfile(
+                AuthenticatedPrincipal.from(testUser), updateUserProfileRequestDto);
+
+        verify(userRepository, times(1)).save(argThat(user -> user.getTokenVersion() == 1
+                && user.getPassword().equals(ENCODED_PASSWORD)));
+        verify(tokenVersionRegistry, times(1)).update(USER_ID, 1);
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    @Test
+    @DisplayName("updateUserProfile should encode a new password and revoke issued tokens")
+    void updateUserProfile_ChangedPassword_ShouldEncodeAndBumpTokenVersion() {
+        updateUserProfileRequestDto.setEmail(EMAIL);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(NEW_PASSWORD, ENCODED_PASSWORD)).thenReturn(false);
+        when(passwordEncoder.encode(NEW_PASSWORD)).thenReturn("{bcrypt}new_password_hash");
+
+        userService.updateUserProfile(
+                AuthenticatedPrincipal.from(testUser), updateUserProfileRequestDto);
+
+        verify(userRepository, times(1)).save(argThat(user -> user.getTokenVersion() == 1
+                && user.getPassword().equals("{bcrypt}new_password_hash")));
+        verify(tokenVersionRegistry, times(1)).update(USER_ID, 1);
+    }
+
+    @Test
+    @DisplayName("updateUserProfile should keep issued tokens when credentials are unchanged")
+    void updateUserProfile_SameCredentials_ShouldKeepTokenVersion() {
+        updateUserProfileRequestDto.setEmail(EMAIL);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(NEW_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+
+        userService.updateUserProfile(
+                AuthenticatedPrincipal.from(testUser), updateUserProfileRequestDto);
+
+        verify(userRepository, times(1)).save(argThat(user -> user.getTokenVersion() == 0));
+        verify(tokenVersionRegistry, never()).update(any(), any(int.class));
+    }
+
+    @Test
+    @DisplayName("delete should soft-delete the user, revoke its tokens and evict its principal")
+    void delete_ExistingUser_ShouldRevokeTokensAndEvictPrincipal() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
+        when(cacheManager.getCache(CacheConfig.PRINCIPALS_CACHE)).thenReturn(principalsCache);
+
+        userService.delete(USER_ID);
+
+        verify(userRepository, times(1)).delete(testUser);
+        verify(tokenVersionRegistry, times(1)).update(USER_ID, 1);
+        verify(principalsCache, times(1)).evict(EMAIL);
+    }
+
+    @Test
+    @DisplayName("delete should throw EntityNotFoundException when user does not exist")
+    void delete_NonExistingUser_ShouldThrowException() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> userService.delete(USER_ID));
+
+        verify(userRepository, never()).delete(any());
+        verify(tokenVersionRegistry, never()).update(any(), any(int.class));
+    }
 }
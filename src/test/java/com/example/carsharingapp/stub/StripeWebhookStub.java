@@ -0,0 +1,39 @@
+package com.example.carsharingapp.stub;
+
+import com.stripe.net.Webhook;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+public final class StripeWebhookStub {
+    private static final String PAYLOADS_LOCATION = "/stripe/webhook/";
+
+    private StripeWebhookStub() {
+    }
+
+    public static String recordedPayload(String name) {
+        try (InputStream inputStream = StripeWebhookStub.class
+                .getResourceAsStream(PAYLOADS_LOCATION + name + ".json")) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("No recorded Stripe payload: " + name);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String signatureHeader(String payload, String secret) {
+        long timestamp = System.currentTimeMillis() / 1000;
+        try {
+            String signature = Webhook.Util.computeHmacSha256(
+                    secret, timestamp + "." + payload);
+            return "t=" + timestamp + ",v1=" + signature;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.carsharingapp.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TelegramBotApiStub implements AutoCloseable {
+    private static final String OK_RESPONSE = "{\"ok\":true,\"result\":{}}";
+    private final HttpServer server;
+    private final List<String> receivedTexts = new CopyOnWriteArrayList<>();
+    private final Deque<Response> scriptedResponses = new ConcurrentLinkedDeque<>();
+
+    public TelegramBotApiStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public List<String> getReceivedTexts() {
+        return receivedTexts;
+    }
+
+    public void respondWithRateLimit(int retryAfterSeconds) {
+        scriptedResponses.add(new Response(429, "{\"ok\":false,\"error_code\":429,"
+                + "\"description\":\"Too Many Requests: retry after " + retryAfterSeconds
+                + "\",\"parameters\":{\"retry_after\":" + retryAfterSeconds + "}}"));
+    }
+
+    public void respondWithError(int status) {
+        scriptedResponses.add(new Response(status, "{\"ok\":false,\"error_code\":"
+                + status + "}"));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(),
+                StandardCharsets.UTF_8);
+        Response response = scriptedResponses.poll();
+        if (response == null) {
+            receivedTexts.add(formParameter(body, "text"));
+            response = new Response(200, OK_RESPONSE);
+        }
+        byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private String formParameter(String body, String name) {
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private record Response(int status, String body) {
+    }
+}